@@ -209,6 +209,23 @@ public class ExceptionControllerAdvice {
         return new ErrorDTO(HttpStatus.NOT_FOUND, exception.getMessage());
     }
 
+    @ExceptionHandler(PayloadTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    @ResponseBody
+    @ApiResponse(
+            responseCode = "413",
+            description = "Payload Too Large",
+            content = @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = ErrorDTO.class)
+            )
+    )
+    public ErrorDTO handlePayloadTooLarge(PayloadTooLargeException exception) {
+        log.error(exception.getMessage());
+        log.debug("Handling payload too large", exception);
+        return new ErrorDTO(HttpStatus.PAYLOAD_TOO_LARGE, exception.getMessage());
+    }
+
     @ExceptionHandler(MetadataServiceException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     @ResponseBody
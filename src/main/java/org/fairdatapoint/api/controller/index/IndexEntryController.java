@@ -37,7 +37,7 @@ import org.fairdatapoint.service.index.entry.IndexEntryService;
 import org.fairdatapoint.service.index.event.EventService;
 import org.fairdatapoint.service.index.harvester.HarvesterService;
 import org.fairdatapoint.service.index.webhook.WebhookService;
-import org.eclipse.rdf4j.model.Model;
+import org.fairdatapoint.util.RdfStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -103,7 +103,7 @@ public class IndexEntryController {
     }
 
     @GetMapping(path = "/{uuid}/data", produces = "!application/json")
-    public Model getEntryData(@PathVariable final UUID uuid) throws MetadataRepositoryException {
+    public RdfStream getEntryData(@PathVariable final UUID uuid) {
         return service.getEntryHarvestedData(uuid);
     }
 
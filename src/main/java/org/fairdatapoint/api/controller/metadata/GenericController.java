@@ -25,24 +25,37 @@ package org.fairdatapoint.api.controller.metadata;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.fairdatapoint.api.converter.RdfConverter;
+import org.fairdatapoint.config.properties.MetadataRequestProperties;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataGraph;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
 import org.fairdatapoint.entity.exception.ForbiddenException;
-import org.fairdatapoint.entity.exception.ValidationException;
+import org.fairdatapoint.entity.exception.PayloadTooLargeException;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
+import org.fairdatapoint.entity.metadata.MetadataChildrenPage;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.entity.resource.ResourceDefinitionChild;
 import org.fairdatapoint.entity.user.UserAccount;
+import org.fairdatapoint.service.actuator.AppInfoContributor;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache.RenderedResponse;
 import org.fairdatapoint.service.metadata.common.MetadataService;
 import org.fairdatapoint.service.metadata.enhance.MetadataEnhancer;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
 import org.fairdatapoint.service.metadata.factory.MetadataServiceFactory;
-import org.fairdatapoint.service.metadata.state.MetadataStateService;
 import org.fairdatapoint.service.resource.ResourceDefinitionService;
 import org.fairdatapoint.service.schema.MetadataSchemaService;
 import org.fairdatapoint.service.search.SearchFilterCache;
 import org.fairdatapoint.service.user.CurrentUserService;
+import org.fairdatapoint.util.MetadataRequestHandler;
+import org.fairdatapoint.util.ValueFactoryHelper;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Value;
@@ -50,21 +63,28 @@ import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.util.Models;
 import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
-import org.eclipse.rdf4j.rio.RDFFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static org.fairdatapoint.util.HttpUtil.*;
-import static org.fairdatapoint.util.RdfIOUtil.changeBaseUri;
 import static org.fairdatapoint.util.RdfIOUtil.read;
 import static org.fairdatapoint.util.RdfUtil.*;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
@@ -75,6 +95,10 @@ import static org.fairdatapoint.util.ValueFactoryHelper.i;
 @RequiredArgsConstructor
 public class GenericController {
 
+    private static final String FORMAT_PARAMETER = "format";
+
+    private static final String ENCODING_GZIP = "gzip";
+
     private final String persistentUrl;
 
     private final MetadataServiceFactory metadataServiceFactory;
@@ -89,10 +113,20 @@ public class GenericController {
 
     private final GenericMetadataRepository metadataRepository;
 
-    private final MetadataStateService metadataStateService;
-
     private final SearchFilterCache searchFilterCache;
 
+    private final MetadataRequestProperties metadataRequestProperties;
+
+    private final AppInfoContributor appInfoContributor;
+
+    private final MetadataResponseCache metadataResponseCache;
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    private final List<RdfConverter> rdfConverters;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     @Operation(hidden = true)
     @GetMapping(path = {"/spec", "{oUrlPrefix:[^.]+}/spec"}, produces = "!application/json")
     public Model getFormMetadata(
@@ -121,25 +155,21 @@ public class GenericController {
 
         // 2. Get entity (from repository based on permissions)
         final Optional<UserAccount> oCurrentUser = currentUserService.getCurrentUser();
-        IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
+        final IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
         final RepositoryMode mode = oCurrentUser.isEmpty() ? RepositoryMode.MAIN : RepositoryMode.COMBINED;
-        Model entity = metadataService.retrieve(entityUri, mode);
+        final Model entity = metadataService.retrieve(entityUri, mode);
         resultRdf.addAll(entity);
 
         // 3. Enhance
         metadataEnhancer.enhanceWithResourceDefinition(entityUri, rd, resultRdf);
 
-        // 4. Get parent
-        while (true) {
-            final IRI parentUri = i(getStringObjectBy(entity, entityUri, DCTERMS.IS_PART_OF));
-            if (parentUri == null) {
-                break;
-            }
-            final Model parent = metadataService.retrieve(parentUri, mode);
-            resultRdf.addAll(parent);
-            entity = parent;
-            entityUri = parentUri;
-        }
+        // 4. Get parents
+        final List<IRI> parentUris = metadataService.retrieveAncestors(entityUri, mode)
+                .stream()
+                .map(MetadataAncestor::getUri)
+                .filter(uri -> !uri.equals(entityUri))
+                .toList();
+        metadataService.retrieveAll(parentUris, mode).values().forEach(resultRdf::addAll);
 
         // 5. Create response
         return resultRdf;
@@ -153,8 +183,10 @@ public class GenericController {
     public Model getMetaData(
             @PathVariable final Optional<String> oUrlPrefix,
             @PathVariable final Optional<String> oRecordId,
-            HttpServletResponse response
-    ) throws MetadataServiceException {
+            HttpServletResponse response,
+            ServletWebRequest webRequest
+    ) throws MetadataServiceException, MetadataRepositoryException, IOException,
+            HttpMediaTypeNotAcceptableException {
         // 1. Init
         final Model resultRdf = new LinkedHashModel();
         final String urlPrefix = oUrlPrefix.orElse("");
@@ -164,20 +196,60 @@ public class GenericController {
         // 2. Get resource definition
         final ResourceDefinition rd = resourceDefinitionService.getByUrlPrefix(urlPrefix);
 
-        // 3. Get entity (from repository based on permissions)
+        // 3. Skip response if client has the current version of the representation to be sent
         final Optional<UserAccount> oCurrentUser = currentUserService.getCurrentUser();
         final IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
         final RepositoryMode mode = oCurrentUser.isEmpty() ? RepositoryMode.MAIN : RepositoryMode.COMBINED;
-        final Model entity = metadataService.retrieve(entityUri, mode);
+        final MetadataGraph graph = metadataRepository.findGraph(entityUri, mode);
+        final MetadataVersion version = graph.version();
+        final boolean exists = version.getVersion() != 0;
+        final MetadataVersion derivedVersion = metadataService.retrieveDerivedVersion(entityUri, mode);
+        final List<Object> etagParts = new ArrayList<>(
+                List.of(version.getVersion(), mode, derivedVersion.getVersion()));
+        addResourceDefinition(etagParts, rd);
+        final String contentVersion = createStrongEtag(etagParts);
+        final Optional<MediaType> oMediaType = exists ? getCacheableMediaType(webRequest) : Optional.empty();
+        final boolean gzipEncoded = oMediaType.isPresent() && isGzipEncoded(webRequest);
+        if (gzipEncoded) {
+            etagParts.add(ENCODING_GZIP);
+        }
+        final String etag = createRepresentationEtag(webRequest, etagParts);
+        final Instant modified = getLatest(version.getModified(), derivedVersion.getModified());
+        if (exists && checkNotModified(webRequest, etag, modified)) {
+            return null;
+        }
+
+        // 4. Send rendered response if available
+        if (oMediaType.isPresent()) {
+            final Optional<RenderedResponse> oRendered =
+                    metadataResponseCache.get(entityUri, oMediaType.get(), mode, contentVersion);
+            if (oRendered.isPresent()) {
+                oRendered.get().links().forEach(link -> response.addHeader(HttpHeaders.LINK, link));
+                writeRenderedResponse(webRequest, oRendered.get(), gzipEncoded);
+                return null;
+            }
+        }
+
+        // 5. Get entity (from the graph read for its version)
+        final Model entity = metadataService.retrieve(entityUri, graph, mode);
         resultRdf.addAll(entity);
 
-        // 4. Add links
+        // 6. Add links
         metadataEnhancer.enhanceWithLinks(entityUri, entity, rd, persistentUrl, resultRdf);
         metadataEnhancer.enhanceWithResourceDefinition(entityUri, rd, resultRdf);
 
         enhanceWithSignposting(response, entityUri, resultRdf);
 
-        // 6. Create response
+        // 7. Create response (rendered and cached if the representation can be cached)
+        final Optional<RdfConverter> oConverter = oMediaType.flatMap(this::getRdfConverter);
+        if (oConverter.isPresent()) {
+            final RenderedResponse rendered = metadataResponseCache.render(
+                    entityUri, oMediaType.get(), oConverter.get().getFormat(), mode, contentVersion, resultRdf,
+                    List.copyOf(response.getHeaders(HttpHeaders.LINK))
+            );
+            writeRenderedResponse(webRequest, rendered, gzipEncoded);
+            return null;
+        }
         return resultRdf;
     }
 
@@ -185,9 +257,9 @@ public class GenericController {
     @PostMapping(path = "{urlPrefix:[^.]+}", produces = "!application/json")
     public ResponseEntity<Model> storeMetaData(
             @PathVariable final String urlPrefix,
-            @RequestBody String reqBody,
+            HttpServletRequest request,
             @RequestHeader(value = "Content-Type", required = false) String contentType
-    ) throws MetadataServiceException {
+    ) throws MetadataServiceException, IOException {
         // 1. Check if user is authenticated
         //     - it can't be in SecurityConfig because the authentication is done based on content-type
         final Optional<UserAccount> oUser = currentUserService.getCurrentUser();
@@ -203,18 +275,20 @@ public class GenericController {
         final IRI uri = generateNewMetadataIRI(persistentUrl, urlPrefix);
 
         // 4. Parse reqDto
-        final RDFFormat rdfContentType = getRdfContentType(contentType);
-        final Model oldDto = read(reqBody, uri.stringValue(), rdfContentType);
-        final Model reqDto = changeBaseUri(oldDto, uri.stringValue(), resourceDefinitionService.getTargetClassUris(rd));
-        for (ResourceDefinitionChild rdChild : rd.getChildren()) {
-            reqDto.remove(null, i(rdChild.getRelationUri()), null);
-        }
+        final MetadataRequestHandler handler = MetadataRequestHandler.forCreate(
+                uri,
+                resourceDefinitionService.getTargetClassUris(rd).stream().map(ValueFactoryHelper::i).toList(),
+                getChildRelations(rd),
+                metadataRequestProperties.getMaxStatements()
+        );
+        final Model reqDto = readRequestBody(request, uri, contentType, handler);
 
         // 5. Store metadata
         final Model metadata = metadataService.store(reqDto, uri, rd);
 
         // 6. Invalidate search filters cache
         searchFilterCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.SEARCH_FILTERS);
 
         // 7. Create response
         return ResponseEntity
@@ -230,9 +304,9 @@ public class GenericController {
     public ResponseEntity<Model> updateMetaData(
             @PathVariable final Optional<String> oUrlPrefix,
             @PathVariable final Optional<String> oRecordId,
-            @RequestBody String reqBody,
+            HttpServletRequest request,
             @RequestHeader(value = "Content-Type", required = false) String contentType
-    ) throws MetadataServiceException {
+    ) throws MetadataServiceException, IOException {
         // 1. Init
         final String urlPrefix = oUrlPrefix.orElse("");
         final String recordId = oRecordId.orElse("");
@@ -243,20 +317,19 @@ public class GenericController {
         final IRI uri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
 
         // 3. Parse reqDto
-        final RDFFormat rdfContentType = getRdfContentType(contentType);
-        final Model reqDto = read(reqBody, uri.stringValue(), rdfContentType);
-        for (ResourceDefinitionChild child : rd.getChildren()) {
-            final org.eclipse.rdf4j.model.Value childEntity = getObjectBy(reqDto, null, i(child.getRelationUri()));
-            if (childEntity != null) {
-                reqDto.remove(i(childEntity.stringValue()), null, null);
-            }
-        }
+        final MetadataRequestHandler handler = MetadataRequestHandler.forUpdate(
+                uri,
+                getChildRelations(rd),
+                metadataRequestProperties.getMaxStatements()
+        );
+        final Model reqDto = readRequestBody(request, uri, contentType, handler);
 
         // 4. Store metadata
         final Model metadata = metadataService.update(reqDto, uri, rd, true);
 
         // 5. Invalidate search filters cache
         searchFilterCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.SEARCH_FILTERS);
 
         // 6. Create response
         return ResponseEntity
@@ -288,6 +361,7 @@ public class GenericController {
 
         // 5. Invalidate search filters cache
         searchFilterCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.SEARCH_FILTERS);
 
         // 6. Create response
         return ResponseEntity.noContent().build();
@@ -303,7 +377,8 @@ public class GenericController {
             @PathVariable final Optional<String> oRecordId,
             @PathVariable final String childPrefix,
             @RequestParam(defaultValue = "0") final int page,
-            @RequestParam(defaultValue = "10") final int size
+            @RequestParam(defaultValue = "10") final int size,
+            ServletWebRequest webRequest
     ) throws MetadataServiceException, MetadataRepositoryException {
         // 1. Init
         final Model resultRdf = new LinkedHashModel();
@@ -315,7 +390,10 @@ public class GenericController {
         final Optional<UserAccount> oCurrentUser = currentUserService.getCurrentUser();
         final IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
         final RepositoryMode mode = oCurrentUser.isEmpty() ? RepositoryMode.MAIN : RepositoryMode.COMBINED;
-        final Model entity = metadataService.retrieve(entityUri, mode);
+        final MetadataVersion entityVersion = metadataRepository.findVersion(entityUri, mode);
+        if (entityVersion.getVersion() == 0) {
+            metadataService.retrieve(entityUri, mode);
+        }
 
         // 3. Get Children
         final ResourceDefinition rd = resourceDefinitionService.getByUrlPrefix(urlPrefix);
@@ -324,41 +402,43 @@ public class GenericController {
 
         for (ResourceDefinitionChild rdChild : rd.getChildren()) {
             if (rdChild.getTarget().getUuid().equals(currentChildRd.getUuid())) {
-                final IRI relationUri = i(rdChild.getRelationUri());
-
-                // 3.1 Get all titles for sort
-                final Map<String, String> titles =
-                        metadataRepository.findChildTitles(entityUri, relationUri, RepositoryMode.COMBINED);
-
-                // 3.2 Get all children sorted
-                final List<Value> children = getObjectsBy(entity, entityUri, relationUri)
-                        .stream()
-                        .filter(childUri -> getResourceNameForChild(childUri.toString()).equals(childPrefix))
-                        .filter(childUri -> {
-                            try {
-                                return oCurrentUser.isPresent()
-                                        || metadataStateService.isPublished(i(childUri.stringValue()));
-                            }
-                            catch (MetadataServiceException exc) {
-                                return false;
-                            }
-                        })
-                        .sorted((value1, value2) -> {
-                            final String title1 = titles.get(value1.toString());
-                            final String title2 = titles.get(value2.toString());
-                            if (title1 == null) {
-                                return -1;
-                            }
-                            return title1.compareTo(title2);
-                        })
-                        .toList();
-
-                // 3.3 Retrieve children metadata only for requested page
-                final int childrenCount = children.size();
-                children.stream().skip((long) page * size).limit(size)
-                        .map(childUri -> retrieveChildModel(childMetadataService, childUri))
-                        .flatMap(Optional::stream)
-                        .forEach(resultRdf::addAll);
+                // 3.1 Get requested page of children (drafts are visible only to logged-in users)
+                final MetadataChildrenPage childrenPage = metadataRepository.findChildren(
+                        entityUri,
+                        i(rdChild.getRelationUri()),
+                        format("%s/%s/", persistentUrl, childPrefix),
+                        (long) page * size,
+                        size,
+                        mode
+                );
+                final int childrenCount = (int) childrenPage.getTotal();
+
+                // 3.2 Skip response if client has the current page, versions of children are computed
+                //     from the graphs read (or cached) for the response
+                final Map<IRI, MetadataGraph> childGraphs =
+                        metadataRepository.findGraphs(childrenPage.getChildren(), mode);
+                final List<Object> etagParts = new ArrayList<>(
+                        List.of(entityVersion.getVersion(), mode, childPrefix, page, size, childrenCount));
+                addResourceDefinition(etagParts, rd);
+                addResourceDefinition(etagParts, currentChildRd);
+                Instant modified = entityVersion.getModified();
+                for (Map.Entry<IRI, MetadataGraph> childGraph : childGraphs.entrySet()) {
+                    final MetadataVersion childVersion = childGraph.getValue().version();
+                    final MetadataVersion childDerivedVersion =
+                            childMetadataService.retrieveDerivedVersion(childGraph.getKey(), mode);
+                    etagParts.add(childGraph.getKey());
+                    etagParts.add(childVersion.getVersion());
+                    etagParts.add(childDerivedVersion.getVersion());
+                    modified = getLatest(modified,
+                            getLatest(childVersion.getModified(), childDerivedVersion.getModified()));
+                }
+                final String etag = createRepresentationEtag(webRequest, etagParts);
+                if (entityVersion.getVersion() != 0 && checkNotModified(webRequest, etag, modified)) {
+                    return null;
+                }
+
+                // 3.3 Create children metadata from the graphs of the requested page
+                childMetadataService.retrieveAll(childGraphs, mode).values().forEach(resultRdf::addAll);
 
                 // 3.4 Set Link headers and send response
                 final HttpHeaders responseHeaders = new HttpHeaders();
@@ -374,21 +454,112 @@ public class GenericController {
         return ResponseEntity.ok(resultRdf);
     }
 
-    private String getResourceNameForChild(String url) {
-        final String[] parts = url
-                .replace(persistentUrl, "")
-                .split("/");
+    private Model readRequestBody(
+            HttpServletRequest request, IRI uri, String contentType, MetadataRequestHandler handler
+    ) throws IOException {
+        final long maxSize = metadataRequestProperties.getMaxSize().toBytes();
+        if (request.getContentLengthLong() > maxSize) {
+            throw new PayloadTooLargeException(format("Request body is larger than %d bytes", maxSize));
+        }
+        read(request.getInputStream(), uri.stringValue(), getRdfContentType(contentType), maxSize, handler);
+        return handler.getModel();
+    }
+
+    private Set<IRI> getChildRelations(ResourceDefinition rd) {
+        return rd.getChildren()
+                .stream()
+                .map(child -> i(child.getRelationUri()))
+                .collect(Collectors.toSet());
+    }
+
+    private void addResourceDefinition(List<Object> etagParts, ResourceDefinition rd) {
+        etagParts.add(rd.getUuid());
+        etagParts.add(rd.getUpdatedAt());
+    }
+
+    /**
+     * Creates entity tag of the response from the given parts and the requested representation.
+     */
+    private String createRepresentationEtag(ServletWebRequest webRequest, List<Object> etagParts) {
+        webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        etagParts.add(webRequest.getHeader(HttpHeaders.ACCEPT));
+        etagParts.add(webRequest.getParameter(FORMAT_PARAMETER));
+        etagParts.add(appInfoContributor.getFdpVersion());
+        return createStrongEtag(etagParts);
+    }
+
+    private static Instant getLatest(Instant first, Instant second) {
+        if (first == null || second != null && second.isAfter(first)) {
+            return second;
+        }
+        return first;
+    }
+
+    /**
+     * Evaluates conditional request headers, it must not be used for missing records so that the usual error
+     * response is sent.
+     */
+    private boolean checkNotModified(ServletWebRequest webRequest, String etag, Instant modified) {
+        if (modified == null) {
+            return webRequest.checkNotModified(etag);
+        }
+        return webRequest.checkNotModified(etag, modified.toEpochMilli());
+    }
 
-        if (parts.length < 2) {
-            throw new ValidationException("Unsupported URL");
+    /**
+     * Returns the negotiated media type if its rendering can be cached. Only RDF media types without
+     * parameters are cached, the media type is resolved as in content negotiation of Spring MVC.
+     */
+    private Optional<MediaType> getCacheableMediaType(ServletWebRequest webRequest)
+            throws HttpMediaTypeNotAcceptableException {
+        if (!metadataResponseCache.isEnabled()) {
+            return Optional.empty();
+        }
+        for (MediaType acceptable : contentNegotiationManager.resolveMediaTypes(webRequest)) {
+            final MediaType requested = acceptable.removeQualityValue();
+            if (!requested.getParameters().isEmpty()) {
+                return Optional.empty();
+            }
+            if (requested.equalsTypeAndSubtype(MediaType.ALL)) {
+                return rdfConverters.stream().findFirst().map(converter -> converter.getSupportedMediaTypes().get(0));
+            }
+            if (getRdfConverter(requested).isPresent()) {
+                return requested.isConcrete() ? Optional.of(requested) : Optional.empty();
+            }
         }
+        return Optional.empty();
+    }
+
+    private Optional<RdfConverter> getRdfConverter(MediaType mediaType) {
+        return rdfConverters
+                .stream()
+                .filter(converter -> converter.canWrite(Model.class, mediaType))
+                .findFirst();
+    }
 
-        // If URL is a repository -> return empty string
-        if (parts[1].equals("page")) {
-            return "";
+    /**
+     * Returns whether the rendered response is sent gzipped. The encoding is a part of the entity tag, so that
+     * the gzipped and the identity representation are not validated by the same strong entity tag.
+     */
+    private boolean isGzipEncoded(ServletWebRequest webRequest) {
+        if (!metadataResponseCache.isGzip()) {
+            return false;
         }
+        webRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return acceptsGzip(webRequest.getRequest());
+    }
 
-        return parts[1];
+    private void writeRenderedResponse(ServletWebRequest webRequest, RenderedResponse rendered, boolean gzipEncoded)
+            throws IOException {
+        final HttpServletResponse response = webRequest.getResponse();
+        byte[] body = rendered.body();
+        if (gzipEncoded && rendered.gzipBody() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, ENCODING_GZIP);
+            body = rendered.gzipBody();
+        }
+        response.setContentType(rendered.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
     private String createLinkHeader(String entityUrl, String childPrefix, int childrenCount, int page, int size) {
@@ -409,16 +580,6 @@ public class GenericController {
         return String.join(", ", links);
     }
 
-    private Optional<Model> retrieveChildModel(MetadataService childMetadataService, Value childUri) {
-        try {
-            final Model childModel = childMetadataService.retrieve(i(childUri.stringValue()));
-            return Optional.of(childModel);
-        }
-        catch (MetadataServiceException exception) {
-            return Optional.empty();
-        }
-    }
-
     private String createLink(String entityUrl, String childPrefix, int page, int size, String rel) {
         return format("<%s/page/%s?page=%d&size=%d>; rel=\"%s\"", entityUrl, childPrefix, page, size, rel);
     }
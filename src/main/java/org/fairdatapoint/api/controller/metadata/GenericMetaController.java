@@ -22,6 +22,8 @@
  */
 package org.fairdatapoint.api.controller.metadata;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -33,6 +35,7 @@ import org.fairdatapoint.api.dto.metadata.MetaStateChangeDTO;
 import org.fairdatapoint.api.dto.metadata.MetaStateDTO;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.entity.metadata.Metadata;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.entity.user.UserAccount;
 import org.fairdatapoint.service.member.MemberService;
@@ -44,18 +47,17 @@ import org.fairdatapoint.service.resource.ResourceDefinitionService;
 import org.fairdatapoint.service.user.CurrentUserService;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
-import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getMetadataIdentifier;
-import static org.fairdatapoint.entity.metadata.MetadataGetter.getTitle;
+import static org.fairdatapoint.util.HttpUtil.createStrongEtag;
 import static org.fairdatapoint.util.HttpUtil.getMetadataIRI;
-import static org.fairdatapoint.util.RdfUtil.getStringObjectBy;
-import static org.fairdatapoint.util.ValueFactoryHelper.i;
 
 @Tag(name = "Metadata")
 @RestController
@@ -76,26 +78,29 @@ public class GenericMetaController {
 
     private final CurrentUserService currentUserService;
 
+    private final ObjectMapper objectMapper;
+
     @Operation(hidden = true)
     @GetMapping(path = {"meta", "{oUrlPrefix:[^.]+}/{oRecordId:[^.]+}/meta"})
     public MetaDTO getMeta(
             @PathVariable final Optional<String> oUrlPrefix,
-            @PathVariable final Optional<String> oRecordId
-    ) throws MetadataServiceException {
+            @PathVariable final Optional<String> oRecordId,
+            WebRequest webRequest
+    ) throws MetadataServiceException, JsonProcessingException {
         // 1. Init
-        String urlPrefix = oUrlPrefix.orElse("");
+        final String urlPrefix = oUrlPrefix.orElse("");
         final String recordId = oRecordId.orElse("");
         final MetadataService metadataService =
                 metadataServiceFactory.getMetadataServiceByUrlPrefix(urlPrefix);
 
         // 2. Get resource definition
-        ResourceDefinition definition = resourceDefinitionService.getByUrlPrefix(urlPrefix);
+        final ResourceDefinition definition = resourceDefinitionService.getByUrlPrefix(urlPrefix);
 
         // 3. Get and check existence entity
         final Optional<UserAccount> oCurrentUser = currentUserService.getCurrentUser();
         final RepositoryMode mode = oCurrentUser.isEmpty() ? RepositoryMode.MAIN : RepositoryMode.COMBINED;
-        IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
-        Model entity = metadataService.retrieve(entityUri, mode);
+        final IRI entityUri = getMetadataIRI(persistentUrl, urlPrefix, recordId);
+        final Model entity = metadataService.retrieve(entityUri, mode);
 
         // 4. Get member
         final String entityId = getMetadataIdentifier(entity).getIdentifier().getLabel();
@@ -108,23 +113,25 @@ public class GenericMetaController {
 
         // 6. Make path map
         final Map<String, MetaPathDTO> pathMap = new HashMap<>();
-        while (true) {
+        for (MetadataAncestor ancestor : metadataService.retrieveAncestors(entityUri, mode)) {
+            final ResourceDefinition ancestorDefinition = ancestor.getUri().equals(entityUri)
+                    ? definition
+                    : resourceDefinitionService.getByUrlPrefix(getResourceNameForList(ancestor.getUri().toString()));
             final MetaPathDTO entry = new MetaPathDTO();
-            entry.setResourceDefinitionUuid(definition.getUuid().toString());
-            entry.setTitle(getTitle(entity).stringValue());
-            final IRI parentUri = i(getStringObjectBy(entity, entityUri, DCTERMS.IS_PART_OF));
-            Optional.ofNullable(parentUri).map(IRI::toString).ifPresent(entry::setParent);
-            pathMap.put(entityUri.toString(), entry);
-            if (parentUri == null) {
-                break;
-            }
-            entity = metadataService.retrieve(parentUri);
-            entityUri = parentUri;
-            urlPrefix = getResourceNameForList(parentUri.toString());
-            definition = resourceDefinitionService.getByUrlPrefix(urlPrefix);
+            entry.setResourceDefinitionUuid(ancestorDefinition.getUuid().toString());
+            entry.setTitle(ancestor.getTitle());
+            Optional.ofNullable(ancestor.getParent()).map(IRI::toString).ifPresent(entry::setParent);
+            pathMap.put(ancestor.getUri().toString(), entry);
         }
 
-        return new MetaDTO(member, state, pathMap);
+        // 7. Skip response if client has the current version
+        //     - state and membership are not versioned with the record, the entity tag covers the result
+        final MetaDTO result = new MetaDTO(member, state, pathMap);
+        final String etag = createStrongEtag(List.of(objectMapper.writeValueAsString(result)));
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return result;
     }
 
     @Operation(hidden = true)
@@ -55,6 +55,13 @@ public class SearchController {
         return ResponseEntity.ok(searchService.search(reqDto));
     }
 
+    @PostMapping(path = "/index")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> reindex() throws MetadataRepositoryException {
+        searchService.reindex();
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping(
             path = "/query",
             produces = MediaType.APPLICATION_JSON_VALUE
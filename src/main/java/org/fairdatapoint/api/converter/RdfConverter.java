@@ -28,9 +28,11 @@
 package org.fairdatapoint.api.converter;
 
 import org.fairdatapoint.util.RdfIOUtil;
+import org.fairdatapoint.util.RdfStream;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpOutputMessage;
 import org.springframework.http.MediaType;
@@ -41,7 +43,7 @@ import org.springframework.web.servlet.config.annotation.ContentNegotiationConfi
 
 import java.io.IOException;
 
-public class RdfConverter extends AbstractHttpMessageConverter<Model> {
+public class RdfConverter extends AbstractHttpMessageConverter<Object> {
 
     private final RDFFormat format;
 
@@ -50,22 +52,40 @@ public class RdfConverter extends AbstractHttpMessageConverter<Model> {
         this.format = format;
     }
 
+    public RDFFormat getFormat() {
+        return format;
+    }
+
     @Override
     protected boolean supports(Class<?> clazz) {
-        return Model.class.isAssignableFrom(clazz);
+        return Model.class.isAssignableFrom(clazz) || RdfStream.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return Model.class.isAssignableFrom(clazz) && canRead(mediaType);
     }
 
     @Override
-    protected Model readInternal(Class<? extends Model> type, HttpInputMessage inputMessage)
+    protected Model readInternal(Class<?> type, HttpInputMessage inputMessage)
             throws HttpMessageNotReadableException {
         return new LinkedHashModel();
     }
 
     @Override
-    protected void writeInternal(Model model, HttpOutputMessage outputMessage)
+    protected void writeInternal(Object content, HttpOutputMessage outputMessage)
             throws IOException, HttpMessageNotWritableException {
-        final String rdf = RdfIOUtil.write(model, format);
-        outputMessage.getBody().write(rdf.getBytes());
+        try {
+            if (content instanceof RdfStream stream) {
+                RdfIOUtil.write(stream, outputMessage.getBody(), format);
+            }
+            else {
+                RdfIOUtil.write((Model) content, outputMessage.getBody(), format);
+            }
+        }
+        catch (RDFHandlerException exception) {
+            throw new HttpMessageNotWritableException(exception.getMessage(), exception);
+        }
     }
 
     private static MediaType[] getMediaTypes(RDFFormat format) {
@@ -25,7 +25,7 @@ package org.fairdatapoint.config;
 import lombok.RequiredArgsConstructor;
 import org.fairdatapoint.entity.user.UserRole;
 import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
@@ -54,7 +54,7 @@ public class AclConfig {
     private final DataSource dataSource;
 
     @Bean
-    public AclCache aclCache(ConcurrentMapCacheManager cacheManager) {
+    public AclCache aclCache(CacheManager cacheManager) {
         final Cache springCache = cacheManager.getCache(ACL_CACHE);
         return new SpringCacheBasedAclCache(
                 springCache, permissionGrantingStrategy(), aclAuthorizationStrategy()
@@ -22,12 +22,21 @@
  */
 package org.fairdatapoint.config;
 
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.fairdatapoint.config.cache.GuavaCache;
+import org.fairdatapoint.config.cache.GuavaCacheManager;
+import org.fairdatapoint.config.properties.CacheRefreshProperties;
+import org.fairdatapoint.config.properties.CachesProperties;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import static org.fairdatapoint.config.AclConfig.ACL_CACHE;
 
@@ -35,8 +44,6 @@ import static org.fairdatapoint.config.AclConfig.ACL_CACHE;
 @EnableCaching
 public class CacheConfig {
 
-    public static final String CATALOG_THEMES_CACHE = "CATALOG_THEMES_CACHE";
-
     public static final String RESOURCE_DEFINITION_CACHE = "RESOURCE_DEFINITION_CACHE";
 
     public static final String RESOURCE_DEFINITION_PARENT_CACHE =
@@ -47,27 +54,43 @@ public class CacheConfig {
 
     public static final String LABEL_CACHE = "LABEL_CACHE";
 
-    public static final String SETTINGS_CACHE = "SETTINGS_CACHE";
-
     public static final String SEARCH_FILTERS_CACHE = "SEARCH_FILTERS_CACHE";
 
     public static final String FORMS_AUTOCOMPLETE_CACHE = "FORMS_AUTOCOMPLETE_CACHE";
 
+    /**
+     * Executor for background reloads of stale entries. Some loaders (e.g. labels) perform blocking
+     * HTTP calls, so they are kept off the common fork-join pool; when the pool and queue are
+     * saturated, the refresh is skipped and the stale value is kept.
+     */
+    @Bean(name = "cacheRefreshExecutor")
+    public ThreadPoolTaskExecutor cacheRefreshExecutor(CacheRefreshProperties properties) {
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setThreadNamePrefix("cache-refresh-");
+        return executor;
+    }
+
     @Bean
-    public ConcurrentMapCacheManager cacheManager() {
-        final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
-        cacheManager.setCacheNames(List.of(
+    public CacheManager cacheManager(CachesProperties cachesProperties,
+                                     @Qualifier("cacheRefreshExecutor") Executor cacheRefreshExecutor) {
+        return new GuavaCacheManager(List.of(
                 ACL_CACHE,
-                CATALOG_THEMES_CACHE,
                 RESOURCE_DEFINITION_CACHE,
                 RESOURCE_DEFINITION_PARENT_CACHE,
                 RESOURCE_DEFINITION_TARGET_CLASSES_CACHE,
-                SETTINGS_CACHE,
                 SEARCH_FILTERS_CACHE,
                 FORMS_AUTOCOMPLETE_CACHE,
                 LABEL_CACHE
-        ));
-        return cacheManager;
+        ), cachesProperties, cacheRefreshExecutor);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<GuavaCache> guavaCacheMeterBinderProvider() {
+        return (cache, tags) -> new GuavaCacheMetrics<>(cache.getNativeCache(), cache.getName(), tags);
     }
 
 }
@@ -56,6 +56,21 @@ public class ConverterConfig {
         return new ErrorConverter(RDFFormat.RDFXML);
     }
 
+    @Bean
+    public ErrorConverter binaryError() {
+        return new ErrorConverter(RDFFormat.BINARY);
+    }
+
+    @Bean
+    public ErrorConverter ntriplesError() {
+        return new ErrorConverter(RDFFormat.NTRIPLES);
+    }
+
+    @Bean
+    public ErrorConverter nquadsError() {
+        return new ErrorConverter(RDFFormat.NQUADS);
+    }
+
     @Bean
     public RdfConverter turtleModel() {
         return new RdfConverter(RDFFormat.TURTLE);
@@ -76,4 +91,19 @@ public class ConverterConfig {
         return new RdfConverter(RDFFormat.RDFXML);
     }
 
+    @Bean
+    public RdfConverter binaryModel() {
+        return new RdfConverter(RDFFormat.BINARY);
+    }
+
+    @Bean
+    public RdfConverter ntriplesModel() {
+        return new RdfConverter(RDFFormat.NTRIPLES);
+    }
+
+    @Bean
+    public RdfConverter nquadsModel() {
+        return new RdfConverter(RDFFormat.NQUADS);
+    }
+
 }
@@ -25,6 +25,7 @@ package org.fairdatapoint.config;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.config.properties.RepositoryConnectionProperties;
 import org.fairdatapoint.config.properties.RepositoryProperties;
+import org.fairdatapoint.config.properties.RepositoryReadProperties;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryException;
 import org.eclipse.rdf4j.repository.config.RepositoryConfigException;
@@ -40,8 +41,13 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
 import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.fairdatapoint.util.HttpUtil.removeLastSlash;
 
@@ -62,6 +68,22 @@ public class RepositoryConfig {
         return prepareRepository(context, repositoryProperties.getMain());
     }
 
+    @Bean(destroyMethod = "shutdown", name = "repositoryReadExecutor")
+    public ExecutorService repositoryReadExecutor() {
+        final RepositoryReadProperties properties = repositoryProperties.getRead();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                1L,
+                TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("repository-read-"),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     public Repository prepareRepository(ApplicationContext context, RepositoryConnectionProperties properties)
             throws RepositoryException {
 
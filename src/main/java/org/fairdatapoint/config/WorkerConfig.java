@@ -22,10 +22,25 @@
  */
 package org.fairdatapoint.config;
 
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 @EnableScheduling
 public class WorkerConfig {
+
+    /**
+     * General-purpose task executor configured by {@code spring.task.execution}. It is declared
+     * explicitly (instead of relying on the auto-configured one, which backs off when other executor
+     * beans exist) and marked primary so it stays the default next to dedicated executors.
+     */
+    @Primary
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
 }
@@ -0,0 +1,163 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.config.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Spring cache backed by a Guava cache.
+ *
+ * <p>Entries older than the refresh interval are reloaded in background when they are requested with
+ * a value loader (i.e. {@code @Cacheable(sync = true)}), the current value is returned meanwhile.</p>
+ */
+@Slf4j
+public class GuavaCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+
+    private final Cache<Object, Entry> cache;
+
+    private final long refreshNanos;
+
+    private final Executor refreshExecutor;
+
+    private final Ticker ticker = Ticker.systemTicker();
+
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    public GuavaCache(String name, Cache<Object, Entry> cache, Duration refreshAfterWrite,
+                      Executor refreshExecutor) {
+        super(true);
+        this.name = name;
+        this.cache = cache;
+        this.refreshNanos = refreshAfterWrite == null ? 0 : refreshAfterWrite.toNanos();
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Entry> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        final Entry entry = cache.getIfPresent(key);
+        return entry == null ? null : entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try {
+            final Entry entry = cache.get(key, () -> load(valueLoader));
+            refreshIfStale(key, entry, valueLoader);
+            return (T) fromStoreValue(entry.value());
+        }
+        catch (ExecutionException | UncheckedExecutionException exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception.getCause());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        cache.put(key, new Entry(toStoreValue(value), ticker.read()));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final Entry existing = cache.asMap().putIfAbsent(key, new Entry(toStoreValue(value), ticker.read()));
+        return toValueWrapper(existing == null ? null : existing.value());
+    }
+
+    @Override
+    public void evict(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return cache.asMap().remove(key) != null;
+    }
+
+    @Override
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean invalidate() {
+        final boolean notEmpty = cache.size() > 0;
+        cache.invalidateAll();
+        return notEmpty;
+    }
+
+    private Entry load(Callable<?> valueLoader) throws Exception {
+        return new Entry(toStoreValue(valueLoader.call()), ticker.read());
+    }
+
+    private void refreshIfStale(Object key, Entry entry, Callable<?> valueLoader) {
+        if (refreshNanos == 0 || ticker.read() - entry.writtenAt() < refreshNanos || !refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    cache.asMap().replace(key, entry, load(valueLoader));
+                }
+                catch (Exception exception) {
+                    log.debug("Refreshing entry {} of cache {} failed: {}", key, name, exception.getMessage());
+                }
+                finally {
+                    refreshing.remove(key);
+                }
+            });
+        }
+        catch (RejectedExecutionException exception) {
+            refreshing.remove(key);
+            log.debug("Refreshing entry {} of cache {} skipped: {}", key, name, exception.getMessage());
+        }
+    }
+
+    /**
+     * Cached value (possibly a null placeholder) and the time it was written at.
+     */
+    public record Entry(Object value, long writtenAt) {
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.config.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.config.properties.CacheSpecProperties;
+import org.fairdatapoint.config.properties.CachesProperties;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache manager of Guava caches bounded and expired according to configuration.
+ *
+ * <p>A cache is configured by the entry of {@link CachesProperties} named after the cache in lower case,
+ * without the {@code _CACHE} suffix and with dashes (e.g. {@code SEARCH_FILTERS_CACHE} by
+ * {@code search-filters}). Caches without configuration are unbounded and never expire.</p>
+ */
+@Slf4j
+public class GuavaCacheManager extends AbstractCacheManager {
+
+    private static final String CACHE_SUFFIX = "_CACHE";
+
+    private final List<String> cacheNames;
+
+    private final CachesProperties properties;
+
+    private final Executor refreshExecutor;
+
+    public GuavaCacheManager(List<String> cacheNames, CachesProperties properties, Executor refreshExecutor) {
+        this.cacheNames = List.copyOf(cacheNames);
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public static String getSpecKey(String cacheName) {
+        final String name = cacheName.endsWith(CACHE_SUFFIX)
+                ? cacheName.substring(0, cacheName.length() - CACHE_SUFFIX.length())
+                : cacheName;
+        return name.toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    @Override
+    protected Collection<GuavaCache> loadCaches() {
+        return cacheNames.stream().map(this::createCache).toList();
+    }
+
+    private GuavaCache createCache(String name) {
+        final CacheSpecProperties spec = properties.getSpec(getSpecKey(name));
+        final CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+        if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        final Cache<Object, GuavaCache.Entry> cache = builder.build();
+        log.debug("Cache {} (maximum size: {}, expire after write: {}, expire after access: {}, refresh: {})",
+                name, spec.getMaximumSize(), spec.getExpireAfterWrite(), spec.getExpireAfterAccess(),
+                spec.getRefreshAfterWrite());
+        return new GuavaCache(name, cache, spec.getRefreshAfterWrite(), refreshExecutor);
+    }
+}
@@ -38,4 +38,10 @@ public class RepositoryProperties {
     private RepositoryConnectionProperties main;
 
     private RepositoryConnectionProperties drafts;
+
+    private RepositoryCacheProperties cache = new RepositoryCacheProperties();
+
+    private RepositoryReadProperties read = new RepositoryReadProperties();
+
+    private RepositoryFullTextProperties fullText = new RepositoryFullTextProperties();
 }
@@ -29,15 +29,12 @@ import org.fairdatapoint.entity.index.event.IndexEventType;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface IndexEventRepository extends BaseRepository<IndexEvent> {
     Iterable<IndexEvent> getAllByRelatedTo(IndexEntry indexEntry, PageRequest pageRequest);
 
-    List<IndexEvent> findAllByRemoteAddrAndCreatedAtAfter(String remoteAddr, Instant rateLimitSince);
-
     List<IndexEvent> getAllByFinishedAtIsNull();
 
     List<IndexEvent> getAllByType(IndexEventType indexEventType);
@@ -25,6 +25,7 @@ package org.fairdatapoint.database.rdf.repository.catalog;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.common.MetadataRepository;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.eclipse.rdf4j.model.IRI;
 
 import java.util.List;
@@ -33,4 +34,6 @@ public interface CatalogMetadataRepository extends MetadataRepository {
 
     List<IRI> getDatasetThemesForCatalog(IRI uri, RepositoryMode mode) throws MetadataRepositoryException;
 
+    MetadataVersion getDatasetThemesVersion(IRI uri, RepositoryMode mode) throws MetadataRepositoryException;
+
 }
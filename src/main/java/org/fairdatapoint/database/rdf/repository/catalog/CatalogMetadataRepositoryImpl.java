@@ -22,60 +22,81 @@
  */
 package org.fairdatapoint.database.rdf.repository.catalog;
 
-import jakarta.annotation.PostConstruct;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.common.AbstractMetadataRepository;
+import org.fairdatapoint.database.rdf.repository.common.CombinedReadExecutor;
+import org.fairdatapoint.database.rdf.repository.common.MetadataFullTextIndex;
+import org.fairdatapoint.database.rdf.repository.common.MetadataStatementCache;
+import org.fairdatapoint.database.rdf.repository.common.SparqlQueryRegistry;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.repository.Repository;
-import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
-import static org.fairdatapoint.config.CacheConfig.CATALOG_THEMES_CACHE;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
 
 @Service("catalogMetadataRepository")
 public class CatalogMetadataRepositoryImpl extends AbstractMetadataRepository implements CatalogMetadataRepository {
 
-    private static final String GET_DATASET_THEMES_FOR_CATALOG = "getDatasetThemesForCatalog.sparql";
+    private static final String GET_DATASET_THEMES = "getDatasetThemes.sparql";
 
-    private final ConcurrentMapCacheManager cacheManager;
+    private final DatasetThemeIndex datasetThemeIndex;
 
-    public CatalogMetadataRepositoryImpl(ConcurrentMapCacheManager cacheManager,
-                                         Repository mainRepository, Repository draftsRepository) {
-        super(mainRepository, draftsRepository);
-        this.cacheManager = cacheManager;
+    public CatalogMetadataRepositoryImpl(DatasetThemeIndex datasetThemeIndex,
+                                         Repository mainRepository, Repository draftsRepository,
+                                         MetadataStatementCache statementCache,
+                                         SparqlQueryRegistry queryRegistry,
+                                         CombinedReadExecutor readExecutor,
+                                         MetadataFullTextIndex fullTextIndex) {
+        super(mainRepository, draftsRepository, statementCache, queryRegistry, readExecutor, fullTextIndex);
+        this.datasetThemeIndex = datasetThemeIndex;
     }
 
-    @PostConstruct
-    public void init() {
-        cacheManager.setCacheNames(List.of(CATALOG_THEMES_CACHE));
+    public List<IRI> getDatasetThemesForCatalog(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        buildDatasetThemeIndex();
+        return datasetThemeIndex.getThemes(uri, mode);
     }
 
-    public List<IRI> getDatasetThemesForCatalog(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
-        List<IRI> result = cache().get(uri.toString(), List.class);
-        if (result != null) {
-            return result;
+    public MetadataVersion getDatasetThemesVersion(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        buildDatasetThemeIndex();
+        return datasetThemeIndex.getThemesVersion(uri, mode);
+    }
+
+    private void buildDatasetThemeIndex() throws MetadataRepositoryException {
+        if (!datasetThemeIndex.isBuilt()) {
+            final long version = datasetThemeIndex.getVersion();
+            datasetThemeIndex.build(
+                    findThemeEntries(RepositoryMode.MAIN),
+                    findThemeEntries(RepositoryMode.DRAFTS),
+                    version
+            );
         }
-        result = runSparqlQuery(
-                GET_DATASET_THEMES_FOR_CATALOG,
-                CatalogMetadataRepository.class,
-                Map.of("catalog", uri),
-                mode
-        )
-                .stream()
-                .map(item -> i(item.getValue("theme").stringValue()))
-                .toList();
-        cache().put(uri.toString(), result);
-        return result;
     }
 
-    private Cache cache() {
-        return cacheManager.getCache(CATALOG_THEMES_CACHE);
+    private List<DatasetThemeIndex.ThemeEntry> findThemeEntries(RepositoryMode mode)
+            throws MetadataRepositoryException {
+        final List<DatasetThemeIndex.ThemeEntry> entries = new ArrayList<>();
+        runSparqlQuery(
+                GET_DATASET_THEMES,
+                CatalogMetadataRepository.class,
+                Map.of(),
+                mode,
+                item -> {
+                    if (item.getValue("catalog") instanceof IRI catalog) {
+                        entries.add(new DatasetThemeIndex.ThemeEntry(
+                                i(item.getValue("dataset")),
+                                catalog,
+                                i(item.getValue("theme"))
+                        ));
+                    }
+                }
+        );
+        return entries;
     }
 
 }
@@ -0,0 +1,221 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.catalog;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataCommitListener;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Themes of datasets aggregated per catalog.
+ *
+ * <p>Every dataset contributes its {@code dcat:theme} values to the catalog it is part of. Counts are kept
+ * separately for published datasets (MAIN) and for all datasets (COMBINED), so that a theme disappears from a
+ * catalog as soon as the last dataset using it is removed, unpublished or changed. The index is built from
+ * the store on first use and then maintained from committed writes.</p>
+ *
+ * <p>Themes are part of the catalog representation, so the index also provides a version of the themes of
+ * every catalog to be used in response validators.</p>
+ */
+@Slf4j
+@Component
+public class DatasetThemeIndex implements MetadataCommitListener {
+
+    private final Map<IRI, DatasetThemes> datasets = new HashMap<>();
+
+    private final Map<IRI, Map<IRI, Integer>> mainCounts = new HashMap<>();
+
+    private final Map<IRI, Map<IRI, Integer>> combinedCounts = new HashMap<>();
+
+    private final Map<IRI, Instant> catalogsModified = new HashMap<>();
+
+    private Instant builtAt;
+
+    private boolean built;
+
+    private long version;
+
+    public synchronized boolean isBuilt() {
+        return built;
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized List<IRI> getThemes(IRI catalog, RepositoryMode mode) {
+        final Map<IRI, Integer> counts = getCounts(mode).getOrDefault(catalog, Map.of());
+        return List.copyOf(counts.keySet());
+    }
+
+    /**
+     * Version of the themes of a catalog, it changes whenever the themes change.
+     *
+     * @param catalog URI of the catalog
+     * @param mode    repository mode
+     * @return hash of the themes and the time of their last change
+     */
+    public synchronized MetadataVersion getThemesVersion(IRI catalog, RepositoryMode mode) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        getCounts(mode).getOrDefault(catalog, Map.of()).keySet()
+                .stream()
+                .map(IRI::stringValue)
+                .sorted()
+                .forEach(theme -> hasher.putUnencodedChars(theme).putChar(' '));
+        return new MetadataVersion(hasher.hash().asLong(), catalogsModified.getOrDefault(catalog, builtAt));
+    }
+
+    /**
+     * Replaces the whole index. The index is marked as built only if no write was committed since
+     * {@code version} was read, otherwise it is built again on next use.
+     *
+     * @param mainDatasets   dataset themes found in the main repository
+     * @param draftsDatasets dataset themes found in the drafts repository
+     * @param loadedVersion  version of the index when the store was read
+     */
+    public synchronized void build(List<ThemeEntry> mainDatasets, List<ThemeEntry> draftsDatasets,
+                                   long loadedVersion) {
+        datasets.clear();
+        mainCounts.clear();
+        combinedCounts.clear();
+        catalogsModified.clear();
+        builtAt = Instant.now();
+        collect(draftsDatasets, false).forEach(this::add);
+        collect(mainDatasets, true).forEach(this::add);
+        built = loadedVersion == version;
+        log.debug("Dataset theme index built ({} datasets)", datasets.size());
+    }
+
+    @Override
+    public synchronized void committed(IRI context, List<Statement> mainStatements,
+                                       List<Statement> draftsStatements) {
+        if (!built) {
+            version++;
+            return;
+        }
+        final DatasetThemes previous = datasets.get(context);
+        remove(context);
+        final boolean published = !mainStatements.isEmpty();
+        final Model metadata = new LinkedHashModel(published ? mainStatements : draftsStatements);
+        final Optional<IRI> catalog = Models.getPropertyIRI(metadata, context, DCTERMS.IS_PART_OF);
+        final Set<IRI> themes = new LinkedHashSet<>();
+        for (Value theme : metadata.filter(context, DCAT.THEME, null).objects()) {
+            if (theme instanceof IRI themeIri) {
+                themes.add(themeIri);
+            }
+        }
+        final DatasetThemes current = catalog.isPresent() && !themes.isEmpty()
+                ? new DatasetThemes(catalog.get(), themes, published)
+                : null;
+        if (current != null) {
+            add(context, current);
+        }
+        if (!Objects.equals(previous, current)) {
+            final Instant now = Instant.now();
+            Optional.ofNullable(previous).ifPresent(themesBefore -> catalogsModified.put(themesBefore.catalog(), now));
+            Optional.ofNullable(current).ifPresent(themesAfter -> catalogsModified.put(themesAfter.catalog(), now));
+        }
+    }
+
+    @Override
+    public synchronized void invalidate() {
+        version++;
+        built = false;
+        datasets.clear();
+        mainCounts.clear();
+        combinedCounts.clear();
+        catalogsModified.clear();
+    }
+
+    private Map<IRI, DatasetThemes> collect(List<ThemeEntry> entries, boolean published) {
+        final Map<IRI, DatasetThemes> result = new HashMap<>();
+        for (ThemeEntry entry : entries) {
+            result
+                    .computeIfAbsent(entry.dataset(),
+                            key -> new DatasetThemes(entry.catalog(), new LinkedHashSet<>(), published))
+                    .themes()
+                    .add(entry.theme());
+        }
+        return result;
+    }
+
+    private void add(IRI dataset, DatasetThemes themes) {
+        remove(dataset);
+        datasets.put(dataset, themes);
+        themes.themes().forEach(theme -> {
+            increment(combinedCounts, themes.catalog(), theme, 1);
+            if (themes.published()) {
+                increment(mainCounts, themes.catalog(), theme, 1);
+            }
+        });
+    }
+
+    private void remove(IRI dataset) {
+        final DatasetThemes themes = datasets.remove(dataset);
+        if (themes == null) {
+            return;
+        }
+        themes.themes().forEach(theme -> {
+            increment(combinedCounts, themes.catalog(), theme, -1);
+            if (themes.published()) {
+                increment(mainCounts, themes.catalog(), theme, -1);
+            }
+        });
+    }
+
+    private Map<IRI, Map<IRI, Integer>> getCounts(RepositoryMode mode) {
+        return mode == RepositoryMode.MAIN ? mainCounts : combinedCounts;
+    }
+
+    private static void increment(Map<IRI, Map<IRI, Integer>> counts, IRI catalog, IRI theme, int delta) {
+        final Map<IRI, Integer> catalogCounts = counts.computeIfAbsent(catalog, key -> new LinkedHashMap<>());
+        catalogCounts.merge(theme, delta, Integer::sum);
+        if (catalogCounts.get(theme) <= 0) {
+            catalogCounts.remove(theme);
+        }
+        if (catalogCounts.isEmpty()) {
+            counts.remove(catalog);
+        }
+    }
+
+    public record ThemeEntry(IRI dataset, IRI catalog, IRI theme) {
+    }
+
+    private record DatasetThemes(IRI catalog, Set<IRI> themes, boolean published) {
+    }
+}
@@ -22,25 +22,41 @@
  */
 package org.fairdatapoint.database.rdf.repository.common;
 
-import com.google.common.io.Resources;
+import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
+import org.fairdatapoint.entity.metadata.MetadataChildrenPage;
+import org.fairdatapoint.entity.metadata.MetadataTreeNode;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.search.SearchFilterValue;
 import org.fairdatapoint.entity.search.SearchResult;
 import org.fairdatapoint.entity.search.SearchResultRelation;
 import org.eclipse.rdf4j.model.*;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.util.Values;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.query.BindingSet;
 import org.eclipse.rdf4j.query.TupleQuery;
 import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.algebra.evaluation.util.ValueComparator;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.ntriples.NTriplesUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.io.IOException;
-import java.net.URL;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
@@ -51,13 +67,27 @@ public abstract class AbstractMetadataRepository {
     private static final String FIND_ENTITY_BY_LITERAL = "findEntityByLiteral.sparql";
     private static final String FIND_CHILD_TITLES = "findChildTitles.sparql";
     private static final String FIND_OBJECT_FOR_PREDICATE = "findObjectsForPredicate.sparql";
+    private static final String FIND_CHILDREN_PAGE = "findChildrenPage.sparql";
+    private static final String FIND_ANCESTORS = "findAncestors.sparql";
+    private static final String FIND_CHILD_LINKS = "findChildLinks.sparql";
+    private static final String FIND_TREE = "findTree.sparql";
+    private static final String FIND_GRAPHS = "findGraphs.sparql";
+    private static final String PAGE_SUFFIX = "%s%nOFFSET %d%nLIMIT %d";
+    private static final String VALUES_GRAPH_PREFIX = "\nVALUES ?graph { ";
+    private static final String VALUES_GRAPH_SUFFIX = " }";
+    private static final String VALUES_RELATION_PREFIX = "\nVALUES ?relation { ";
+    private static final String VALUES_RELATION_SUFFIX = " }";
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+
+    private static final int LOAD_BATCH_SIZE = 100;
+
+    private static final long VERSION_MULTIPLIER = 31;
 
     private static final String MSG_ERROR_RESOURCE = "Error retrieving resource: ";
     private static final String MSG_ERROR_URI = "Error retrieving repository URI: ";
-    private static final String MSG_ERROR_REMOVE = "Error removing statement";
     private static final String MSG_ERROR_REMOVE_ALL = "Error remove all: ";
     private static final String MSG_ERROR_EXISTS = "Error check statement existence: ";
-    private static final String MSG_ERROR_SAVE = "Error storing statements: ";
     private static final String MSG_ERROR_SPARQL_LOAD = "Error reading %s.sparql file (error: %s)";
 
     private static final String FIELD_VALUE = "value";
@@ -69,14 +99,44 @@ public abstract class AbstractMetadataRepository {
     private static final String FIELD_DESCRIPTION = "description";
     private static final String FIELD_REL_PRED = "relationPredicate";
     private static final String FIELD_REL_OBJ = "relationObject";
+    private static final String FIELD_TOTAL = "total";
+    private static final String FIELD_ANCESTOR = "ancestor";
+    private static final String FIELD_PARENT = "parent";
+    private static final String FIELD_TYPE_VARIABLE = "type";
+    private static final String FIELD_GRAPH = "graph";
+    private static final String FIELD_SUBJECT = "subject";
+    private static final String FIELD_PREDICATE = "predicate";
+    private static final String FIELD_OBJECT = "object";
+
+    private static final ValueComparator VALUE_COMPARATOR = new ValueComparator();
 
     private final Repository mainRepository;
 
     private final Repository draftsRepository;
 
-    public AbstractMetadataRepository(Repository mainRepository, Repository draftsRepository) {
+    private final MetadataStatementCache statementCache;
+
+    private final SparqlQueryRegistry queryRegistry;
+
+    private final CombinedReadExecutor readExecutor;
+
+    private final MetadataFullTextIndex fullTextIndex;
+
+    @Autowired(required = false)
+    private List<MetadataCommitListener> commitListeners = List.of();
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    public AbstractMetadataRepository(Repository mainRepository, Repository draftsRepository,
+                                      MetadataStatementCache statementCache, SparqlQueryRegistry queryRegistry,
+                                      CombinedReadExecutor readExecutor, MetadataFullTextIndex fullTextIndex) {
         this.mainRepository = mainRepository;
         this.draftsRepository = draftsRepository;
+        this.statementCache = statementCache;
+        this.queryRegistry = queryRegistry;
+        this.readExecutor = readExecutor;
+        this.fullTextIndex = fullTextIndex;
     }
 
     protected Repository getMainRepository() {
@@ -97,6 +157,17 @@ public abstract class AbstractMetadataRepository {
         return List.of(getMainRepository(), getDraftsRepository());
     }
 
+    protected List<RepositoryMode> getRepositoryModes(RepositoryMode mode) {
+        if (mode == RepositoryMode.COMBINED) {
+            return List.of(RepositoryMode.MAIN, RepositoryMode.DRAFTS);
+        }
+        return List.of(mode);
+    }
+
+    protected MetadataStatementCache getStatementCache() {
+        return statementCache;
+    }
+
     public List<Resource> findResources(RepositoryMode mode) throws MetadataRepositoryException {
         final List<Resource> result = new ArrayList<>();
         for (final Repository repo : getRepositories(mode)) {
@@ -111,6 +182,92 @@ public abstract class AbstractMetadataRepository {
     }
 
     public List<Statement> find(IRI context, RepositoryMode mode) throws MetadataRepositoryException {
+        final List<RepositoryMode> repositoryModes = getRepositoryModes(mode);
+        if (repositoryModes.size() == 1) {
+            return findCached(context, mode);
+        }
+        final List<Statement> result = new ArrayList<>();
+        readExecutor
+                .invokeAll(repositoryModes
+                        .stream()
+                        .<CombinedReadExecutor.RepositoryRead<List<Statement>>>map(repositoryMode ->
+                                () -> findCached(context, repositoryMode))
+                        .toList())
+                .forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Retrieves several named graphs at once, with one multi-context request per repository.
+     *
+     * @param contexts named graphs to retrieve
+     * @param mode     repository mode
+     * @return statements grouped by context, in the order of the given contexts (empty list for missing ones)
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public Map<IRI, List<Statement>> findAll(Collection<IRI> contexts, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        final List<IRI> distinctContexts = contexts.stream().filter(Objects::nonNull).distinct().toList();
+        final Map<IRI, List<Statement>> result = new LinkedHashMap<>();
+        if (distinctContexts.isEmpty()) {
+            return result;
+        }
+        final List<Map<IRI, List<Statement>>> results = readExecutor.invokeAll(getRepositoryModes(mode)
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<Map<IRI, List<Statement>>>>map(repositoryMode ->
+                        () -> statementCache.getAll(distinctContexts, repositoryMode,
+                                missing -> loadAll(missing, repositoryMode)))
+                .toList());
+        for (final IRI context : distinctContexts) {
+            final List<Statement> statements = new ArrayList<>();
+            results.forEach(modeResult -> statements.addAll(modeResult.getOrDefault(context, List.of())));
+            result.put(context, statements);
+        }
+        return result;
+    }
+
+    private Map<IRI, List<Statement>> loadAll(Collection<IRI> contexts, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        // graph names are bound by the query, stores without quad support do not return them with statements
+        final Map<IRI, List<Statement>> result = new HashMap<>();
+        final String graphsQuery = loadGraphsQuery();
+        for (final List<IRI> batch : Lists.partition(List.copyOf(contexts), LOAD_BATCH_SIZE)) {
+            final String queryString = graphsQuery + batch
+                    .stream()
+                    .map(NTriplesUtil::toNTriplesString)
+                    .collect(Collectors.joining(" ", VALUES_GRAPH_PREFIX, VALUES_GRAPH_SUFFIX));
+            for (final Repository repo : getRepositories(mode)) {
+                evaluateTupleQuery(repo, queryString, FIND_GRAPHS, Map.of(), row -> {
+                    if (row.getValue(FIELD_GRAPH) instanceof IRI context) {
+                        result.computeIfAbsent(context, key -> new ArrayList<>()).add(Values.getValueFactory()
+                                .createStatement(
+                                        (Resource) row.getValue(FIELD_SUBJECT),
+                                        (IRI) row.getValue(FIELD_PREDICATE),
+                                        row.getValue(FIELD_OBJECT),
+                                        context
+                                ));
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
+    private String loadGraphsQuery() throws MetadataRepositoryException {
+        try {
+            return loadSparqlQuery(FIND_GRAPHS, AbstractMetadataRepository.class);
+        }
+        catch (IOException exception) {
+            throw new MetadataRepositoryException(format(MSG_ERROR_SPARQL_LOAD, FIND_GRAPHS,
+                    exception.getMessage()));
+        }
+    }
+
+    private List<Statement> findCached(IRI context, RepositoryMode mode) throws MetadataRepositoryException {
+        return statementCache.get(context, mode, () -> load(context, mode));
+    }
+
+    private List<Statement> load(IRI context, RepositoryMode mode) throws MetadataRepositoryException {
         final List<Statement> result = new ArrayList<>();
         for (final Repository repo : getRepositories(mode)) {
             try (RepositoryConnection conn = repo.getConnection()) {
@@ -123,23 +280,323 @@ public abstract class AbstractMetadataRepository {
         return result;
     }
 
+    /**
+     * Returns the content version of a metadata record without retrieving it when the version is known.
+     *
+     * @param uri  URI of the metadata record (its named graph)
+     * @param mode repository mode, in combined mode versions of both repositories are combined
+     * @return content version (0 if the record does not exist) and the latest metadata modification time
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public MetadataVersion findVersion(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        final List<MetadataVersion> versions = new ArrayList<>();
+        for (final RepositoryMode repositoryMode : getRepositoryModes(mode)) {
+            versions.add(statementCache.getVersion(uri, repositoryMode, () -> load(uri, repositoryMode)));
+        }
+        return combineVersions(versions);
+    }
+
+    /**
+     * Retrieves a metadata record together with its content version, the graph is read at most once.
+     *
+     * @param uri  URI of the metadata record (its named graph)
+     * @param mode repository mode, in combined mode graphs and versions of both repositories are combined
+     * @return statements of the record and their version as returned by {@link #findVersion(IRI, RepositoryMode)}
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public MetadataGraph findGraph(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        return combineGraphs(readExecutor.invokeAll(getRepositoryModes(mode)
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<MetadataGraph>>map(repositoryMode ->
+                        () -> statementCache.getGraph(uri, repositoryMode, () -> load(uri, repositoryMode)))
+                .toList()));
+    }
+
+    /**
+     * Retrieves several metadata records together with their content versions, with at most one
+     * multi-context request per repository.
+     *
+     * @param uris URIs of the metadata records
+     * @param mode repository mode
+     * @return records in the order of the given URIs (with empty statements for missing ones)
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public Map<IRI, MetadataGraph> findGraphs(Collection<IRI> uris, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        final List<IRI> distinctUris = uris.stream().filter(Objects::nonNull).distinct().toList();
+        final Map<IRI, MetadataGraph> result = new LinkedHashMap<>();
+        if (distinctUris.isEmpty()) {
+            return result;
+        }
+        final List<Map<IRI, MetadataGraph>> results = readExecutor.invokeAll(getRepositoryModes(mode)
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<Map<IRI, MetadataGraph>>>map(repositoryMode ->
+                        () -> statementCache.getAllGraphs(distinctUris, repositoryMode,
+                                missing -> loadAll(missing, repositoryMode)))
+                .toList());
+        for (final IRI uri : distinctUris) {
+            result.put(uri, combineGraphs(results.stream().map(modeResult -> modeResult.get(uri)).toList()));
+        }
+        return result;
+    }
+
+    private static MetadataGraph combineGraphs(List<MetadataGraph> graphs) {
+        if (graphs.size() == 1) {
+            return graphs.get(0);
+        }
+        final List<Statement> statements = new ArrayList<>();
+        graphs.forEach(graph -> statements.addAll(graph.statements()));
+        return new MetadataGraph(statements, combineVersions(graphs.stream().map(MetadataGraph::version).toList()));
+    }
+
+    private static MetadataVersion combineVersions(List<MetadataVersion> versions) {
+        long version = 0;
+        Instant modified = null;
+        for (final MetadataVersion repositoryVersion : versions) {
+            version = version * VERSION_MULTIPLIER + repositoryVersion.getVersion();
+            if (repositoryVersion.getModified() != null
+                    && (modified == null || repositoryVersion.getModified().isAfter(modified))) {
+                modified = repositoryVersion.getModified();
+            }
+        }
+        return new MetadataVersion(version, modified);
+    }
+
+    public void find(IRI context, RepositoryMode mode, RDFHandler handler) throws MetadataRepositoryException {
+        final List<RepositoryMode> repositoryModes = getRepositoryModes(mode);
+        handler.startRDF();
+        if (repositoryModes.size() == 1) {
+            exportStatements(context, mode, handler);
+        }
+        else {
+            // main is streamed on the calling thread while the (usually small) other graphs are loaded
+            final List<List<Statement>> results = readExecutor.invokeAll(repositoryModes
+                    .stream()
+                    .<CombinedReadExecutor.RepositoryRead<List<Statement>>>map(repositoryMode -> () -> {
+                        if (repositoryMode == repositoryModes.get(0)) {
+                            exportStatements(context, repositoryMode, handler);
+                            return List.of();
+                        }
+                        return findCached(context, repositoryMode);
+                    })
+                    .toList());
+            results.forEach(statements -> statements.forEach(handler::handleStatement));
+        }
+        handler.endRDF();
+    }
+
+    private void exportStatements(IRI context, RepositoryMode mode, RDFHandler handler)
+            throws MetadataRepositoryException {
+        final List<Statement> cached = statementCache.getIfPresent(context, mode);
+        if (cached != null) {
+            cached.forEach(handler::handleStatement);
+            return;
+        }
+        for (final Repository repo : getRepositories(mode)) {
+            try (RepositoryConnection conn = repo.getConnection();
+                 RepositoryResult<Statement> statements = conn.getStatements(null, null, null, context)) {
+                while (statements.hasNext()) {
+                    handler.handleStatement(statements.next());
+                }
+            }
+            catch (RepositoryException exception) {
+                throw new MetadataRepositoryException(MSG_ERROR_RESOURCE + exception.getMessage());
+            }
+        }
+    }
+
     public List<SearchResult> findByLiteral(Literal query, RepositoryMode mode) throws MetadataRepositoryException {
-        return runSparqlQuery(
+        if (mode == RepositoryMode.MAIN && fullTextIndex.isEnabled()) {
+            try {
+                return findByFullText(query);
+            }
+            catch (IOException exception) {
+                log.warn("Full-text search failed, using SPARQL query instead: {}", exception.getMessage());
+            }
+        }
+        final List<SearchResult> results = new ArrayList<>();
+        runSparqlQuery(
                 FIND_ENTITY_BY_LITERAL,
                 AbstractMetadataRepository.class,
                 Map.of("query", query),
-                mode
-        )
+                mode,
+                item -> results.add(toSearchResult(item, true))
+        );
+        return results;
+    }
+
+    private List<SearchResult> findByFullText(Literal query) throws IOException, MetadataRepositoryException {
+        final List<MetadataFullTextIndex.FullTextHit> hits = fullTextIndex.search(query.getLabel());
+        final Map<IRI, List<Statement>> graphs = findAll(
+                hits.stream().map(MetadataFullTextIndex.FullTextHit::context).toList(),
+                RepositoryMode.MAIN
+        );
+        final List<SearchResult> results = new ArrayList<>();
+        for (final MetadataFullTextIndex.FullTextHit hit : hits) {
+            final Model graph = new LinkedHashModel(graphs.getOrDefault(hit.context(), List.of()));
+            final Optional<Literal> title = Models.getPropertyLiteral(graph, hit.entity(), DCTERMS.TITLE);
+            if (title.isEmpty()) {
+                continue;
+            }
+            final String description = Models.getPropertyLiteral(graph, hit.entity(), DCTERMS.DESCRIPTION)
+                    .map(Literal::getLabel)
+                    .orElse("");
+            final SearchResultRelation relation = new SearchResultRelation(
+                    hit.predicate().stringValue(),
+                    hit.value().stringValue()
+            );
+            for (final Value type : graph.filter(hit.entity(), RDF.TYPE, null).objects()) {
+                results.add(new SearchResult(
+                        hit.entity().stringValue(),
+                        type.stringValue(),
+                        title.get().getLabel(),
+                        description,
+                        relation
+                ));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Rebuilds the full-text index from the main repository (no-op if the index is disabled).
+     *
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public void reindexFullText() throws MetadataRepositoryException {
+        if (!fullTextIndex.isEnabled()) {
+            return;
+        }
+        log.info("Rebuilding full-text index");
+        final List<IRI> contexts = findResources(RepositoryMode.MAIN)
                 .stream()
-                .map(item -> toSearchResult(item, true))
+                .filter(IRI.class::isInstance)
+                .map(IRI.class::cast)
                 .toList();
+        try (MetadataFullTextIndex.Rebuild rebuild = fullTextIndex.startRebuild()) {
+            for (int index = 0; index < contexts.size(); index += REINDEX_BATCH_SIZE) {
+                final List<IRI> batch =
+                        contexts.subList(index, Math.min(index + REINDEX_BATCH_SIZE, contexts.size()));
+                rebuild.add(findAll(batch, RepositoryMode.MAIN));
+            }
+            rebuild.commit();
+        }
+        catch (IOException exception) {
+            log.error("Failed to rebuild full-text index: {}", exception.getMessage());
+            return;
+        }
+        log.info("Full-text index rebuilt ({} graphs)", contexts.size());
     }
 
-    public List<SearchResult> findBySparqlQuery(String query, RepositoryMode mode) throws MetadataRepositoryException {
-        return runSparqlQuery(query, mode)
+    /**
+     * Schedules a rebuild of the full-text index in background (no-op if the index is disabled), searches are
+     * served from the current index until the rebuilt one replaces it.
+     */
+    public void reindexFullTextAsync() {
+        fullTextIndex.rebuildAsync(() -> {
+            try {
+                reindexFullText();
+            }
+            catch (MetadataRepositoryException exception) {
+                log.error("Failed to rebuild full-text index: {}", exception.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Propagates committed writes to the statement cache, the full-text index and commit listeners.
+     *
+     * @param committed contexts and known graph contents of the committed repositories ({@code null} for all
+     *                  contexts)
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    void afterCommit(MetadataUnitOfWork.CommittedGraphs committed) throws MetadataRepositoryException {
+        if (committed == null) {
+            refresh(null);
+            publishChange(null);
+            return;
+        }
+        committed.mainContexts().forEach(context -> statementCache.invalidate(context, RepositoryMode.MAIN));
+        committed.draftsContexts().forEach(context -> statementCache.invalidate(context, RepositoryMode.DRAFTS));
+        final Set<IRI> contexts = new HashSet<>(committed.mainContexts());
+        contexts.addAll(committed.draftsContexts());
+        if (fullTextIndex.isEnabled() && !committed.mainContexts().isEmpty()) {
+            fullTextIndex.update(completeGraphs(committed.mainContexts(), committed.mainGraphs(),
+                    RepositoryMode.MAIN));
+        }
+        notifyCommitListeners(contexts, committed.mainGraphs(), committed.draftsGraphs());
+        publishChange(contexts);
+    }
+
+    public void refresh(Set<IRI> contexts) throws MetadataRepositoryException {
+        if (contexts == null) {
+            statementCache.invalidateAll();
+            commitListeners.forEach(MetadataCommitListener::invalidate);
+            reindexFullTextAsync();
+            return;
+        }
+        contexts.forEach(statementCache::invalidate);
+        if (fullTextIndex.isEnabled() && !contexts.isEmpty()) {
+            // graphs missing in main are returned empty and thus removed from the index
+            fullTextIndex.update(findAll(contexts, RepositoryMode.MAIN));
+        }
+        notifyCommitListeners(contexts, Map.of(), Map.of());
+    }
+
+    private void notifyCommitListeners(Set<IRI> contexts, Map<IRI, List<Statement>> knownMainGraphs,
+                                       Map<IRI, List<Statement>> knownDraftsGraphs)
+            throws MetadataRepositoryException {
+        if (commitListeners.isEmpty() || contexts.isEmpty()) {
+            return;
+        }
+        // graphs are read only if some listener needs them and the unit of work does not know their content
+        final boolean statementsRequired = commitListeners
                 .stream()
-                .map(item -> toSearchResult(item, false))
-                .toList();
+                .anyMatch(MetadataCommitListener::isStatementsRequired);
+        final Map<IRI, List<Statement>> mainGraphs = statementsRequired
+                ? completeGraphs(contexts, knownMainGraphs, RepositoryMode.MAIN)
+                : Map.of();
+        final Map<IRI, List<Statement>> draftsGraphs = statementsRequired
+                ? completeGraphs(contexts, knownDraftsGraphs, RepositoryMode.DRAFTS)
+                : Map.of();
+        for (final IRI context : contexts) {
+            for (final MetadataCommitListener listener : commitListeners) {
+                if (listener.isStatementsRequired()) {
+                    listener.committed(context, mainGraphs.get(context), draftsGraphs.get(context));
+                }
+                else {
+                    listener.committed(context, null, null);
+                }
+            }
+        }
+    }
+
+    private Map<IRI, List<Statement>> completeGraphs(Set<IRI> contexts, Map<IRI, List<Statement>> knownGraphs,
+                                                     RepositoryMode mode) throws MetadataRepositoryException {
+        final Map<IRI, List<Statement>> result = new HashMap<>();
+        final List<IRI> unknownContexts = new ArrayList<>();
+        for (final IRI context : contexts) {
+            if (knownGraphs.containsKey(context)) {
+                result.put(context, knownGraphs.get(context));
+            }
+            else {
+                unknownContexts.add(context);
+            }
+        }
+        result.putAll(findAll(unknownContexts, mode));
+        return result;
+    }
+
+    private void publishChange(Set<IRI> contexts) {
+        if (eventPublisher != null && (contexts == null || !contexts.isEmpty())) {
+            eventPublisher.publishEvent(new MetadataChangedEvent(contexts));
+        }
+    }
+
+    public List<SearchResult> findBySparqlQuery(String query, RepositoryMode mode) throws MetadataRepositoryException {
+        final List<SearchResult> results = new ArrayList<>();
+        runSparqlQuery(query, mode, item -> results.add(toSearchResult(item, false)));
+        return results;
     }
 
     private SearchResult toSearchResult(BindingSet item, boolean withRelation) {
@@ -166,15 +623,16 @@ public abstract class AbstractMetadataRepository {
                 FIND_OBJECT_FOR_PREDICATE,
                 AbstractMetadataRepository.class,
                 Map.of("predicate", predicateUri),
-                mode
-        ).forEach(entry -> {
-            values.put(
-                    entry.getValue(FIELD_VALUE).stringValue(),
-                    Optional.ofNullable(entry.getValue(FIELD_LABEL))
-                            .map(Value::stringValue)
-                            .orElse(null)
-            );
-        });
+                mode,
+                entry -> {
+                    values.put(
+                            entry.getValue(FIELD_VALUE).stringValue(),
+                            Optional.ofNullable(entry.getValue(FIELD_LABEL))
+                                    .map(Value::stringValue)
+                                    .orElse(null)
+                    );
+                }
+        );
         return values
                 .entrySet()
                 .stream()
@@ -186,54 +644,266 @@ public abstract class AbstractMetadataRepository {
             throws MetadataRepositoryException {
         final Map<String, String> titles = new HashMap<>();
 
-        final List<BindingSet> results = runSparqlQuery(
+        runSparqlQuery(
                 FIND_CHILD_TITLES,
                 AbstractMetadataRepository.class,
                 Map.of(
                         "parent", parent,
                         "relation", relation
                 ),
-                mode
+                mode,
+                result -> {
+                    final String childUri = result.getValue(FIELD_CHILD).stringValue();
+                    final String title = result.getValue(FIELD_TITLE).stringValue();
+                    if (childUri != null && title != null) {
+                        titles.put(childUri, title);
+                    }
+                }
+        );
+
+        return titles;
+    }
+
+    /**
+     * Retrieves one page of children of the given parent, ordered by title, together with the total number
+     * of children. Only children whose URI starts with the given prefix are considered.
+     *
+     * <p>Children are linked from the parent by the child relation and must be stored in the same repository.
+     * A child whose parent is stored only in the other repository is linked by its {@code dct:isPartOf}.</p>
+     *
+     * @param parent      URI of the parent
+     * @param relation    child relation of the parent resource definition
+     * @param childPrefix URI prefix of the children
+     * @param offset      number of children to skip
+     * @param limit       maximal number of children to return
+     * @param mode        repository mode
+     * @return page of children
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public MetadataChildrenPage findChildren(IRI parent, IRI relation, String childPrefix, long offset, int limit,
+                                             RepositoryMode mode) throws MetadataRepositoryException {
+        final List<Repository> repositories = getRepositories(mode);
+        // with more repositories, each of them has to provide all rows up to the end of the page
+        final long repositoryOffset = repositories.size() == 1 ? offset : 0;
+        final long repositoryLimit = repositories.size() == 1 ? limit : offset + limit;
+        final List<ChildrenRows> results = readExecutor.invokeAll(repositories
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<ChildrenRows>>map(repo ->
+                        () -> findChildrenRows(repo, parent, relation, childPrefix, repositoryOffset,
+                                repositoryLimit))
+                .toList());
+        final List<BindingSet> rows = new ArrayList<>();
+        long total = 0;
+        for (final ChildrenRows result : results) {
+            rows.addAll(result.rows());
+            total += result.total();
+        }
+        final List<IRI> children = rows
+                .stream()
+                .sorted(Comparator
+                        .comparing((BindingSet row) -> row.getValue(FIELD_TITLE), VALUE_COMPARATOR)
+                        .thenComparing(row -> row.getValue(FIELD_CHILD), VALUE_COMPARATOR))
+                .skip(offset - repositoryOffset)
+                .limit(limit)
+                .map(row -> (IRI) row.getValue(FIELD_CHILD))
+                .toList();
+        return new MetadataChildrenPage(children, total);
+    }
+
+    private ChildrenRows findChildrenRows(Repository repo, IRI parent, IRI relation, String childPrefix,
+                                          long offset, long limit) throws MetadataRepositoryException {
+        final Map<String, Value> bindings = Map.of(
+                "parent", parent,
+                "relation", relation,
+                "childPrefix", Values.literal(childPrefix)
         );
+        final List<BindingSet> rows = new ArrayList<>();
+        evaluateTupleQuery(repo, loadChildrenPageQuery(offset, limit), FIND_CHILDREN_PAGE, bindings, rows::add);
+        if (rows.isEmpty() && offset > 0) {
+            // page is out of range, total still has to be known
+            final List<BindingSet> firstRow = new ArrayList<>();
+            evaluateTupleQuery(repo, loadChildrenPageQuery(0, 1), FIND_CHILDREN_PAGE, bindings, firstRow::add);
+            return new ChildrenRows(rows, firstRow.isEmpty() ? 0 : getTotal(firstRow.get(0)));
+        }
+        return new ChildrenRows(rows, rows.isEmpty() ? 0 : getTotal(rows.get(0)));
+    }
+
+    private String loadChildrenPageQuery(long offset, long limit) throws MetadataRepositoryException {
+        try {
+            return format(PAGE_SUFFIX, loadSparqlQuery(FIND_CHILDREN_PAGE, AbstractMetadataRepository.class),
+                    offset, limit);
+        }
+        catch (IOException exception) {
+            throw new MetadataRepositoryException(format(MSG_ERROR_SPARQL_LOAD, FIND_CHILDREN_PAGE,
+                    exception.getMessage()));
+        }
+    }
+
+    private static long getTotal(BindingSet row) {
+        return ((Literal) row.getValue(FIELD_TOTAL)).longValue();
+    }
 
-        for (var result : results) {
-            final String childUri = result.getValue(FIELD_CHILD).stringValue();
-            final String title = result.getValue(FIELD_TITLE).stringValue();
-            if (childUri != null && title != null) {
-                titles.put(childUri, title);
+    public List<MetadataAncestor> findAncestors(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        final Map<IRI, AncestorValues> found = new HashMap<>();
+        final Set<IRI> queried = new HashSet<>();
+        final Set<IRI> visited = new HashSet<>();
+        final List<MetadataAncestor> ancestors = new ArrayList<>();
+        IRI current = uri;
+        while (current != null && visited.add(current)) {
+            AncestorValues values = found.get(current);
+            if ((values == null || values.isEmpty()) && queried.add(current)) {
+                // with more repositories, the chain may continue in a graph the previous query could not reach
+                collectAncestors(current, mode, found);
+                values = found.get(current);
+            }
+            if (values == null || values.isEmpty()) {
+                break;
             }
+            ancestors.add(new MetadataAncestor(current, values.parent,
+                    ofNullable(values.title).map(Value::stringValue).orElse(null), List.copyOf(values.types)));
+            current = values.parent;
         }
+        return ancestors;
+    }
 
-        return titles;
+    /**
+     * Collects the whole subtree below the given record (excluding the record itself).
+     *
+     * <p>Children are linked from their parent by one of the child relations or, as a fallback, by their own
+     * {@code dct:isPartOf}. The links of all repositories of the mode are collected first, so the subtree is
+     * followed also where a parent and its child are stored in different repositories.</p>
+     *
+     * @param uri       URI of the subtree root
+     * @param relations child relations of the resource definitions in the subtree
+     * @param mode      repository mode
+     * @return URIs of all descendants
+     * @throws MetadataRepositoryException in case of repository failure
+     */
+    public List<IRI> findDescendants(IRI uri, Collection<IRI> relations, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        final Map<IRI, List<IRI>> children = new HashMap<>();
+        evaluateTupleQuery(loadChildLinksQuery(relations), FIND_CHILD_LINKS, Map.of(), mode, row -> {
+            if (row.getValue(FIELD_CHILD) instanceof IRI child && row.getValue(FIELD_PARENT) instanceof IRI parent) {
+                children.computeIfAbsent(parent, key -> new ArrayList<>()).add(child);
+            }
+        });
+        final Set<IRI> descendants = new LinkedHashSet<>();
+        final Deque<IRI> roots = new ArrayDeque<>(List.of(uri));
+        while (!roots.isEmpty()) {
+            for (IRI child : children.getOrDefault(roots.poll(), List.of())) {
+                if (!child.equals(uri) && descendants.add(child)) {
+                    roots.add(child);
+                }
+            }
+        }
+        return List.copyOf(descendants);
+    }
+
+    private String loadChildLinksQuery(Collection<IRI> relations) throws MetadataRepositoryException {
+        // dct:hasPart is always included, so that the values are never empty
+        final Set<IRI> values = new LinkedHashSet<>(relations);
+        values.add(DCTERMS.HAS_PART);
+        try {
+            return loadSparqlQuery(FIND_CHILD_LINKS, AbstractMetadataRepository.class) + values
+                    .stream()
+                    .map(NTriplesUtil::toNTriplesString)
+                    .collect(Collectors.joining(" ", VALUES_RELATION_PREFIX, VALUES_RELATION_SUFFIX));
+        }
+        catch (IOException exception) {
+            throw new MetadataRepositoryException(format(MSG_ERROR_SPARQL_LOAD, FIND_CHILD_LINKS,
+                    exception.getMessage()));
+        }
+    }
+
+    public List<MetadataTreeNode> findTree(RepositoryMode mode) throws MetadataRepositoryException {
+        final List<Map<IRI, MetadataTreeNode>> results = readExecutor.invokeAll(getRepositoryModes(mode)
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<Map<IRI, MetadataTreeNode>>>map(repositoryMode ->
+                        () -> findTreeNodes(repositoryMode))
+                .toList());
+        // drafts come last, so a record present in both repositories is reported as draft
+        final Map<IRI, MetadataTreeNode> nodes = new LinkedHashMap<>();
+        results.forEach(nodes::putAll);
+        return List.copyOf(nodes.values());
+    }
+
+    private Map<IRI, MetadataTreeNode> findTreeNodes(RepositoryMode mode) throws MetadataRepositoryException {
+        final Map<IRI, MetadataTreeNode> nodes = new LinkedHashMap<>();
+        runSparqlQuery(FIND_TREE, AbstractMetadataRepository.class, Map.of(), mode, row -> {
+            if (row.getValue(FIELD_ENTITY) instanceof IRI entity && row.getValue(FIELD_PARENT) instanceof IRI parent) {
+                final MetadataTreeNode node = nodes.computeIfAbsent(entity, key ->
+                        new MetadataTreeNode(entity, parent, null, mode == RepositoryMode.DRAFTS));
+                final Value title = row.getValue(FIELD_TITLE);
+                if (title != null && (node.getTitle() == null || title.stringValue().compareTo(node.getTitle()) < 0)) {
+                    node.setTitle(title.stringValue());
+                }
+            }
+        });
+        return nodes;
+    }
+
+    private void collectAncestors(IRI start, RepositoryMode mode, Map<IRI, AncestorValues> found)
+            throws MetadataRepositoryException {
+        runSparqlQuery(FIND_ANCESTORS, AbstractMetadataRepository.class, Map.of(FIELD_ENTITY, start), mode, row -> {
+            if (row.getValue(FIELD_ANCESTOR) instanceof IRI ancestor) {
+                found.computeIfAbsent(ancestor, key -> new AncestorValues()).add(row);
+            }
+        });
     }
 
     public boolean checkExistence(Resource subject, IRI predicate, Value object, RepositoryMode mode)
             throws MetadataRepositoryException {
-        for (final Repository repo : getRepositories(mode)) {
-            try (RepositoryConnection conn = repo.getConnection()) {
-                if (conn.hasStatement(subject, predicate, object, false)) {
-                    return true;
+        return readExecutor.anyMatch(getRepositories(mode)
+                .stream()
+                .<CombinedReadExecutor.RepositoryRead<Boolean>>map(repo -> () -> {
+                    try (RepositoryConnection conn = repo.getConnection()) {
+                        return conn.hasStatement(subject, predicate, object, false);
+                    }
+                    catch (RepositoryException exception) {
+                        throw new MetadataRepositoryException(MSG_ERROR_EXISTS + exception.getMessage());
+                    }
+                })
+                .toList());
+    }
+
+    public Set<IRI> findExistingContexts(Collection<IRI> contexts, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        final Set<IRI> existing = new HashSet<>();
+        for (RepositoryMode repositoryMode : getRepositoryModes(mode)) {
+            final List<IRI> unknown = new ArrayList<>();
+            for (IRI context : contexts) {
+                final List<Statement> cached = statementCache.getIfPresent(context, repositoryMode);
+                if (cached == null && !existing.contains(context)) {
+                    unknown.add(context);
+                }
+                else if (cached != null && !cached.isEmpty()) {
+                    existing.add(context);
+                }
+            }
+            if (unknown.isEmpty()) {
+                continue;
+            }
+            // probes the context index only, graphs are not read
+            try (RepositoryConnection conn = getRepositories(repositoryMode).get(0).getConnection()) {
+                for (IRI context : unknown) {
+                    if (conn.hasStatement(null, null, null, false, context)) {
+                        existing.add(context);
+                    }
                 }
             }
             catch (RepositoryException exception) {
                 throw new MetadataRepositoryException(MSG_ERROR_EXISTS + exception.getMessage());
             }
         }
-        return false;
+        return existing;
+    }
+
+    public MetadataUnitOfWork beginUnitOfWork() {
+        return new MetadataUnitOfWork(this);
     }
 
     public void save(List<Statement> statements, IRI context, RepositoryMode mode) throws MetadataRepositoryException {
-        if (mode.equals(RepositoryMode.COMBINED)) {
-            throw new MetadataRepositoryException("Save called on COMBINED repository");
-        }
-        for (final Repository repo : getRepositories(mode)) {
-            try (RepositoryConnection conn = repo.getConnection()) {
-                conn.add(statements, context);
-            }
-            catch (RepositoryException exception) {
-                throw new MetadataRepositoryException(MSG_ERROR_SAVE + exception.getMessage());
-            }
-        }
+        beginUnitOfWork().save(statements, context, mode).commit();
     }
 
     public void removeAll(RepositoryMode mode) throws MetadataRepositoryException {
@@ -244,79 +914,145 @@ public abstract class AbstractMetadataRepository {
             catch (RepositoryException exception) {
                 throw new MetadataRepositoryException(MSG_ERROR_REMOVE_ALL + exception.getMessage());
             }
+            finally {
+                statementCache.invalidateAll();
+            }
         }
+        commitListeners.forEach(MetadataCommitListener::invalidate);
+        if (mode != RepositoryMode.DRAFTS) {
+            fullTextIndex.clear();
+        }
+        publishChange(null);
     }
 
     public void remove(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
-        removeStatement(null, null, null, uri, mode);
+        beginUnitOfWork().remove(uri, mode).commit();
     }
 
     public void removeStatement(Resource subject, IRI predicate, Value object, IRI context, RepositoryMode mode)
             throws MetadataRepositoryException {
-        for (final Repository repo : getRepositories(mode)) {
-            try (RepositoryConnection conn = repo.getConnection()) {
-                conn.remove(subject, predicate, object, context);
-            }
-            catch (RepositoryException exception) {
-                throw new MetadataRepositoryException(MSG_ERROR_REMOVE);
-            }
-        }
+        beginUnitOfWork().removeStatement(subject, predicate, object, context, mode).commit();
     }
 
     public List<BindingSet> runSparqlQuery(String queryName, Class repositoryType,
                                            Map<String, Value> bindings, RepositoryMode mode)
             throws MetadataRepositoryException {
         final List<BindingSet> result = new ArrayList<>();
-        for (final Repository repo : getRepositories(mode)) {
-            try (RepositoryConnection conn = repo.getConnection()) {
-                final String queryString = loadSparqlQuery(queryName, repositoryType);
-                final TupleQuery query = conn.prepareTupleQuery(queryString);
-                bindings.forEach(query::setBinding);
-                try (TupleQueryResult repoResult = query.evaluate()) {
-                    result.addAll(repoResult.stream().toList());
-                }
-            }
-            catch (RepositoryException exception) {
-                throw new MetadataRepositoryException(MSG_ERROR_URI + exception.getMessage());
-            }
-            catch (IOException exception) {
-                throw new MetadataRepositoryException(format(MSG_ERROR_SPARQL_LOAD, queryName,
-                        exception.getMessage()));
-            }
-        }
+        runSparqlQuery(queryName, repositoryType, bindings, mode, result::add);
         return result;
     }
 
+    public void runSparqlQuery(String queryName, Class repositoryType, Map<String, Value> bindings,
+                               RepositoryMode mode, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException {
+        final String queryString;
+        try {
+            queryString = loadSparqlQuery(queryName, repositoryType);
+        }
+        catch (IOException exception) {
+            throw new MetadataRepositoryException(format(MSG_ERROR_SPARQL_LOAD, queryName,
+                    exception.getMessage()));
+        }
+        evaluateTupleQuery(queryString, queryName, bindings, mode, consumer);
+    }
+
     public List<BindingSet> runSparqlQuery(String queryString, RepositoryMode mode) throws MetadataRepositoryException {
         final List<BindingSet> result = new ArrayList<>();
-        for (final Repository repo : getRepositories(mode)) {
-            try (RepositoryConnection conn = repo.getConnection()) {
-                final TupleQuery query = conn.prepareTupleQuery(queryString);
-                try (TupleQueryResult repoResult = query.evaluate()) {
-                    result.addAll(repoResult.stream().toList());
+        runSparqlQuery(queryString, mode, result::add);
+        return result;
+    }
+
+    public void runSparqlQuery(String queryString, RepositoryMode mode, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException {
+        evaluateTupleQuery(queryString, null, Map.of(), mode, consumer);
+    }
+
+    private void evaluateTupleQuery(String queryString, String queryName, Map<String, Value> bindings,
+                                    RepositoryMode mode, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException {
+        final List<Repository> repositories = getRepositories(mode);
+        if (repositories.size() == 1) {
+            evaluateTupleQuery(repositories.get(0), queryString, queryName, bindings, consumer);
+            return;
+        }
+        final List<CombinedReadExecutor.RepositoryRead<List<BindingSet>>> reads = new ArrayList<>();
+        // the first repository streams into the consumer, results of the others are passed on in order afterward
+        reads.add(() -> {
+            evaluateTupleQuery(repositories.get(0), queryString, queryName, bindings, consumer);
+            return List.of();
+        });
+        for (final Repository repo : repositories.subList(1, repositories.size())) {
+            reads.add(() -> {
+                final List<BindingSet> result = new ArrayList<>();
+                evaluateTupleQuery(repo, queryString, queryName, bindings, result::add);
+                return result;
+            });
+        }
+        readExecutor.invokeAll(reads).forEach(result -> result.forEach(consumer));
+    }
+
+    private void evaluateTupleQuery(Repository repo, String queryString, String queryName,
+                                    Map<String, Value> bindings, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException {
+        final long start = System.nanoTime();
+        try (RepositoryConnection conn = repo.getConnection()) {
+            final TupleQuery query = conn.prepareTupleQuery(queryString);
+            bindings.forEach(query::setBinding);
+            try (TupleQueryResult repoResult = query.evaluate()) {
+                while (repoResult.hasNext()) {
+                    consumer.accept(repoResult.next());
                 }
             }
-            catch (RepositoryException exception) {
-                throw new MetadataRepositoryException(MSG_ERROR_URI + exception.getMessage());
+        }
+        catch (RepositoryException exception) {
+            throw new MetadataRepositoryException(MSG_ERROR_URI + exception.getMessage());
+        }
+        finally {
+            if (queryName != null) {
+                queryRegistry.record(queryName, System.nanoTime() - start);
             }
         }
-        return result;
     }
 
     protected String loadSparqlQuery(String queryName, Class repositoryType) throws IOException {
-        final URL fileURL = repositoryType.getResource(queryName);
-        return Resources.toString(fileURL, StandardCharsets.UTF_8);
+        return queryRegistry.getQuery(queryName, repositoryType);
+    }
+
+    private record ChildrenRows(List<BindingSet> rows, long total) {
+    }
+
+    private static final class AncestorValues {
+
+        private IRI parent;
+
+        private Value title;
+
+        private final Set<IRI> types = new LinkedHashSet<>();
+
+        private void add(BindingSet row) {
+            if (row.getValue(FIELD_PARENT) instanceof IRI rowParent
+                    && (parent == null || VALUE_COMPARATOR.compare(rowParent, parent) < 0)) {
+                parent = rowParent;
+            }
+            final Value rowTitle = row.getValue(FIELD_TITLE);
+            if (rowTitle != null && (title == null || VALUE_COMPARATOR.compare(rowTitle, title) < 0)) {
+                title = rowTitle;
+            }
+            if (row.getValue(FIELD_TYPE_VARIABLE) instanceof IRI type) {
+                types.add(type);
+            }
+        }
+
+        private boolean isEmpty() {
+            return parent == null && title == null && types.isEmpty();
+        }
     }
 
     public void moveToMain(IRI context) throws MetadataRepositoryException {
-        final List<Statement> statements = find(context, RepositoryMode.DRAFTS);
-        save(statements, context, RepositoryMode.MAIN);
-        remove(context, RepositoryMode.DRAFTS);
+        beginUnitOfWork().moveToMain(context).commit();
     }
 
     public void moveToDrafts(IRI context) throws MetadataRepositoryException {
-        final List<Statement> statements = find(context, RepositoryMode.MAIN);
-        save(statements, context, RepositoryMode.DRAFTS);
-        remove(context, RepositoryMode.MAIN);
+        beginUnitOfWork().moveToDrafts(context).commit();
     }
 }
@@ -0,0 +1,138 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import org.fairdatapoint.config.properties.RepositoryProperties;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static java.lang.String.format;
+
+/**
+ * Runs the per-repository branches of a COMBINED read (main and drafts) concurrently
+ * on a bounded executor. Results are always returned in the order of the branches.
+ */
+@Component
+public class CombinedReadExecutor {
+
+    private static final String MSG_ERROR_INTERRUPTED = "Interrupted while reading repositories: %s";
+
+    private final ExecutorService executor;
+
+    private final boolean parallel;
+
+    public CombinedReadExecutor(@Qualifier("repositoryReadExecutor") ExecutorService executor,
+                                RepositoryProperties repositoryProperties) {
+        this.executor = executor;
+        this.parallel = repositoryProperties.getRead().isParallel();
+    }
+
+    public <T> List<T> invokeAll(List<RepositoryRead<T>> reads) throws MetadataRepositoryException {
+        final List<T> results = new ArrayList<>(reads.size());
+        if (!parallel || reads.size() < 2) {
+            for (RepositoryRead<T> read : reads) {
+                results.add(read.read());
+            }
+            return results;
+        }
+        final List<Future<T>> futures = new ArrayList<>(reads.size());
+        try {
+            for (RepositoryRead<T> read : reads.subList(1, reads.size())) {
+                futures.add(executor.submit(read::read));
+            }
+            // the first branch runs on the calling thread
+            results.add(reads.get(0).read());
+            for (Future<T> future : futures) {
+                results.add(await(future));
+            }
+            return results;
+        }
+        finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    public boolean anyMatch(List<RepositoryRead<Boolean>> reads) throws MetadataRepositoryException {
+        if (!parallel || reads.size() < 2) {
+            for (RepositoryRead<Boolean> read : reads) {
+                if (read.read()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final CompletionService<Boolean> completionService = new ExecutorCompletionService<>(executor);
+        final List<Future<Boolean>> futures = new ArrayList<>(reads.size());
+        try {
+            for (RepositoryRead<Boolean> read : reads) {
+                futures.add(completionService.submit(read::read));
+            }
+            for (int i = 0; i < reads.size(); i++) {
+                if (await(completionService.take())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MetadataRepositoryException(format(MSG_ERROR_INTERRUPTED, exception.getMessage()));
+        }
+        finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> T await(Future<T> future) throws MetadataRepositoryException {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MetadataRepositoryException(format(MSG_ERROR_INTERRUPTED, exception.getMessage()));
+        }
+        catch (ExecutionException exception) {
+            if (exception.getCause() instanceof MetadataRepositoryException repositoryException) {
+                throw repositoryException;
+            }
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MetadataRepositoryException(exception.getCause().getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    public interface RepositoryRead<T> {
+        T read() throws MetadataRepositoryException;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+
+import java.util.List;
+
+/**
+ * Keeps data derived from metadata graphs in sync with committed writes.
+ */
+public interface MetadataCommitListener {
+
+    /**
+     * Called after a write to the given context has been committed.
+     *
+     * @param context          URI of the changed graph
+     * @param mainStatements   current graph in the main repository, {@code null} if statements are not required
+     * @param draftsStatements current graph in the drafts repository, {@code null} if statements are not required
+     */
+    void committed(IRI context, List<Statement> mainStatements, List<Statement> draftsStatements);
+
+    /**
+     * Tells whether the listener needs the current graphs, graphs are not read from the store for listeners
+     * that only need to know which graphs have changed.
+     *
+     * @return {@code true} if the statements are passed to {@link #committed(IRI, List, List)}
+     */
+    default boolean isStatementsRequired() {
+        return true;
+    }
+
+    /**
+     * Called when an unknown set of graphs has changed.
+     */
+    void invalidate();
+}
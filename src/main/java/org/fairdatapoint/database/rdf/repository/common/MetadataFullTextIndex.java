@@ -0,0 +1,377 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.IOUtils;
+import org.fairdatapoint.config.properties.RepositoryFullTextProperties;
+import org.fairdatapoint.config.properties.RepositoryProperties;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.fairdatapoint.util.ValueFactoryHelper.l;
+
+/**
+ * Optional Lucene index of the literals of published (main repository) metadata.
+ *
+ * <p>The index holds one document per literal statement and is kept up to date by committed metadata
+ * writes. When it is disabled (default) or unavailable, searching falls back to the SPARQL filter query.</p>
+ *
+ * <p>A {@link Rebuild} writes a complete new index aside and replaces the current one at once, so that
+ * searches are served from the current index until then. Updates committed during the rebuild are applied
+ * to both indexes. Rebuilds requested with {@link #rebuildAsync(Runnable)} run one at a time in background,
+ * requests made while a rebuild is waiting to start are merged into it.</p>
+ */
+@Slf4j
+@Component
+public class MetadataFullTextIndex {
+
+    private static final String FIELD_CONTEXT = "context";
+    private static final String FIELD_ENTITY = "entity";
+    private static final String FIELD_PREDICATE = "predicate";
+    private static final String FIELD_VALUE = "value";
+
+    private static final float EXACT_TERM_BOOST = 2.0f;
+
+    private static final String REBUILD_DIR_PREFIX = "fdp-full-text-rebuild";
+
+    private final RepositoryFullTextProperties properties;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    private boolean restored;
+
+    private final Object lock = new Object();
+
+    private final Set<Rebuild> rebuilds = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService rebuildExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("full-text-rebuild-"));
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public MetadataFullTextIndex(RepositoryProperties repositoryProperties) {
+        this.properties = repositoryProperties.getFullText();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getDir().isEmpty()) {
+            log.info("Setting up in-memory full-text index");
+            directory = new ByteBuffersDirectory();
+        }
+        else {
+            log.info("Setting up full-text index in {}", properties.getDir());
+            directory = FSDirectory.open(Path.of(properties.getDir()));
+            restored = DirectoryReader.indexExists(directory);
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        rebuildExecutor.shutdownNow();
+        if (searcherManager != null) {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return searcherManager != null;
+    }
+
+    /**
+     * Tells whether the index was opened from an existing index on disk and thus does not need to be built.
+     *
+     * @return {@code true} if a persisted index was found on startup
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    public void update(Map<IRI, List<Statement>> graphs) {
+        if (!isEnabled() || graphs.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                rebuilds.forEach(rebuild -> rebuild.pendingUpdates.add(Map.copyOf(graphs)));
+                write(writer, graphs);
+                writer.commit();
+                searcherManager.maybeRefresh();
+            }
+            catch (IOException exception) {
+                log.error("Failed to update full-text index: {}", exception.getMessage());
+            }
+        }
+    }
+
+    public void clear() {
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                writer.deleteAll();
+                writer.commit();
+                searcherManager.maybeRefresh();
+            }
+            catch (IOException exception) {
+                log.error("Failed to clear full-text index: {}", exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts building a new index, the index has to be enabled.
+     *
+     * @return rebuild to be filled with all graphs and committed
+     * @throws IOException in case the new index cannot be created
+     */
+    public Rebuild startRebuild() throws IOException {
+        return new Rebuild();
+    }
+
+    /**
+     * Schedules a rebuild in background, the current index is searched until the rebuild replaces it.
+     * Nothing is scheduled if a rebuild is already waiting to start, as it will read the same data.
+     *
+     * @param rebuild task reading all graphs into a new {@link Rebuild}
+     */
+    public void rebuildAsync(Runnable rebuild) {
+        if (!isEnabled() || !rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                rebuildPending.set(false);
+                rebuild.run();
+            });
+        }
+        catch (RejectedExecutionException exception) {
+            rebuildPending.set(false);
+            log.debug("Full-text index rebuild skipped: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Searches literals containing all the words of the query (the last word may be incomplete).
+     *
+     * @param queryText text to search for
+     * @return matching literals, best match first
+     * @throws IOException in case the index cannot be read
+     */
+    public List<FullTextHit> search(String queryText) throws IOException {
+        final List<FullTextHit> hits = new ArrayList<>();
+        final List<String> terms = analyze(queryText);
+        if (terms.isEmpty()) {
+            return hits;
+        }
+        final BooleanQuery.Builder query = new BooleanQuery.Builder();
+        final List<String> completeTerms = terms.subList(0, terms.size() - 1);
+        for (String term : completeTerms) {
+            query.add(new TermQuery(new Term(FIELD_VALUE, term)), BooleanClause.Occur.MUST);
+        }
+        final String lastTerm = terms.get(terms.size() - 1);
+        final Query exact = new BoostQuery(new TermQuery(new Term(FIELD_VALUE, lastTerm)), EXACT_TERM_BOOST);
+        final Query prefix = new PrefixQuery(new Term(FIELD_VALUE, lastTerm));
+        query.add(new BooleanQuery.Builder()
+                .add(exact, BooleanClause.Occur.SHOULD)
+                .add(prefix, BooleanClause.Occur.SHOULD)
+                .build(), BooleanClause.Occur.MUST);
+        final IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (ScoreDoc scoreDoc : searcher.search(query.build(), properties.getMaximumResults()).scoreDocs) {
+                final Document document = searcher.storedFields().document(scoreDoc.doc);
+                hits.add(new FullTextHit(
+                        i(document.get(FIELD_CONTEXT)),
+                        i(document.get(FIELD_ENTITY)),
+                        i(document.get(FIELD_PREDICATE)),
+                        l(document.get(FIELD_VALUE)),
+                        scoreDoc.score
+                ));
+            }
+        }
+        finally {
+            searcherManager.release(searcher);
+        }
+        return hits;
+    }
+
+    private void write(IndexWriter indexWriter, Map<IRI, List<Statement>> graphs) throws IOException {
+        for (Map.Entry<IRI, List<Statement>> graph : graphs.entrySet()) {
+            indexWriter.deleteDocuments(new Term(FIELD_CONTEXT, graph.getKey().stringValue()));
+            indexWriter.addDocuments(toDocuments(graph.getKey(), graph.getValue()));
+        }
+    }
+
+    private List<Document> toDocuments(IRI context, List<Statement> statements) {
+        final List<Document> documents = new ArrayList<>();
+        for (Statement statement : statements) {
+            if (statement.getObject() instanceof Literal literal && statement.getSubject() instanceof IRI) {
+                final Document document = new Document();
+                document.add(new StringField(FIELD_CONTEXT, context.stringValue(), Field.Store.YES));
+                document.add(new StoredField(FIELD_ENTITY, statement.getSubject().stringValue()));
+                document.add(new StoredField(FIELD_PREDICATE, statement.getPredicate().stringValue()));
+                document.add(new TextField(FIELD_VALUE, literal.getLabel(), Field.Store.YES));
+                documents.add(document);
+            }
+        }
+        return documents;
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        final List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_VALUE, text)) {
+            final CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    /**
+     * New index written aside the current one. Closing a rebuild that was not committed discards it.
+     */
+    public final class Rebuild implements Closeable {
+
+        private final List<Map<IRI, List<Statement>>> pendingUpdates = new ArrayList<>();
+
+        private final Path rebuildPath;
+
+        private final Directory rebuildDirectory;
+
+        private final IndexWriter rebuildWriter;
+
+        private Rebuild() throws IOException {
+            if (properties.getDir().isEmpty()) {
+                rebuildPath = null;
+                rebuildDirectory = new ByteBuffersDirectory();
+            }
+            else {
+                rebuildPath = Files.createTempDirectory(REBUILD_DIR_PREFIX);
+                rebuildDirectory = FSDirectory.open(rebuildPath);
+            }
+            rebuildWriter = new IndexWriter(rebuildDirectory, new IndexWriterConfig(analyzer));
+            rebuilds.add(this);
+        }
+
+        public void add(Map<IRI, List<Statement>> graphs) throws IOException {
+            write(rebuildWriter, graphs);
+        }
+
+        /**
+         * Replaces the current index with the rebuilt one, including updates committed in the meantime.
+         *
+         * @throws IOException in case the index cannot be written
+         */
+        public void commit() throws IOException {
+            synchronized (lock) {
+                rebuilds.remove(this);
+                for (Map<IRI, List<Statement>> graphs : pendingUpdates) {
+                    write(rebuildWriter, graphs);
+                }
+                rebuildWriter.close();
+                writer.deleteAll();
+                writer.addIndexes(rebuildDirectory);
+                writer.commit();
+                searcherManager.maybeRefresh();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rebuilds.remove(this);
+            if (rebuildWriter.isOpen()) {
+                rebuildWriter.rollback();
+            }
+            rebuildDirectory.close();
+            if (rebuildPath != null) {
+                IOUtils.rm(rebuildPath);
+            }
+        }
+    }
+
+    public record FullTextHit(IRI context, IRI entity, IRI predicate, Literal value, float score) {
+    }
+}
@@ -29,13 +29,21 @@ package org.fairdatapoint.database.rdf.repository.common;
 
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
+import org.fairdatapoint.entity.metadata.MetadataChildrenPage;
+import org.fairdatapoint.entity.metadata.MetadataTreeNode;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.search.SearchFilterValue;
 import org.fairdatapoint.entity.search.SearchResult;
 import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.rio.RDFHandler;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface MetadataRepository {
 
@@ -43,8 +51,19 @@ public interface MetadataRepository {
 
     List<Statement> find(IRI context, RepositoryMode mode) throws MetadataRepositoryException;
 
+    void find(IRI context, RepositoryMode mode, RDFHandler handler) throws MetadataRepositoryException;
+
+    Map<IRI, List<Statement>> findAll(Collection<IRI> contexts, RepositoryMode mode)
+            throws MetadataRepositoryException;
+
     List<SearchResult> findByLiteral(Literal query, RepositoryMode mode) throws MetadataRepositoryException;
 
+    void reindexFullText() throws MetadataRepositoryException;
+
+    void reindexFullTextAsync();
+
+    void refresh(Set<IRI> contexts) throws MetadataRepositoryException;
+
     List<SearchResult> findBySparqlQuery(String query, RepositoryMode mode) throws MetadataRepositoryException;
 
     List<SearchFilterValue> findByFilterPredicate(IRI predicateUri, RepositoryMode mode)
@@ -53,9 +72,29 @@ public interface MetadataRepository {
     Map<String, String> findChildTitles(IRI parent, IRI relation, RepositoryMode mode)
             throws MetadataRepositoryException;
 
+    MetadataChildrenPage findChildren(IRI parent, IRI relation, String childPrefix, long offset, int limit,
+                                      RepositoryMode mode) throws MetadataRepositoryException;
+
+    List<MetadataAncestor> findAncestors(IRI uri, RepositoryMode mode) throws MetadataRepositoryException;
+
+    List<IRI> findDescendants(IRI uri, Collection<IRI> relations, RepositoryMode mode)
+            throws MetadataRepositoryException;
+
+    List<MetadataTreeNode> findTree(RepositoryMode mode) throws MetadataRepositoryException;
+
     boolean checkExistence(Resource subject, IRI predicate, Value object, RepositoryMode mode)
             throws MetadataRepositoryException;
 
+    Set<IRI> findExistingContexts(Collection<IRI> contexts, RepositoryMode mode) throws MetadataRepositoryException;
+
+    MetadataVersion findVersion(IRI uri, RepositoryMode mode) throws MetadataRepositoryException;
+
+    MetadataGraph findGraph(IRI uri, RepositoryMode mode) throws MetadataRepositoryException;
+
+    Map<IRI, MetadataGraph> findGraphs(Collection<IRI> uris, RepositoryMode mode) throws MetadataRepositoryException;
+
+    MetadataUnitOfWork beginUnitOfWork();
+
     void save(List<Statement> statements, IRI context, RepositoryMode mode) throws MetadataRepositoryException;
 
     void removeAll(RepositoryMode mode) throws MetadataRepositoryException;
@@ -69,6 +108,15 @@ public interface MetadataRepository {
                                     Map<String, Value> bindings, RepositoryMode mode)
             throws MetadataRepositoryException;
 
+    void runSparqlQuery(String queryName, Class repositoryType, Map<String, Value> bindings,
+                        RepositoryMode mode, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException;
+
+    List<BindingSet> runSparqlQuery(String queryString, RepositoryMode mode) throws MetadataRepositoryException;
+
+    void runSparqlQuery(String queryString, RepositoryMode mode, Consumer<BindingSet> consumer)
+            throws MetadataRepositoryException;
+
     void moveToDrafts(IRI context) throws MetadataRepositoryException;
 
     void moveToMain(IRI context) throws MetadataRepositoryException;
@@ -0,0 +1,291 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.config.properties.RepositoryCacheProperties;
+import org.fairdatapoint.config.properties.RepositoryProperties;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
+import org.fairdatapoint.vocabulary.FDP;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Write-through cache of named graphs stored in the main and drafts repositories.
+ *
+ * <p>Entries are immutable statement lists keyed by context and (non-combined) repository mode, stored
+ * together with their content version computed once when the graph is loaded. Loads of a context hold
+ * a shared lock stripe, invalidation holds the exclusive one, so a load that raced with a write can never
+ * re-populate the cache with the graph as it was before the write.</p>
+ */
+@Slf4j
+@Component
+public class MetadataStatementCache {
+
+    private static final String CACHE_NAME = "metadataStatements";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private static final HashFunction STATEMENT_HASH = Hashing.murmur3_128();
+
+    private final Cache<CacheKey, MetadataGraph> cache;
+
+    private final Striped<ReadWriteLock> locks = Striped.readWriteLock(LOCK_STRIPES);
+
+    private final boolean enabled;
+
+    public MetadataStatementCache(RepositoryProperties repositoryProperties,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        final RepositoryCacheProperties properties = repositoryProperties.getCache();
+        this.enabled = properties.isEnabled();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(properties.getMaximumStatements())
+                .weigher((CacheKey key, MetadataGraph value) -> Math.max(1, value.statements().size()))
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> GuavaCacheMetrics.monitor(registry, cache, CACHE_NAME));
+        log.info("Metadata statement cache {} (maximum statements: {})",
+                enabled ? "enabled" : "disabled", properties.getMaximumStatements());
+    }
+
+    public List<Statement> get(IRI context, RepositoryMode mode, StatementLoader loader)
+            throws MetadataRepositoryException {
+        return getGraph(context, mode, loader).statements();
+    }
+
+    /**
+     * Returns the content version of a graph, it is known without loading the graph if the graph is cached.
+     *
+     * <p>The version is an order-independent hash of the statements, so it is the same on every node
+     * serving the same data.</p>
+     */
+    public MetadataVersion getVersion(IRI context, RepositoryMode mode, StatementLoader loader)
+            throws MetadataRepositoryException {
+        return getGraph(context, mode, loader).version();
+    }
+
+    public MetadataGraph getGraph(IRI context, RepositoryMode mode, StatementLoader loader)
+            throws MetadataRepositoryException {
+        if (!enabled || context == null) {
+            return toGraph(context, loader.load());
+        }
+        final CacheKey key = new CacheKey(context, mode);
+        final MetadataGraph cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Lock lock = locks.get(context).readLock();
+        lock.lock();
+        try {
+            final MetadataGraph graph = toGraph(context, loader.load());
+            cache.put(key, graph);
+            return graph;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<IRI, List<Statement>> getAll(Collection<IRI> contexts, RepositoryMode mode,
+                                            BulkStatementLoader loader)
+            throws MetadataRepositoryException {
+        final Map<IRI, List<Statement>> result = new LinkedHashMap<>();
+        getAllGraphs(contexts, mode, loader).forEach((context, graph) -> result.put(context, graph.statements()));
+        return result;
+    }
+
+    public Map<IRI, MetadataGraph> getAllGraphs(Collection<IRI> contexts, RepositoryMode mode,
+                                                BulkStatementLoader loader)
+            throws MetadataRepositoryException {
+        final Map<IRI, MetadataGraph> result = new LinkedHashMap<>();
+        final List<IRI> missing = new ArrayList<>();
+        for (IRI context : contexts) {
+            final MetadataGraph cached = enabled && context != null
+                    ? cache.getIfPresent(new CacheKey(context, mode))
+                    : null;
+            if (cached != null) {
+                result.put(context, cached);
+            }
+            else {
+                missing.add(context);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        if (!enabled) {
+            final Map<IRI, List<Statement>> loaded = loader.load(missing);
+            missing.forEach(context -> result.put(context, toGraph(context, loaded.getOrDefault(context, List.of()))));
+            return result;
+        }
+        // stripes are returned in a fixed order, so concurrent bulk loads cannot deadlock
+        final List<Lock> missingLocks = locks.bulkGet(missing).stream().map(ReadWriteLock::readLock).toList();
+        missingLocks.forEach(Lock::lock);
+        try {
+            final Map<IRI, List<Statement>> loaded = loader.load(missing);
+            for (IRI context : missing) {
+                final MetadataGraph graph = toGraph(context, loaded.getOrDefault(context, List.of()));
+                cache.put(new CacheKey(context, mode), graph);
+                result.put(context, graph);
+            }
+            return result;
+        }
+        finally {
+            missingLocks.forEach(Lock::unlock);
+        }
+    }
+
+    public List<Statement> getIfPresent(IRI context, RepositoryMode mode) {
+        if (!enabled || context == null) {
+            return null;
+        }
+        final MetadataGraph cached = cache.getIfPresent(new CacheKey(context, mode));
+        return cached == null ? null : cached.statements();
+    }
+
+    public void invalidate(IRI context) {
+        if (context == null) {
+            invalidateAll();
+            return;
+        }
+        final Lock lock = locks.get(context).writeLock();
+        lock.lock();
+        try {
+            cache.invalidate(new CacheKey(context, RepositoryMode.MAIN));
+            cache.invalidate(new CacheKey(context, RepositoryMode.DRAFTS));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(IRI context, RepositoryMode mode) {
+        if (context == null) {
+            invalidateAll();
+            return;
+        }
+        final Lock lock = locks.get(context).writeLock();
+        lock.lock();
+        try {
+            cache.invalidate(new CacheKey(context, mode));
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (int index = 0; index < locks.size(); index++) {
+            locks.getAt(index).writeLock().lock();
+        }
+        try {
+            cache.invalidateAll();
+        }
+        finally {
+            for (int index = locks.size() - 1; index >= 0; index--) {
+                locks.getAt(index).writeLock().unlock();
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    private static MetadataGraph toGraph(IRI context, List<Statement> statements) {
+        final List<Statement> graph = List.copyOf(statements);
+        return new MetadataGraph(graph, computeVersion(context, graph));
+    }
+
+    private static MetadataVersion computeVersion(IRI context, List<Statement> statements) {
+        long version = statements.size();
+        Instant modified = null;
+        for (Statement statement : statements) {
+            version += STATEMENT_HASH.newHasher()
+                    .putUnencodedChars(statement.getSubject().stringValue())
+                    .putChar(' ')
+                    .putUnencodedChars(statement.getPredicate().stringValue())
+                    .putChar(' ')
+                    .putUnencodedChars(statement.getObject().toString())
+                    .hash()
+                    .asLong();
+            if (FDP.METADATAMODIFIED.equals(statement.getPredicate()) && statement.getSubject().equals(context)) {
+                modified = parseModified(statement.getObject().stringValue());
+            }
+        }
+        return new MetadataVersion(version, modified);
+    }
+
+    private static Instant parseModified(String value) {
+        try {
+            return OffsetDateTime.parse(value, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant();
+        }
+        catch (DateTimeParseException exception) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    public interface StatementLoader {
+        List<Statement> load() throws MetadataRepositoryException;
+    }
+
+    @FunctionalInterface
+    public interface BulkStatementLoader {
+        Map<IRI, List<Statement>> load(Collection<IRI> contexts) throws MetadataRepositoryException;
+    }
+
+    private record CacheKey(IRI context, RepositoryMode mode) {
+    }
+}
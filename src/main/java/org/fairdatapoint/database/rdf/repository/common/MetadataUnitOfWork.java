@@ -0,0 +1,240 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Batch of metadata writes committed together.
+ *
+ * <p>Operations are staged in order and applied on {@link #commit()} in a single transaction per repository
+ * (main first, drafts second). Statement caches are invalidated for all touched contexts of the repositories
+ * whose transaction was committed, and the full-text index is refreshed for the touched contexts of the main
+ * repository. Nothing is propagated for a repository whose transaction was rolled back.</p>
+ *
+ * <p>The two repositories cannot share a transaction: if the main transaction is committed and the drafts
+ * transaction fails, the main changes stay committed and are propagated, and the failure is reported with
+ * a message saying that only the main repository was committed.</p>
+ *
+ * <p>The unit of work keeps track of the resulting content of graphs that are cleared before being written,
+ * so that the content does not need to be read again from the store after the commit.</p>
+ */
+public class MetadataUnitOfWork {
+
+    private static final String MSG_ERROR_COMMIT = "Error committing changes: ";
+    private static final String MSG_ERROR_PARTIAL_COMMIT =
+            "Error committing drafts changes (main changes were committed): ";
+
+    private final AbstractMetadataRepository metadataRepository;
+
+    private final Map<RepositoryMode, List<Consumer<RepositoryConnection>>> operations =
+            new EnumMap<>(RepositoryMode.class);
+
+    private final Map<RepositoryMode, Set<IRI>> contexts = new EnumMap<>(RepositoryMode.class);
+
+    private final Map<RepositoryMode, Map<IRI, List<Statement>>> graphs = new EnumMap<>(RepositoryMode.class);
+
+    private boolean allContexts;
+
+    MetadataUnitOfWork(AbstractMetadataRepository metadataRepository) {
+        this.metadataRepository = metadataRepository;
+    }
+
+    public MetadataUnitOfWork save(List<Statement> statements, IRI context, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        if (mode.equals(RepositoryMode.COMBINED)) {
+            throw new MetadataRepositoryException("Save called on COMBINED repository");
+        }
+        final List<Statement> stagedStatements = List.copyOf(statements);
+        stage(mode, context, conn -> conn.add(stagedStatements, context));
+        final List<Statement> graph = getGraphs(mode).get(context);
+        if (graph != null) {
+            graph.addAll(stagedStatements);
+        }
+        return this;
+    }
+
+    public MetadataUnitOfWork remove(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
+        return removeStatement(null, null, null, uri, mode);
+    }
+
+    public MetadataUnitOfWork removeAll(Collection<IRI> uris, RepositoryMode mode)
+            throws MetadataRepositoryException {
+        if (uris.isEmpty()) {
+            return this;
+        }
+        final Resource[] stagedContexts = uris.toArray(new Resource[0]);
+        for (final RepositoryMode repositoryMode : metadataRepository.getRepositoryModes(mode)) {
+            stage(repositoryMode, uris, conn -> conn.clear(stagedContexts));
+            uris.forEach(uri -> getGraphs(repositoryMode).put(uri, new ArrayList<>()));
+        }
+        return this;
+    }
+
+    public MetadataUnitOfWork removeStatement(Resource subject, IRI predicate, Value object, IRI context,
+                                              RepositoryMode mode) throws MetadataRepositoryException {
+        final boolean wholeGraph = subject == null && predicate == null && object == null && context != null;
+        for (final RepositoryMode repositoryMode : metadataRepository.getRepositoryModes(mode)) {
+            stage(repositoryMode, context, conn -> conn.remove(subject, predicate, object, context));
+            if (wholeGraph) {
+                getGraphs(repositoryMode).put(context, new ArrayList<>());
+            }
+            else {
+                getGraphs(repositoryMode).remove(context);
+            }
+        }
+        return this;
+    }
+
+    public MetadataUnitOfWork moveToMain(IRI context) throws MetadataRepositoryException {
+        final List<Statement> statements = metadataRepository.find(context, RepositoryMode.DRAFTS);
+        remove(context, RepositoryMode.MAIN);
+        save(statements, context, RepositoryMode.MAIN);
+        return remove(context, RepositoryMode.DRAFTS);
+    }
+
+    public MetadataUnitOfWork moveToDrafts(IRI context) throws MetadataRepositoryException {
+        final List<Statement> statements = metadataRepository.find(context, RepositoryMode.MAIN);
+        remove(context, RepositoryMode.DRAFTS);
+        save(statements, context, RepositoryMode.DRAFTS);
+        return remove(context, RepositoryMode.MAIN);
+    }
+
+    public void commit() throws MetadataRepositoryException {
+        final Set<RepositoryMode> committedModes = EnumSet.noneOf(RepositoryMode.class);
+        try {
+            for (RepositoryMode mode : List.of(RepositoryMode.MAIN, RepositoryMode.DRAFTS)) {
+                final List<Consumer<RepositoryConnection>> repositoryOperations = operations.get(mode);
+                if (repositoryOperations == null) {
+                    continue;
+                }
+                try {
+                    commit(metadataRepository.getRepositories(mode).get(0), repositoryOperations);
+                }
+                catch (MetadataRepositoryException exception) {
+                    if (committedModes.isEmpty()) {
+                        throw exception;
+                    }
+                    propagate(committedModes);
+                    throw new MetadataRepositoryException(MSG_ERROR_PARTIAL_COMMIT + exception.getMessage());
+                }
+                committedModes.add(mode);
+            }
+            if (!committedModes.isEmpty()) {
+                propagate(committedModes);
+            }
+        }
+        finally {
+            operations.clear();
+            contexts.clear();
+            graphs.clear();
+            allContexts = false;
+        }
+    }
+
+    private void propagate(Set<RepositoryMode> committedModes) throws MetadataRepositoryException {
+        if (allContexts) {
+            metadataRepository.afterCommit(null);
+            return;
+        }
+        final boolean main = committedModes.contains(RepositoryMode.MAIN);
+        final boolean drafts = committedModes.contains(RepositoryMode.DRAFTS);
+        metadataRepository.afterCommit(new CommittedGraphs(
+                main ? Set.copyOf(getContexts(RepositoryMode.MAIN)) : Set.of(),
+                drafts ? Set.copyOf(getContexts(RepositoryMode.DRAFTS)) : Set.of(),
+                main ? copyGraphs(RepositoryMode.MAIN) : Map.of(),
+                drafts ? copyGraphs(RepositoryMode.DRAFTS) : Map.of()
+        ));
+    }
+
+    private void commit(Repository repository, List<Consumer<RepositoryConnection>> repositoryOperations)
+            throws MetadataRepositoryException {
+        try (RepositoryConnection conn = repository.getConnection()) {
+            conn.begin();
+            try {
+                repositoryOperations.forEach(operation -> operation.accept(conn));
+                conn.commit();
+            }
+            catch (RepositoryException exception) {
+                conn.rollback();
+                throw exception;
+            }
+        }
+        catch (RepositoryException exception) {
+            throw new MetadataRepositoryException(MSG_ERROR_COMMIT + exception.getMessage());
+        }
+    }
+
+    private void stage(RepositoryMode mode, IRI context, Consumer<RepositoryConnection> operation) {
+        operations.computeIfAbsent(mode, key -> new ArrayList<>()).add(operation);
+        if (context == null) {
+            allContexts = true;
+        }
+        else {
+            getContexts(mode).add(context);
+        }
+    }
+
+    private void stage(RepositoryMode mode, Collection<IRI> stagedContexts,
+                       Consumer<RepositoryConnection> operation) {
+        operations.computeIfAbsent(mode, key -> new ArrayList<>()).add(operation);
+        getContexts(mode).addAll(stagedContexts);
+    }
+
+    private Set<IRI> getContexts(RepositoryMode mode) {
+        return contexts.computeIfAbsent(mode, key -> new HashSet<>());
+    }
+
+    private Map<IRI, List<Statement>> getGraphs(RepositoryMode mode) {
+        return graphs.computeIfAbsent(mode, key -> new HashMap<>());
+    }
+
+    private Map<IRI, List<Statement>> copyGraphs(RepositoryMode mode) {
+        final Map<IRI, List<Statement>> result = new HashMap<>();
+        getGraphs(mode).forEach((context, graph) -> result.put(context, List.copyOf(new LinkedHashSet<>(graph))));
+        return result;
+    }
+
+    /**
+     * Contexts written by a committed unit of work.
+     *
+     * @param mainContexts   contexts written in the main repository
+     * @param draftsContexts contexts written in the drafts repository
+     * @param mainGraphs     resulting content of main graphs that is known without reading the store
+     * @param draftsGraphs   resulting content of drafts graphs that is known without reading the store
+     */
+    record CommittedGraphs(Set<IRI> mainContexts, Set<IRI> draftsContexts,
+                           Map<IRI, List<Statement>> mainGraphs, Map<IRI, List<Statement>> draftsGraphs) {
+    }
+}
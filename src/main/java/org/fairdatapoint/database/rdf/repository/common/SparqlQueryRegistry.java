@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import com.google.common.io.Resources;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.query.MalformedQueryException;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.parser.QueryParserUtil;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Registry of the SPARQL queries bundled with the metadata repositories.
+ *
+ * <p>All queries are read and parsed once on startup (an invalid query fails the startup) and their
+ * executions are timed per query.</p>
+ */
+@Slf4j
+@Component
+public class SparqlQueryRegistry {
+
+    private static final String QUERY_ROOT = "org/fairdatapoint/database/rdf/repository/";
+
+    private static final String QUERY_LOCATION = "classpath*:" + QUERY_ROOT + "**/*.sparql";
+
+    private static final String METER_NAME = "fdp.sparql.query";
+
+    private static final String TAG_QUERY = "query";
+
+    private static final String MSG_INVALID_QUERY = "Invalid SPARQL query %s (error: %s)";
+
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public SparqlQueryRegistry(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        final Resource[] resources = new PathMatchingResourcePatternResolver().getResources(QUERY_LOCATION);
+        for (Resource resource : resources) {
+            final String url = resource.getURL().toString();
+            final String key = url.substring(url.lastIndexOf(QUERY_ROOT));
+            queries.put(key, parse(key, resource.getURL()));
+        }
+        log.info("Loaded {} SPARQL queries", queries.size());
+    }
+
+    public String getQuery(String queryName, Class<?> repositoryType) throws IOException {
+        final String key = toKey(queryName, repositoryType);
+        final String query = queries.get(key);
+        if (query != null) {
+            return query;
+        }
+        final URL url = repositoryType.getResource(queryName);
+        if (url == null) {
+            throw new IOException(format("Query %s not found", key));
+        }
+        final String loadedQuery = parse(key, url);
+        queries.put(key, loadedQuery);
+        return loadedQuery;
+    }
+
+    public void record(String queryName, long durationNanos) {
+        timers
+                .computeIfAbsent(queryName, name -> Timer.builder(METER_NAME)
+                        .tag(TAG_QUERY, name)
+                        .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public Map<String, QueryStatistics> getStatistics() {
+        final Map<String, QueryStatistics> statistics = new TreeMap<>();
+        timers.forEach((name, timer) -> statistics.put(name, new QueryStatistics(
+                timer.count(),
+                timer.totalTime(TimeUnit.MILLISECONDS),
+                timer.max(TimeUnit.MILLISECONDS)
+        )));
+        return statistics;
+    }
+
+    private String parse(String key, URL url) throws IOException {
+        final String query = Resources.toString(url, StandardCharsets.UTF_8);
+        try {
+            QueryParserUtil.parseQuery(QueryLanguage.SPARQL, query, null);
+        }
+        catch (MalformedQueryException exception) {
+            throw new IllegalStateException(format(MSG_INVALID_QUERY, key, exception.getMessage()), exception);
+        }
+        return query;
+    }
+
+    private static String toKey(String queryName, Class<?> repositoryType) {
+        return repositoryType.getPackageName().replace('.', '/') + "/" + queryName;
+    }
+
+    public record QueryStatistics(long count, double totalMillis, double maxMillis) {
+    }
+}
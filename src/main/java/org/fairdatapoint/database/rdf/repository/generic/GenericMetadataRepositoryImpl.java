@@ -27,57 +27,23 @@
  */
 package org.fairdatapoint.database.rdf.repository.generic;
 
-import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.common.AbstractMetadataRepository;
-import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
-import org.eclipse.rdf4j.model.*;
-import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.fairdatapoint.database.rdf.repository.common.CombinedReadExecutor;
+import org.fairdatapoint.database.rdf.repository.common.MetadataFullTextIndex;
+import org.fairdatapoint.database.rdf.repository.common.MetadataStatementCache;
+import org.fairdatapoint.database.rdf.repository.common.SparqlQueryRegistry;
 import org.eclipse.rdf4j.repository.Repository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
-import static org.fairdatapoint.config.CacheConfig.CATALOG_THEMES_CACHE;
-import static org.fairdatapoint.entity.metadata.MetadataGetter.getParent;
-
 @Service("genericMetadataRepository")
 public class GenericMetadataRepositoryImpl extends AbstractMetadataRepository implements GenericMetadataRepository {
 
-    @Autowired
-    private ConcurrentMapCacheManager cacheManager;
-
-    public GenericMetadataRepositoryImpl(Repository mainRepository, Repository draftsRepository) {
-        super(mainRepository, draftsRepository);
-    }
-
-    @Override
-    public void save(List<Statement> statements, IRI context, RepositoryMode mode) throws MetadataRepositoryException {
-        super.save(statements, context, mode);
-        clearCatalogCache(context, mode);
-    }
-
-    @Override
-    public void remove(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
-        clearCatalogCache(uri, mode);
-        super.remove(uri, mode);
-    }
-
-    @Override
-    public void removeStatement(Resource subject, IRI predicate, Value object, IRI context, RepositoryMode mode)
-            throws MetadataRepositoryException {
-        clearCatalogCache(context, mode);
-        super.removeStatement(subject, predicate, object, context, mode);
-    }
-
-    private void clearCatalogCache(IRI uri, RepositoryMode mode) throws MetadataRepositoryException {
-        final Model metadata = new LinkedHashModel();
-        metadata.addAll(find(uri, mode));
-        final IRI parent = getParent(metadata);
-        if (parent != null) {
-            cacheManager.getCache(CATALOG_THEMES_CACHE).evict(parent.stringValue());
-        }
+    public GenericMetadataRepositoryImpl(Repository mainRepository, Repository draftsRepository,
+                                         MetadataStatementCache statementCache,
+                                         SparqlQueryRegistry queryRegistry,
+                                         CombinedReadExecutor readExecutor,
+                                         MetadataFullTextIndex fullTextIndex) {
+        super(mainRepository, draftsRepository, statementCache, queryRegistry, readExecutor, fullTextIndex);
     }
 
 }
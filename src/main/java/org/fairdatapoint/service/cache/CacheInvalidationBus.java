@@ -0,0 +1,323 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.cache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.util.Values;
+import org.fairdatapoint.config.properties.CacheInvalidationProperties;
+import org.fairdatapoint.database.rdf.repository.common.MetadataChangedEvent;
+import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
+import org.fairdatapoint.service.index.settings.IndexSettingsCache;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache;
+import org.fairdatapoint.service.resource.ResourceDefinitionCache;
+import org.fairdatapoint.service.resource.ResourceDefinitionTargetClassesCache;
+import org.fairdatapoint.service.schema.MetadataSchemaArtifactRegistry;
+import org.fairdatapoint.service.search.SearchFilterCache;
+import org.fairdatapoint.service.settings.SettingsCache;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static java.lang.String.format;
+
+/**
+ * Keeps node-local caches coherent when several FDP instances share one database.
+ *
+ * <p>Invalidations are broadcast with Postgres {@code NOTIFY} on the shared datasource. The notification
+ * joins the surrounding transaction, so other nodes are notified only once the change is committed.
+ * Every node listens on a dedicated connection and refreshes the affected caches; when it may have missed
+ * events (a gap in the sequence of an origin or a lost connection) it refreshes all of them. A generation is
+ * used only once its notification was sent, and a generation not newer than the last one received from its
+ * origin is a notification reordered by concurrent transactions, not a gap.</p>
+ *
+ * <p>Refreshes of all entries (all caches, or all metadata graphs including the full-text index) run on a
+ * separate thread, so they do not hold back later notifications, and repeated requests are coalesced while
+ * a refresh is pending.</p>
+ *
+ * <p>Changes of metadata graphs carry the URIs of the changed graphs, so the receiving nodes refresh only
+ * those entries of their statement caches, derived indexes and full-text index. When the URIs do not fit
+ * into a notification, the event covers all graphs and the receiving nodes rebuild everything.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+
+    private static final String NOTIFY_QUERY = "SELECT pg_notify(?, ?)";
+
+    private static final String LISTEN_QUERY = "LISTEN \"%s\"";
+
+    private static final String THREAD_NAME = "cache-invalidation-listener";
+
+    private static final String REFRESH_THREAD_PREFIX = "cache-invalidation-refresh-";
+
+    private static final long STOP_TIMEOUT_FACTOR = 2;
+
+    // Postgres limits a payload to 8000 bytes, the rest is left for the event header
+    private static final int MAX_KEYS_LENGTH = 7800;
+
+    private final UUID nodeId = UUID.randomUUID();
+
+    private final Object publishLock = new Object();
+
+    private final Map<UUID, Long> receivedGenerations = new ConcurrentHashMap<>();
+
+    private final Set<CacheInvalidationType> pendingRefreshes = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService refreshExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory(REFRESH_THREAD_PREFIX));
+
+    private final CacheInvalidationProperties properties;
+
+    private final DataSource dataSource;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final SettingsCache settingsCache;
+
+    private final IndexSettingsCache indexSettingsCache;
+
+    private final ResourceDefinitionCache resourceDefinitionCache;
+
+    private final ResourceDefinitionTargetClassesCache targetClassesCache;
+
+    private final MetadataSchemaArtifactRegistry artifactRegistry;
+
+    private final MetadataResponseCache metadataResponseCache;
+
+    private final SearchFilterCache searchFilterCache;
+
+    private final AclCache aclCache;
+
+    private final GenericMetadataRepository metadataRepository;
+
+    private volatile boolean running;
+
+    private Thread listenerThread;
+
+    private long generation;
+
+    public void publish(CacheInvalidationType type) {
+        publish(type, List.of());
+    }
+
+    public void publish(CacheInvalidationType type, Collection<String> keys) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        final int keysLength = keys.stream().mapToInt(key -> key.getBytes(StandardCharsets.UTF_8).length + 1).sum();
+        final List<String> eventKeys = keysLength > MAX_KEYS_LENGTH ? List.of() : List.copyOf(keys);
+        synchronized (publishLock) {
+            final CacheInvalidationEvent event = new CacheInvalidationEvent(nodeId, generation + 1, type, eventKeys);
+            try {
+                jdbcTemplate.queryForList(NOTIFY_QUERY, properties.getChannel(), event.toPayload());
+                generation = event.generation();
+            }
+            catch (DataAccessException exception) {
+                log.warn("Failed to publish cache invalidation {}: {}", type, exception.getMessage());
+            }
+        }
+    }
+
+    @EventListener
+    public void metadataChanged(MetadataChangedEvent event) {
+        if (event.contexts() == null) {
+            publish(CacheInvalidationType.METADATA);
+        }
+        else {
+            publish(CacheInvalidationType.METADATA, event.contexts().stream().map(IRI::stringValue).toList());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listen, THREAD_NAME);
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.join(properties.getPollTimeout().toMillis() * STOP_TIMEOUT_FACTOR);
+            listenerThread = null;
+        }
+        refreshExecutor.shutdownNow();
+    }
+
+    void receive(String payload) {
+        final Optional<CacheInvalidationEvent> oEvent = CacheInvalidationEvent.fromPayload(payload);
+        if (oEvent.isEmpty()) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        final CacheInvalidationEvent event = oEvent.get();
+        if (event.origin().equals(nodeId)) {
+            return;
+        }
+        // Rolled back or undelivered notifications leave a gap in the sequence of the origin,
+        // older generations are notifications of concurrent transactions delivered out of order
+        final Long previous = receivedGenerations.get(event.origin());
+        if (previous == null || event.generation() > previous) {
+            receivedGenerations.put(event.origin(), event.generation());
+        }
+        if (previous != null && event.generation() > previous + 1) {
+            log.info("Missed cache invalidations from {}, refreshing all caches", event.origin());
+            refreshAsync(List.of(CacheInvalidationType.values()));
+        }
+        else if (event.type() == CacheInvalidationType.METADATA && event.keys().isEmpty()) {
+            refreshAsync(List.of(CacheInvalidationType.METADATA));
+        }
+        else {
+            invalidate(event.type(), event.keys());
+        }
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                connection.setAutoCommit(true);
+                statement.execute(format(LISTEN_QUERY, properties.getChannel()));
+                log.info("Listening for cache invalidations on channel {}", properties.getChannel());
+                if (reconnect) {
+                    // Events published while disconnected are lost
+                    refreshAsync(List.of(CacheInvalidationType.values()));
+                }
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                final int timeout = (int) properties.getPollTimeout().toMillis();
+                while (running) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(timeout);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            }
+            catch (SQLException exception) {
+                reconnect = true;
+                if (running) {
+                    log.warn("Cache invalidation listener failed, reconnecting: {}", exception.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(properties.getReconnectDelay().toMillis());
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void refreshAsync(Collection<CacheInvalidationType> types) {
+        // a refresh already pending for all the types covers this request
+        if (!pendingRefreshes.addAll(types)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(this::refreshPending);
+        }
+        catch (RejectedExecutionException exception) {
+            log.debug("Cache refresh rejected, the node is shutting down");
+        }
+    }
+
+    private void refreshPending() {
+        for (CacheInvalidationType type : CacheInvalidationType.values()) {
+            if (pendingRefreshes.remove(type)) {
+                invalidate(type, List.of());
+            }
+        }
+    }
+
+    private void invalidate(CacheInvalidationType type, List<String> keys) {
+        log.debug("Invalidating {} caches", type);
+        try {
+            switch (type) {
+                case SETTINGS -> settingsCache.updateCachedSettings();
+                case INDEX_SETTINGS -> indexSettingsCache.updateCachedSettings();
+                case RESOURCE_DEFINITIONS -> {
+                    resourceDefinitionCache.computeCache();
+                    targetClassesCache.computeCache();
+                    metadataResponseCache.invalidate();
+                }
+                case METADATA_SCHEMAS -> {
+                    targetClassesCache.computeCache();
+                    artifactRegistry.rebuild();
+                }
+                case SEARCH_FILTERS -> searchFilterCache.clearCache();
+                case ACL -> aclCache.clearCache();
+                case METADATA -> metadataRepository.refresh(toContexts(keys));
+                default -> log.warn("Unknown cache invalidation type {}", type);
+            }
+        }
+        catch (Exception exception) {
+            log.warn("Failed to invalidate {} caches: {}", type, exception.getMessage());
+        }
+    }
+
+    private static Set<IRI> toContexts(List<String> keys) {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return keys.stream().map(Values::iri).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Invalidation event broadcast to all nodes.
+ *
+ * @param origin     identifier of the node that published the event
+ * @param generation sequence number of the event among events published by the origin
+ * @param type       invalidated caches
+ * @param keys       invalidated entries of the caches (e.g. graph URIs), empty when all entries are invalidated
+ */
+public record CacheInvalidationEvent(UUID origin, long generation, CacheInvalidationType type, List<String> keys) {
+
+    private static final String SEPARATOR = " ";
+
+    private static final int PARTS = 3;
+
+    public CacheInvalidationEvent(UUID origin, long generation, CacheInvalidationType type) {
+        this(origin, generation, type, List.of());
+    }
+
+    public String toPayload() {
+        final StringBuilder payload = new StringBuilder(
+                String.join(SEPARATOR, origin.toString(), String.valueOf(generation), type.name()));
+        keys.forEach(key -> payload.append(SEPARATOR).append(key));
+        return payload.toString();
+    }
+
+    public static Optional<CacheInvalidationEvent> fromPayload(String payload) {
+        if (payload == null) {
+            return Optional.empty();
+        }
+        final String[] parts = payload.split(SEPARATOR);
+        if (parts.length < PARTS) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new CacheInvalidationEvent(
+                    UUID.fromString(parts[0]),
+                    Long.parseLong(parts[1]),
+                    CacheInvalidationType.valueOf(parts[2]),
+                    List.copyOf(Arrays.asList(parts).subList(PARTS, parts.length))
+            ));
+        }
+        catch (IllegalArgumentException exception) {
+            return Optional.empty();
+        }
+    }
+}
@@ -24,9 +24,9 @@ package org.fairdatapoint.service.config;
 
 import org.fairdatapoint.api.dto.config.BootstrapConfigDTO;
 import org.fairdatapoint.config.properties.InstanceProperties;
-import org.fairdatapoint.entity.settings.Settings;
 import org.fairdatapoint.service.resource.ResourceDefinitionService;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
@@ -48,7 +48,7 @@ public class ConfigService {
     private SettingsService settingsService;
 
     public BootstrapConfigDTO getBootstrapConfig() {
-        final Settings settings = settingsService.getOrDefaults();
+        final SettingsSnapshot settings = settingsService.getOrDefaults();
         String appTitle = settings.getAppTitle();
         String appSubtitle = settings.getAppSubtitle();
         if (appTitle == null || appTitle.isBlank()) {
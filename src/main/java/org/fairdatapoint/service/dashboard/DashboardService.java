@@ -24,88 +24,71 @@ package org.fairdatapoint.service.dashboard;
 
 import org.fairdatapoint.api.dto.dashboard.DashboardItemDTO;
 import org.fairdatapoint.api.dto.member.MemberDTO;
-import org.fairdatapoint.api.dto.membership.MembershipDTO;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataRepository;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.fairdatapoint.entity.metadata.Metadata;
 import org.fairdatapoint.entity.metadata.MetadataState;
-import org.fairdatapoint.entity.resource.ResourceDefinition;
-import org.fairdatapoint.entity.resource.ResourceDefinitionChild;
+import org.fairdatapoint.entity.metadata.MetadataTreeNode;
 import org.fairdatapoint.service.member.MemberService;
-import org.fairdatapoint.service.metadata.common.MetadataService;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
-import org.fairdatapoint.service.metadata.state.MetadataStateService;
-import org.fairdatapoint.service.resource.ResourceDefinitionCache;
-import org.fairdatapoint.service.resource.ResourceDefinitionService;
 import org.eclipse.rdf4j.model.IRI;
-import org.eclipse.rdf4j.model.Model;
-import org.eclipse.rdf4j.model.Value;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
-import static org.fairdatapoint.entity.metadata.MetadataGetter.getTitle;
-import static org.fairdatapoint.util.RdfUtil.getObjectsBy;
-import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import java.util.*;
 
 @Service
 public class DashboardService {
 
-    @Autowired
-    @Qualifier("genericMetadataService")
-    private MetadataService metadataService;
+    private static final Comparator<MetadataTreeNode> NODE_ORDER = Comparator
+            .comparing(MetadataTreeNode::getTitle, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(node -> node.getUri().stringValue());
 
     @Autowired
-    private MetadataStateService metadataStateService;
+    @Qualifier("genericMetadataRepository")
+    private MetadataRepository metadataRepository;
 
     @Autowired
     private MemberService memberService;
 
-    @Autowired
-    private ResourceDefinitionService resourceDefinitionService;
-
-    @Autowired
-    private ResourceDefinitionCache resourceDefinitionCache;
-
     public List<DashboardItemDTO> getDashboard(IRI repositoryUri) throws MetadataServiceException {
-        final ResourceDefinition resourceDefinition = resourceDefinitionService.getByUrlPrefix("");
-        final Model repository = metadataService.retrieve(repositoryUri);
-        return getDashboardItem(repositoryUri, repository, resourceDefinition).getChildren();
+        final Map<IRI, List<MetadataTreeNode>> childrenByParent = new HashMap<>();
+        try {
+            for (MetadataTreeNode node : metadataRepository.findTree(RepositoryMode.COMBINED)) {
+                childrenByParent.computeIfAbsent(node.getParent(), key -> new ArrayList<>()).add(node);
+            }
+        }
+        catch (MetadataRepositoryException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+        childrenByParent.values().forEach(children -> children.sort(NODE_ORDER));
+        final Map<String, MemberDTO> members = memberService.getMembersForCurrentUser(Metadata.class);
+        return getDashboardItems(repositoryUri, childrenByParent, members, new HashSet<>());
     }
 
-    private DashboardItemDTO getDashboardItem(
-            IRI metadataUri, Model model, ResourceDefinition resourceDefinition
-    ) throws MetadataServiceException {
-        final List<DashboardItemDTO> children = new ArrayList<>();
-        for (ResourceDefinitionChild rdChild : resourceDefinition.getChildren()) {
-            final IRI relationUri = i(rdChild.getRelationUri());
-            for (Value childUri : getObjectsBy(model, metadataUri, relationUri)) {
-                final IRI childIri = i(childUri.stringValue());
-                final DashboardItemDTO child = getDashboardItem(
-                        childIri,
-                        metadataService.retrieve(childIri),
-                        resourceDefinitionCache.getByUuid(rdChild.getTarget().getUuid())
-                );
-                children.add(child);
+    private List<DashboardItemDTO> getDashboardItems(
+            IRI parentUri, Map<IRI, List<MetadataTreeNode>> childrenByParent, Map<String, MemberDTO> members,
+            Set<IRI> visited
+    ) {
+        final List<DashboardItemDTO> items = new ArrayList<>();
+        for (MetadataTreeNode node : childrenByParent.getOrDefault(parentUri, List.of())) {
+            if (!visited.add(node.getUri())) {
+                continue;
+            }
+            final DashboardItemDTO item = new DashboardItemDTO(
+                    node.getUri().toString(),
+                    node.getTitle(),
+                    getDashboardItems(node.getUri(), childrenByParent, members, visited),
+                    Optional.ofNullable(members.get(node.getUri().stringValue())).map(MemberDTO::getMembership),
+                    node.isDraft() ? MetadataState.DRAFT : MetadataState.PUBLISHED
+            );
+            if (childOnDashboard(item)) {
+                items.add(item);
             }
         }
-
-        final Optional<MemberDTO> member =
-                memberService.getMemberForCurrentUser(metadataUri.stringValue(), Metadata.class);
-        final Optional<MembershipDTO> membership = member.map(MemberDTO::getMembership);
-        final MetadataState state = metadataStateService.getState(metadataUri);
-        return new DashboardItemDTO(
-                metadataUri.toString(),
-                getTitle(model).getLabel(),
-                children
-                        .stream()
-                        .filter(this::childOnDashboard)
-                        .toList(),
-                membership,
-                state
-        );
+        return items;
     }
 
     private boolean childOnDashboard(DashboardItemDTO item) {
@@ -25,7 +25,7 @@ package org.fairdatapoint.service.form.autocomplete;
 import lombok.RequiredArgsConstructor;
 import org.fairdatapoint.entity.forms.RdfEntityCacheContainer;
 import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import static org.fairdatapoint.config.CacheConfig.FORMS_AUTOCOMPLETE_CACHE;
@@ -34,7 +34,7 @@ import static org.fairdatapoint.config.CacheConfig.FORMS_AUTOCOMPLETE_CACHE;
 @RequiredArgsConstructor
 public class FormsAutocompleteCache {
 
-    private final ConcurrentMapCacheManager cacheManager;
+    private final CacheManager cacheManager;
 
     public void clear() {
         cache().clear();
@@ -26,11 +26,11 @@ import lombok.RequiredArgsConstructor;
 import org.fairdatapoint.api.dto.form.FormAutocompleteItemDTO;
 import org.fairdatapoint.api.dto.form.FormAutocompleteRequestDTO;
 import org.fairdatapoint.entity.forms.RdfEntityCacheContainer;
-import org.fairdatapoint.entity.settings.Settings;
 import org.fairdatapoint.service.form.autocomplete.retrieval.RdfEntitiesNamespaceRetriever;
 import org.fairdatapoint.service.form.autocomplete.retrieval.RdfEntitiesRetriever;
 import org.fairdatapoint.service.form.autocomplete.retrieval.RdfEntitiesSparqlRetriever;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
@@ -72,9 +72,9 @@ public class FormsAutocompleteService {
     }
 
     public RdfEntityCacheContainer retrieveItems(String rdfType) {
-        final Settings settings = settingsService.getOrDefaults();
+        final SettingsSnapshot settings = settingsService.getOrDefaults();
         RdfEntityCacheContainer container = null;
-        if (settings.getAutocompleteSearchNamespace()) {
+        if (settings.isAutocompleteSearchNamespace()) {
             container = retrieveItems(rdfType, namespaceRetriever);
         }
         if (container == null) {
@@ -23,8 +23,8 @@
 package org.fairdatapoint.service.form.autocomplete.retrieval;
 
 import org.fairdatapoint.entity.forms.RdfEntitySourceType;
-import org.fairdatapoint.entity.settings.SettingsAutocompleteSource;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.eclipse.rdf4j.query.TupleQuery;
 import org.eclipse.rdf4j.query.TupleQueryResult;
 import org.eclipse.rdf4j.repository.Repository;
@@ -49,15 +49,12 @@ public class RdfEntitiesSparqlRetriever implements RdfEntitiesRetriever {
     public Map<String, String> retrieve(String rdfType) {
         return settingsService
                 .getOrDefaults()
-                .getAutocompleteSources()
-                .stream()
-                .filter(source -> source.getRdfType().equals(rdfType))
-                .findFirst()
+                .getAutocompleteSource(rdfType)
                 .map(this::retrieve)
                 .orElse(null);
     }
 
-    private Map<String, String> retrieve(SettingsAutocompleteSource source) {
+    private Map<String, String> retrieve(SettingsSnapshot.AutocompleteSource source) {
         final Repository repository = new SPARQLRepository(source.getSparqlEndpoint());
         try (RepositoryConnection conn = repository.getConnection()) {
             final TupleQuery query = conn.prepareTupleQuery(source.getSparqlQuery());
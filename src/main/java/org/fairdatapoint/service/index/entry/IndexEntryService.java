@@ -37,13 +37,13 @@ import org.fairdatapoint.entity.index.entry.IndexEntry;
 import org.fairdatapoint.entity.index.entry.IndexEntryPermit;
 import org.fairdatapoint.entity.index.entry.IndexEntryState;
 import org.fairdatapoint.entity.index.event.IndexEvent;
-import org.fairdatapoint.entity.index.settings.IndexSettings;
 import org.fairdatapoint.service.index.common.RequiredEnabledIndexFeature;
 import org.fairdatapoint.service.index.harvester.HarvesterService;
 import org.fairdatapoint.service.index.settings.IndexSettingsService;
+import org.fairdatapoint.service.index.settings.IndexSettingsSnapshot;
 import org.fairdatapoint.service.user.CurrentUserService;
-import org.eclipse.rdf4j.model.Model;
-import org.eclipse.rdf4j.model.impl.TreeModel;
+import org.fairdatapoint.util.RdfStream;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -233,7 +233,7 @@ public class IndexEntryService {
     public IndexEntry storeEntry(@Valid PingDTO pingDTO) {
         final String clientUrl = pingDTO.getClientUrl();
         final Optional<IndexEntry> entity = repository.findByClientUrl(clientUrl);
-        final IndexSettings settings = indexSettingsService.getOrDefaults();
+        final IndexSettingsSnapshot settings = indexSettingsService.getOrDefaults();
 
         final IndexEntry entry;
         if (entity.isPresent()) {
@@ -246,7 +246,7 @@ public class IndexEntryService {
             entry.setUuid(null);
             entry.setClientUrl(clientUrl);
             entry.setCreatedAt(Instant.now());
-            if (settings.getAutoPermit()) {
+            if (settings.isAutoPermit()) {
                 entry.setPermit(IndexEntryPermit.ACCEPTED);
             }
             else {
@@ -280,17 +280,22 @@ public class IndexEntryService {
 
     private Instant getValidThreshold() {
         return Instant.now()
-                .minus(indexSettingsService.getOrDefaults().getPing().getValidDuration());
+                .minus(indexSettingsService.getOrDefaults().getPingValidDuration());
     }
 
     @RequiredEnabledIndexFeature
-    public Model getEntryHarvestedData(UUID uuid) throws MetadataRepositoryException {
+    public RdfStream getEntryHarvestedData(UUID uuid) {
         final IndexEntry entry = repository
                 .findByUuid(uuid)
                 .orElseThrow(() -> new ResourceNotFoundException(MSG_NOT_FOUND));
-        final Model model = new TreeModel();
-        model.addAll(genericMetadataRepository.find(i(entry.getClientUrl()), RepositoryMode.MAIN));
-        return model;
+        return handler -> {
+            try {
+                genericMetadataRepository.find(i(entry.getClientUrl()), RepositoryMode.MAIN, handler);
+            }
+            catch (MetadataRepositoryException exception) {
+                throw new RDFHandlerException(exception.getMessage());
+            }
+        };
     }
 
     public Optional<IndexEntryDetailDTO> updateEntry(UUID uuid, IndexEntryUpdateDTO reqDto) {
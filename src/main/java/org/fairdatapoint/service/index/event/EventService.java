@@ -42,12 +42,11 @@ import org.fairdatapoint.entity.index.exception.PingDeniedException;
 import org.fairdatapoint.entity.index.exception.RateLimitException;
 import org.fairdatapoint.entity.index.http.Exchange;
 import org.fairdatapoint.entity.index.http.ExchangeState;
-import org.fairdatapoint.entity.index.settings.SettingsIndexPing;
-import org.fairdatapoint.entity.index.settings.SettingsIndexRetrieval;
 import org.fairdatapoint.service.UtilityService;
 import org.fairdatapoint.service.index.common.RequiredEnabledIndexFeature;
 import org.fairdatapoint.service.index.entry.IndexEntryService;
 import org.fairdatapoint.service.index.settings.IndexSettingsService;
+import org.fairdatapoint.service.index.settings.IndexSettingsSnapshot;
 import org.fairdatapoint.service.index.webhook.WebhookService;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -60,7 +59,6 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -91,6 +89,8 @@ public class EventService {
 
     private final IndexSettingsService indexSettingsService;
 
+    private final PingRateLimiter pingRateLimiter;
+
     public Iterable<IndexEvent> getEvents(IndexEntry indexEntry) {
         // TODO: make events pagination in the future
         return eventRepository.getAllByRelatedTo(indexEntry,
@@ -109,23 +109,19 @@ public class EventService {
     @SneakyThrows
     public IndexEvent acceptIncomingPing(PingDTO reqDto, HttpServletRequest request) {
         final String remoteAddr = utilityService.getRemoteAddr(request);
-        final SettingsIndexPing pingSettings = indexSettingsService.getOrDefaults().getPing();
+        final IndexSettingsSnapshot settings = indexSettingsService.getOrDefaults();
 
         if (indexSettingsService.isPingDenied(reqDto)) {
             log.info("Received ping is denied");
             throw new PingDeniedException(reqDto.getClientUrl());
         }
 
-        final Instant rateLimitSince = Instant.now().minus(pingSettings.getRateLimitDuration());
-        final List<IndexEvent> previousPings =
-                eventRepository.findAllByRemoteAddrAndCreatedAtAfter(
-                        remoteAddr, rateLimitSince
-                );
-        if (previousPings.size() > pingSettings.getRateLimitHits()) {
+        if (!pingRateLimiter.tryAcquire(
+                remoteAddr, settings.getPingRateLimitHits(), settings.getPingRateLimitDuration())) {
             log.warn("Rate limit for PING reached by {}", remoteAddr);
             throw new RateLimitException(String.format(
                     "Rate limit reached for %s (max. %d per %s) - PING ignored",
-                    remoteAddr, pingSettings.getRateLimitHits(), pingSettings.getRateLimitDuration().toString())
+                    remoteAddr, settings.getPingRateLimitHits(), settings.getPingRateLimitDuration().toString())
             );
         }
 
@@ -158,21 +154,21 @@ public class EventService {
     }
 
     private void processMetadataRetrieval(IndexEvent event) {
-        final SettingsIndexRetrieval retrievalSettings = indexSettingsService.getOrDefaults().getRetrieval();
+        final IndexSettingsSnapshot settings = indexSettingsService.getOrDefaults();
         final String clientUrl = event.getRelatedTo().getClientUrl();
-        if (MetadataRetrievalUtils.shouldRetrieve(event, retrievalSettings.getRateLimitWait())) {
+        if (MetadataRetrievalUtils.shouldRetrieve(event, settings.getRetrievalRateLimitWait())) {
             indexEntryRepository.save(event.getRelatedTo());
             eventRepository.save(event);
             event.execute();
 
             log.info("Retrieving metadata for {}", clientUrl);
-            MetadataRetrievalUtils.retrieveRepositoryMetadata(event, retrievalSettings.getTimeout());
+            MetadataRetrievalUtils.retrieveRepositoryMetadata(event, settings.getRetrievalTimeout());
             final Exchange exchange = event.getPayload().getMetadataRetrieval().getExchange();
             if (exchange.getState() == ExchangeState.Retrieved) {
                 try {
                     log.info("Parsing metadata for {}", clientUrl);
                     final Optional<RepositoryMetadata> metadata =
-                            MetadataRetrievalUtils.parseRepositoryMetadata(exchange.getResponse().getBody());
+                            MetadataRetrievalUtils.parseRepositoryMetadata(exchange.getResponse());
                     if (metadata.isPresent()) {
                         event.getPayload().getMetadataRetrieval().setMetadata(metadata.get());
                         event.getRelatedTo().setCurrentMetadata(metadata.get());
@@ -29,6 +29,7 @@ import org.fairdatapoint.entity.index.event.payload.MetadataRetrieval;
 import org.fairdatapoint.entity.index.http.Exchange;
 import org.fairdatapoint.entity.index.http.ExchangeDirection;
 import org.fairdatapoint.entity.index.http.ExchangeState;
+import org.fairdatapoint.entity.index.http.Response;
 import org.fairdatapoint.service.index.entry.IndexEntryService;
 import org.fairdatapoint.vocabulary.DCAT3;
 import org.fairdatapoint.vocabulary.FDP;
@@ -60,6 +61,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static java.lang.String.format;
+import static org.fairdatapoint.util.HttpUtil.getRdfContentType;
+
 public class MetadataRetrievalUtils {
 
     private static final IndexEventType EVENT_TYPE = IndexEventType.METADATA_RETRIEVAL;
@@ -79,6 +83,10 @@ public class MetadataRetrievalUtils {
             R3D.COUNTRY, "country"
     );
 
+    // the response body is kept in the exchange log as text, so binary RDF is not requested here
+    private static final String ACCEPT = format("%s, %s;q=0.9",
+            RDFFormat.NTRIPLES.getDefaultMIMEType(), RDFFormat.TURTLE.getDefaultMIMEType());
+
     private static final HttpClient CLIENT = HttpClient.newBuilder()
             .version(HttpClient.Version.HTTP_2)
             .followRedirects(HttpClient.Redirect.ALWAYS)
@@ -132,7 +140,7 @@ public class MetadataRetrievalUtils {
             final HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(event.getRelatedTo().getClientUrl()))
                     .timeout(timeout)
-                    .header(HttpHeaders.ACCEPT, RDFFormat.TURTLE.getDefaultMIMEType())
+                    .header(HttpHeaders.ACCEPT, ACCEPT)
                     .GET().build();
             ex.getRequest().setFromHttpRequest(request);
             ex.setState(ExchangeState.Requested);
@@ -156,9 +164,24 @@ public class MetadataRetrievalUtils {
     }
 
     public static Optional<RepositoryMetadata> parseRepositoryMetadata(
-            String metadata
+            Response response
+    ) throws IOException {
+        final String contentType = Optional.ofNullable(response.getHeaders())
+                .flatMap(headers -> headers.entrySet()
+                        .stream()
+                        .filter(header -> HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(header.getKey()))
+                        .flatMap(header -> header.getValue().stream())
+                        .findFirst())
+                .orElse(null);
+        // parameters such as charset are not relevant for choosing the parser
+        final String mimeType = contentType == null ? null : contentType.split(";")[0].trim();
+        return parseRepositoryMetadata(response.getBody(), getRdfContentType(mimeType));
+    }
+
+    private static Optional<RepositoryMetadata> parseRepositoryMetadata(
+            String metadata, RDFFormat format
     ) throws IOException {
-        final RDFParser parser = Rio.createParser(RDFFormat.TURTLE);
+        final RDFParser parser = Rio.createParser(format);
         final StatementCollector collector = new StatementCollector();
         parser.setRDFHandler(collector);
 
@@ -0,0 +1,154 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.event;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.config.properties.PingRateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket rate limiter for incoming pings keyed by remote address.
+ *
+ * <p>Each bucket is kept as its theoretical arrival time (GCRA): a ping is accepted if the bucket
+ * is not further ahead of now than the burst of {@code hits} allows, and it advances the bucket by
+ * {@code duration / hits}. Buckets are updated with a single CAS and held in a segmented cache bounded
+ * by the number of addresses. When shared, the local bucket is a pre-filter: pings over the local limit
+ * are rejected without touching the database, and accepted ones are checked against the same state kept
+ * in the database, so all nodes enforce one limit. A ping rejected by the shared bucket gives its local
+ * token back. The database keeps the state in milliseconds, so the shared interval is at least one
+ * millisecond.</p>
+ */
+@Slf4j
+@Component
+public class PingRateLimiter {
+
+    private static final String SHARED_ACQUIRE_QUERY = """
+            INSERT INTO index_ping_rate_limit AS rate_limit (remote_addr, tat)
+            VALUES (?, (EXTRACT(EPOCH FROM statement_timestamp()) * 1000)::BIGINT + ?)
+            ON CONFLICT (remote_addr) DO UPDATE
+            SET tat = GREATEST(rate_limit.tat, (EXTRACT(EPOCH FROM statement_timestamp()) * 1000)::BIGINT) + ?
+            WHERE rate_limit.tat - (EXTRACT(EPOCH FROM statement_timestamp()) * 1000)::BIGINT <= ?
+            RETURNING tat""";
+
+    private static final String SHARED_CLEANUP_QUERY = """
+            DELETE FROM index_ping_rate_limit
+            WHERE tat < (EXTRACT(EPOCH FROM statement_timestamp()) * 1000)::BIGINT""";
+
+    private final PingRateLimitProperties properties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Ticker ticker;
+
+    private final Cache<String, AtomicLong> buckets;
+
+    @Autowired
+    public PingRateLimiter(PingRateLimitProperties properties, JdbcTemplate jdbcTemplate) {
+        this(properties, jdbcTemplate, Ticker.systemTicker());
+    }
+
+    PingRateLimiter(PingRateLimitProperties properties, JdbcTemplate jdbcTemplate, Ticker ticker) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.ticker = ticker;
+        this.buckets = CacheBuilder.newBuilder()
+                .concurrencyLevel(Runtime.getRuntime().availableProcessors())
+                .maximumSize(properties.getMaxAddresses())
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .ticker(ticker)
+                .build();
+    }
+
+    public boolean tryAcquire(String remoteAddr, int hits, Duration duration) {
+        if (hits <= 0) {
+            return false;
+        }
+        final long interval = duration.toNanos() / hits;
+        final long tolerance = duration.toNanos() - interval;
+        final AtomicLong bucket = tryAcquireLocal(remoteAddr, interval, tolerance);
+        if (bucket == null) {
+            return false;
+        }
+        if (!properties.isShared()) {
+            return true;
+        }
+        boolean accepted = false;
+        try {
+            accepted = tryAcquireShared(remoteAddr, interval, tolerance);
+        }
+        finally {
+            if (!accepted) {
+                // the ping is not accepted, so it does not use up the local token
+                bucket.addAndGet(-interval);
+            }
+        }
+        return accepted;
+    }
+
+    private AtomicLong tryAcquireLocal(String remoteAddr, long interval, long tolerance) {
+        final long now = ticker.read();
+        final AtomicLong bucket = buckets.asMap().computeIfAbsent(remoteAddr, key -> new AtomicLong(now));
+        while (true) {
+            final long arrival = bucket.get();
+            final long base = arrival - now > 0 ? arrival : now;
+            if (base - now > tolerance) {
+                return null;
+            }
+            if (bucket.compareAndSet(arrival, base + interval)) {
+                return bucket;
+            }
+        }
+    }
+
+    private boolean tryAcquireShared(String remoteAddr, long interval, long tolerance) {
+        final long intervalMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(interval));
+        return !jdbcTemplate
+                .queryForList(
+                        SHARED_ACQUIRE_QUERY,
+                        Long.class,
+                        remoteAddr,
+                        intervalMillis,
+                        intervalMillis,
+                        TimeUnit.NANOSECONDS.toMillis(tolerance)
+                )
+                .isEmpty();
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    public void removeExpiredSharedBuckets() {
+        if (properties.isShared()) {
+            final int removed = jdbcTemplate.update(SHARED_CLEANUP_QUERY);
+            log.debug("Removed {} expired shared ping rate limit buckets", removed);
+        }
+    }
+}
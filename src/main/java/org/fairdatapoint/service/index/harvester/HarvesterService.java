@@ -43,6 +43,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
 
+import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getChildren;
 import static org.fairdatapoint.util.HttpUtil.getRdfContentType;
@@ -59,6 +60,15 @@ public class HarvesterService {
 
     private static final String DEFAULT_NAVIGATION_SHACL = "defaultNavigationShacl.ttl";
 
+    // binary RDF is the cheapest to produce and parse, Turtle is understood by every FDP
+    private static final List<MediaType> ACCEPT_PREFERRED = List.of(
+            MediaType.parseMediaType(RDFFormat.BINARY.getDefaultMIMEType()),
+            MediaType.parseMediaType(format("%s;q=0.9", RDFFormat.TURTLE.getDefaultMIMEType()))
+    );
+
+    private static final List<MediaType> ACCEPT_FALLBACK =
+            List.of(MediaType.parseMediaType(RDFFormat.TURTLE.getDefaultMIMEType()));
+
     private final GenericMetadataRepository genericMetadataRepository;
 
     private final RestTemplate restTemplate;
@@ -137,20 +147,22 @@ public class HarvesterService {
 
     private Model makeRequest(String uri) {
         log.info("Making request to '{}'", uri);
-        final HttpHeaders headers = new HttpHeaders();
-        headers.setAccept(List.of(MediaType.parseMediaType(RDFFormat.TURTLE.getDefaultMIMEType())));
-        final HttpEntity<Void> entity = new HttpEntity<>(null, headers);
         try {
-            final ResponseEntity<String> response =
-                    restTemplate.exchange(uri, HttpMethod.GET, entity, String.class);
+            ResponseEntity<byte[]> response;
+            try {
+                response = exchange(uri, ACCEPT_PREFERRED);
+            }
+            catch (HttpClientErrorException.NotAcceptable exception) {
+                log.info("Request to '{}' not acceptable, falling back to Turtle", uri);
+                response = exchange(uri, ACCEPT_FALLBACK);
+            }
             if (!response.getStatusCode().is2xxSuccessful()) {
                 log.info("Request to '{}' failed ({})", uri, response.getStatusCode());
                 throw new HttpClientErrorException(response.getStatusCode());
             }
-            final RDFFormat rdfContentType =
-                    getRdfContentType(response.getHeaders().getContentType().getType());
+            final RDFFormat rdfContentType = getRdfContentType(response.getHeaders().getContentType());
             log.info("Request to '{}' successfully received", uri);
-            final Model result = read(response.getBody(), uri, rdfContentType);
+            final Model result = read(ofNullable(response.getBody()).orElse(new byte[0]), uri, rdfContentType);
             log.info("Request to '{}' successfully parsed", uri);
             return result;
         }
@@ -164,4 +176,11 @@ public class HarvesterService {
         }
     }
 
+    private ResponseEntity<byte[]> exchange(String uri, List<MediaType> accept) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(accept);
+        final HttpEntity<Void> entity = new HttpEntity<>(null, headers);
+        return restTemplate.exchange(uri, HttpMethod.GET, entity, byte[].class);
+    }
+
 }
@@ -0,0 +1,59 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.settings;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.fairdatapoint.database.db.repository.IndexSettingsRepository;
+import org.fairdatapoint.entity.index.settings.IndexSettings;
+import org.fairdatapoint.util.KnownUUIDs;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+@RequiredArgsConstructor
+public class IndexSettingsCache {
+
+    private final IndexSettingsRepository repository;
+
+    private final IndexSettingsDefaults defaults;
+
+    private final AtomicReference<IndexSettingsSnapshot> snapshot = new AtomicReference<>();
+
+    @PostConstruct
+    public void updateCachedSettings() {
+        updateCachedSettings(repository.findByUuid(KnownUUIDs.SETTINGS_UUID).orElse(defaults.getDefaults()));
+    }
+
+    public void updateCachedSettings(IndexSettings settings) {
+        snapshot.set(IndexSettingsSnapshot.of(settings));
+    }
+
+    public IndexSettingsSnapshot getOrDefaults() {
+        return Optional
+                .ofNullable(snapshot.get())
+                .orElseGet(() -> IndexSettingsSnapshot.of(defaults.getDefaults()));
+    }
+}
@@ -29,12 +29,12 @@ import org.fairdatapoint.api.dto.index.settings.IndexSettingsDTO;
 import org.fairdatapoint.api.dto.index.settings.IndexSettingsUpdateDTO;
 import org.fairdatapoint.database.db.repository.IndexSettingsRepository;
 import org.fairdatapoint.entity.index.settings.IndexSettings;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.service.index.common.RequiredEnabledIndexFeature;
 import org.fairdatapoint.util.KnownUUIDs;
 import org.springframework.stereotype.Service;
 
-import java.util.regex.Pattern;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -46,36 +46,40 @@ public class IndexSettingsService {
 
     private final IndexSettingsDefaults defaults;
 
+    private final IndexSettingsCache indexSettingsCache;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     @RequiredEnabledIndexFeature
     public boolean isPingDenied(PingDTO ping) {
         log.info("Checking if ping.clientUrl is on deny list: " + ping.getClientUrl());
-        return getOrDefaults()
-                .getPing()
-                .getDenyList()
-                .parallelStream()
-                .anyMatch(pattern -> Pattern.matches(pattern, ping.getClientUrl()));
+        return getOrDefaults().isDenied(ping.getClientUrl());
     }
 
     @RequiredEnabledIndexFeature
-    public IndexSettings getOrDefaults() {
-        return repository.findByUuid(KnownUUIDs.SETTINGS_UUID).orElse(defaults.getDefaults());
+    public IndexSettingsSnapshot getOrDefaults() {
+        return indexSettingsCache.getOrDefaults();
     }
 
     @RequiredEnabledIndexFeature
     public IndexSettingsDTO getCurrentSettings() {
-        return mapper.toDTO(getOrDefaults(), defaults.getDefaults());
+        return mapper.toDTO(loadOrDefaults(), defaults.getDefaults());
     }
 
     @RequiredEnabledIndexFeature
     public IndexSettingsDTO updateSettings(IndexSettingsUpdateDTO dto) {
-        return mapper.toDTO(
-                repository.save(mapper.fromUpdateDTO(dto, getOrDefaults())),
-                defaults.getDefaults()
-        );
+        final IndexSettings settings = repository.save(mapper.fromUpdateDTO(dto, loadOrDefaults()));
+        indexSettingsCache.updateCachedSettings(settings);
+        cacheInvalidationBus.publish(CacheInvalidationType.INDEX_SETTINGS);
+        return mapper.toDTO(settings, defaults.getDefaults());
     }
 
     @RequiredEnabledIndexFeature
     public IndexSettingsDTO resetSettings() {
         return updateSettings(mapper.toUpdateDTO(defaults.getDefaults()));
     }
+
+    private IndexSettings loadOrDefaults() {
+        return repository.findByUuid(KnownUUIDs.SETTINGS_UUID).orElse(defaults.getDefaults());
+    }
 }
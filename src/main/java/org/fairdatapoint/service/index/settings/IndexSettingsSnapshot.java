@@ -0,0 +1,79 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.settings;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fairdatapoint.entity.index.settings.IndexSettings;
+import org.fairdatapoint.entity.index.settings.SettingsIndexPing;
+import org.fairdatapoint.entity.index.settings.SettingsIndexRetrieval;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Values of {@link IndexSettings} copied at load time with the ping deny list compiled, shared by all readers.
+ */
+@Getter
+@AllArgsConstructor
+public final class IndexSettingsSnapshot {
+
+    private final boolean autoPermit;
+
+    private final Duration pingValidDuration;
+
+    private final Duration pingRateLimitDuration;
+
+    private final int pingRateLimitHits;
+
+    private final List<String> pingDenyList;
+
+    private final Duration retrievalRateLimitWait;
+
+    private final Duration retrievalTimeout;
+
+    private final PingDenyList denyList;
+
+    public static IndexSettingsSnapshot of(IndexSettings settings) {
+        final SettingsIndexPing ping = settings.getPing();
+        final SettingsIndexRetrieval retrieval = settings.getRetrieval();
+        final List<String> pingDenyList = ping.getDenyList() == null
+                ? List.of()
+                : ping.getDenyList().stream().filter(Objects::nonNull).toList();
+        return new IndexSettingsSnapshot(
+                Boolean.TRUE.equals(settings.getAutoPermit()),
+                ping.getValidDuration(),
+                ping.getRateLimitDuration(),
+                ping.getRateLimitHits(),
+                pingDenyList,
+                retrieval.getRateLimitWait(),
+                retrieval.getTimeout(),
+                PingDenyList.compile(pingDenyList)
+        );
+    }
+
+    public boolean isDenied(String clientUrl) {
+        return denyList.matches(clientUrl);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.settings;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * Deny list of client URL patterns compiled once into a single alternation.
+ *
+ * <p>Patterns with back-references cannot be combined (group numbers would shift),
+ * they are kept as separately compiled patterns. The same applies to all patterns if they cannot be combined
+ * at all (e.g. a named group used in several patterns).</p>
+ */
+@Slf4j
+public final class PingDenyList {
+
+    private static final PingDenyList EMPTY = new PingDenyList(null, List.of());
+
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\[1-9]|\\\\k<");
+
+    private final Pattern combined;
+
+    private final List<Pattern> separate;
+
+    private PingDenyList(Pattern combined, List<Pattern> separate) {
+        this.combined = combined;
+        this.separate = separate;
+    }
+
+    public static PingDenyList compile(List<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return EMPTY;
+        }
+        final List<Pattern> alternatives = new ArrayList<>();
+        final List<Pattern> separate = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (pattern == null) {
+                continue;
+            }
+            try {
+                final Pattern compiled = Pattern.compile(pattern);
+                if (BACK_REFERENCE.matcher(pattern).find()) {
+                    separate.add(compiled);
+                }
+                else {
+                    alternatives.add(compiled);
+                }
+            }
+            catch (PatternSyntaxException exception) {
+                log.warn("Ignoring invalid ping deny list pattern '{}': {}", pattern, exception.getDescription());
+            }
+        }
+        return new PingDenyList(combine(alternatives, separate), List.copyOf(separate));
+    }
+
+    private static Pattern combine(List<Pattern> alternatives, List<Pattern> separate) {
+        if (alternatives.isEmpty()) {
+            return null;
+        }
+        final String alternation = alternatives
+                .stream()
+                .map(alternative -> "(?:" + alternative.pattern() + ")")
+                .collect(Collectors.joining("|"));
+        try {
+            return Pattern.compile(alternation);
+        }
+        catch (PatternSyntaxException exception) {
+            log.warn("Ping deny list patterns cannot be combined, matching them one by one: {}",
+                    exception.getDescription());
+            separate.addAll(alternatives);
+            return null;
+        }
+    }
+
+    public boolean matches(String clientUrl) {
+        if (clientUrl == null) {
+            return false;
+        }
+        if (combined != null && combined.matcher(clientUrl).matches()) {
+            return true;
+        }
+        return separate.stream().anyMatch(pattern -> pattern.matcher(clientUrl).matches());
+    }
+}
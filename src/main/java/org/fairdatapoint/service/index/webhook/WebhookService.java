@@ -32,12 +32,12 @@ import org.fairdatapoint.database.db.repository.IndexEventRepository;
 import org.fairdatapoint.database.db.repository.IndexWebhookRepository;
 import org.fairdatapoint.entity.exception.ResourceNotFoundException;
 import org.fairdatapoint.entity.index.event.IndexEvent;
-import org.fairdatapoint.entity.index.settings.SettingsIndexRetrieval;
 import org.fairdatapoint.entity.index.webhook.IndexWebhook;
 import org.fairdatapoint.entity.index.webhook.IndexWebhookEvent;
 import org.fairdatapoint.service.UtilityService;
 import org.fairdatapoint.service.index.common.RequiredEnabledIndexFeature;
 import org.fairdatapoint.service.index.settings.IndexSettingsService;
+import org.fairdatapoint.service.index.settings.IndexSettingsSnapshot;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -68,8 +68,7 @@ public class WebhookService {
 
     @RequiredEnabledIndexFeature
     public void processWebhookTrigger(IndexEvent event) {
-        final SettingsIndexRetrieval retrievalSettings =
-                indexSettingsService.getOrDefaults().getRetrieval();
+        final IndexSettingsSnapshot settings = indexSettingsService.getOrDefaults();
         event.execute();
         eventRepository.save(event);
         final WebhookPayloadDTO webhookPayload = webhookMapper.toWebhookPayloadDTO(event);
@@ -80,7 +79,7 @@ public class WebhookService {
             final String payloadWithoutSecret = objectMapper.writeValueAsString(webhookPayload);
             WebhookUtils.postWebhook(
                     event,
-                    retrievalSettings.getTimeout(),
+                    settings.getRetrievalTimeout(),
                     payloadWithoutSecret,
                     signature
             );
@@ -57,7 +57,7 @@ public class LabelService {
         this.resolver = defaultResolver;
     }
 
-    @Cacheable
+    @Cacheable(sync = true)
     public Optional<LabelDTO> getLabel(String iri, String lang) {
         try {
             final IRI subject = i(iri);
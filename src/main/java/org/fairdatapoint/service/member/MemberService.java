@@ -33,6 +33,8 @@ import org.fairdatapoint.entity.membership.Membership;
 import org.fairdatapoint.entity.membership.MembershipPermission;
 import org.fairdatapoint.entity.user.UserAccount;
 import org.fairdatapoint.entity.user.UserRole;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.service.membership.PermissionService;
 import org.fairdatapoint.service.user.CurrentUserService;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -42,15 +44,15 @@ import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.*;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MemberService {
 
+    private static final int ACL_DELETE_BATCH_SIZE = 1000;
+
     private final MutableAclService aclService;
 
     private final MembershipRepository membershipRepository;
@@ -67,6 +69,8 @@ public class MemberService {
 
     private final EntityManager entityManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     @Transactional
     @PreAuthorize("hasPermission(#entityId, #entityType.getName(), 'WRITE') or hasRole('ADMIN')")
     public <T> List<MemberDTO> getMembers(String entityId, Class<T> entityType) {
@@ -108,6 +112,39 @@ public class MemberService {
         return Optional.empty();
     }
 
+    @Transactional
+    public <T> Map<String, MemberDTO> getMembersForCurrentUser(Class<T> entityType) {
+        final Optional<UserAccount> oUser = currentUserService.getCurrentUser();
+        if (oUser.isEmpty()) {
+            return Map.of();
+        }
+        final UserAccount user = oUser.get();
+        final List<?> rows = entityManager
+                .createNativeQuery("""
+                        SELECT oi.object_id_identity, e.mask
+                        FROM acl_entry e
+                        JOIN acl_object_identity oi ON e.acl_object_identity = oi.id
+                        JOIN acl_class c ON oi.object_id_class = c.id
+                        JOIN acl_sid s ON e.sid = s.id
+                        WHERE c.class = :entityType
+                          AND s.principal = true
+                          AND s.sid = :userUuid""")
+                .setParameter("entityType", entityType.getName())
+                .setParameter("userUuid", user.getUuid().toString())
+                .getResultList();
+        final Map<String, List<Integer>> masks = new HashMap<>();
+        for (Object row : rows) {
+            final Object[] columns = (Object[]) row;
+            masks.computeIfAbsent((String) columns[0], key -> new ArrayList<>())
+                    .add(((Number) columns[1]).intValue());
+        }
+        final List<Membership> memberships = membershipRepository.findAll();
+        final Map<String, MemberDTO> members = new HashMap<>();
+        masks.forEach((entityId, entityMasks) ->
+                members.put(entityId, memberMapper.toDTO(user, deriveMembership(entityMasks, memberships))));
+        return members;
+    }
+
     @Transactional
     @PreAuthorize("hasPermission(#entityId, #entityType.getName(), 'WRITE') or hasRole('ADMIN')")
     public <T> MemberDTO createOrUpdateMember(String entityId, Class<T> entityType, UUID userUuid,
@@ -140,6 +177,7 @@ public class MemberService {
 
         // Update database
         aclService.updateAcl(acl);
+        cacheInvalidationBus.publish(CacheInvalidationType.ACL);
 
         return memberMapper.toDTO(user, membership);
     }
@@ -204,6 +242,38 @@ public class MemberService {
                 .executeUpdate();
 
         aclCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.ACL);
+    }
+
+    @Transactional
+    public <T> void deleteAcls(Collection<String> entityIds, Class<T> entityType) {
+        final List<String> ids = List.copyOf(entityIds);
+        for (int from = 0; from < ids.size(); from += ACL_DELETE_BATCH_SIZE) {
+            final List<String> batch = ids.subList(from, Math.min(from + ACL_DELETE_BATCH_SIZE, ids.size()));
+            entityManager
+                    .createNativeQuery("""
+                            DELETE FROM acl_entry e
+                            USING acl_object_identity oi, acl_class c
+                            WHERE e.acl_object_identity = oi.id
+                              AND oi.object_id_class = c.id
+                              AND c.class = :entityType
+                              AND oi.object_id_identity IN (:entityIds)""")
+                    .setParameter("entityType", entityType.getName())
+                    .setParameter("entityIds", batch)
+                    .executeUpdate();
+            entityManager
+                    .createNativeQuery("""
+                            DELETE FROM acl_object_identity oi
+                            USING acl_class c
+                            WHERE oi.object_id_class = c.id
+                              AND c.class = :entityType
+                              AND oi.object_id_identity IN (:entityIds)""")
+                    .setParameter("entityType", entityType.getName())
+                    .setParameter("entityIds", batch)
+                    .executeUpdate();
+        }
+        aclCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.ACL);
     }
 
     @Transactional
@@ -220,11 +290,19 @@ public class MemberService {
         }
         aclService.updateAcl(acl);
         entityManager.flush();
+        cacheInvalidationBus.publish(CacheInvalidationType.ACL);
     }
 
     @Transactional
     protected Membership deriveMembership(List<Permission> permissions) {
-        final List<Membership> memberships = membershipRepository.findAll();
+        return deriveMembership(
+                permissions.stream().map(Permission::getMask).toList(),
+                membershipRepository.findAll()
+        );
+    }
+
+    private Membership deriveMembership(List<Integer> masks, List<Membership> memberships) {
+        final List<Integer> pMasks = masks.stream().sorted().toList();
         for (Membership membership : memberships) {
             final List<MembershipPermission> membershipPermissions = membership.getPermissions();
             final List<Integer> mpMasks = membershipPermissions
@@ -232,11 +310,6 @@ public class MemberService {
                     .map(MembershipPermission::getMask)
                     .sorted()
                     .toList();
-            final List<Integer> pMasks = permissions
-                    .stream()
-                    .map(Permission::getMask)
-                    .sorted()
-                    .toList();
             if (mpMasks.equals(pMasks)) {
                 return membership;
             }
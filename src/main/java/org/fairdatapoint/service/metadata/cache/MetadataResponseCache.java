@@ -0,0 +1,198 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.metadata.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.config.properties.MetadataResponseCacheProperties;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataCommitListener;
+import org.fairdatapoint.util.RdfIOUtil;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bounded cache of fully rendered metadata responses keyed by record, media type and repository mode.
+ *
+ * <p>An entry is served only for the content version it was rendered for, so a response is never sent
+ * for another version of the record or its resource definition. Entries are also dropped on every committed
+ * metadata write (a catalog response includes themes of its datasets), on resource definition changes
+ * and on schema releases.</p>
+ */
+@Slf4j
+@Component
+public class MetadataResponseCache implements MetadataCommitListener {
+
+    private static final String CACHE_NAME = "metadataResponses";
+
+    private static final String SIZE_METER = "metadata.responses.size";
+
+    private final Cache<CacheKey, RenderedResponse> cache;
+
+    private final boolean enabled;
+
+    private final boolean gzip;
+
+    public MetadataResponseCache(MetadataResponseCacheProperties properties,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.gzip = properties.isGzip();
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((CacheKey key, RenderedResponse value) -> value.getWeight())
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            GuavaCacheMetrics.monitor(registry, cache, CACHE_NAME);
+            Gauge.builder(SIZE_METER, this, MetadataResponseCache::getSizeInBytes)
+                    .baseUnit(BaseUnits.BYTES)
+                    .description("Size of cached rendered metadata responses")
+                    .register(registry);
+        });
+        log.info("Metadata response cache {} (maximum size: {})",
+                enabled ? "enabled" : "disabled", properties.getMaxSize());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    public Optional<RenderedResponse> get(IRI uri, MediaType mediaType, RepositoryMode mode, String version) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional
+                .ofNullable(cache.getIfPresent(new CacheKey(uri, mediaType, mode)))
+                .filter(response -> response.version().equals(version));
+    }
+
+    /**
+     * Serializes the model and stores the result for further requests of the same representation.
+     *
+     * @param uri       URI of the metadata record
+     * @param mediaType negotiated media type (used as content type of the response)
+     * @param format    RDF format corresponding to the media type
+     * @param mode      repository mode the record was retrieved from
+     * @param version   version of the record and its resource definition
+     * @param model     complete response model
+     * @param links     Link headers of the response
+     * @return rendered response
+     * @throws IOException in case of serialization failure
+     */
+    public RenderedResponse render(IRI uri, MediaType mediaType, RDFFormat format, RepositoryMode mode,
+                                   String version, Model model, List<String> links) throws IOException {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        RdfIOUtil.write(model, body, format);
+        final byte[] bytes = body.toByteArray();
+        final RenderedResponse response = new RenderedResponse(
+                version, mediaType.toString(), List.copyOf(links), bytes, gzip ? compress(bytes) : null
+        );
+        if (enabled) {
+            cache.put(new CacheKey(uri, mediaType, mode), response);
+        }
+        return response;
+    }
+
+    @Override
+    public void committed(IRI context, List<Statement> mainStatements, List<Statement> draftsStatements) {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public boolean isStatementsRequired() {
+        return false;
+    }
+
+    /**
+     * Drops all responses. Within a transaction the responses are dropped again after its completion,
+     * so that responses rendered from the state before the commit are not kept.
+     */
+    @Override
+    public void invalidate() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    public long getSizeInBytes() {
+        return cache.asMap().values().stream().mapToLong(RenderedResponse::getWeight).sum();
+    }
+
+    private static byte[] compress(byte[] bytes) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(result)) {
+            gzipStream.write(bytes);
+        }
+        return result.toByteArray();
+    }
+
+    private record CacheKey(IRI uri, MediaType mediaType, RepositoryMode mode) {
+    }
+
+    /**
+     * Rendered response, the gzipped body is present only if enabled in configuration.
+     */
+    public record RenderedResponse(String version, String contentType, List<String> links, byte[] body,
+                                   byte[] gzipBody) {
+
+        public int getWeight() {
+            return body.length + (gzipBody == null ? 0 : gzipBody.length);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.catalog.CatalogMetadataRepository;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.service.metadata.common.AbstractMetadataService;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
@@ -49,8 +50,7 @@ public class CatalogMetadataService extends AbstractMetadataService {
     private CatalogMetadataRepository metadataRepository;
 
     @Override
-    public Model retrieve(@Nonnull IRI uri, RepositoryMode mode) throws MetadataServiceException {
-        final Model catalog = super.retrieve(uri, mode);
+    protected Model enrich(@Nonnull IRI uri, Model catalog, RepositoryMode mode) throws MetadataServiceException {
         try {
             final List<IRI> themes = metadataRepository.getDatasetThemesForCatalog(uri, mode);
             setThemeTaxonomies(catalog, uri, themes);
@@ -62,6 +62,16 @@ public class CatalogMetadataService extends AbstractMetadataService {
         return catalog;
     }
 
+    @Override
+    public MetadataVersion retrieveDerivedVersion(IRI uri, RepositoryMode mode) throws MetadataServiceException {
+        try {
+            return metadataRepository.getDatasetThemesVersion(uri, mode);
+        }
+        catch (MetadataRepositoryException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+    }
+
     @Override
     public Model store(
             Model metadata, IRI uri, ResourceDefinition resourceDefinition
@@ -24,12 +24,16 @@ package org.fairdatapoint.service.metadata.common;
 
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataGraph;
 import org.fairdatapoint.database.rdf.repository.common.MetadataRepository;
+import org.fairdatapoint.database.rdf.repository.common.MetadataUnitOfWork;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.fairdatapoint.entity.exception.ForbiddenException;
 import org.fairdatapoint.entity.exception.ResourceNotFoundException;
 import org.fairdatapoint.entity.metadata.Metadata;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
 import org.fairdatapoint.entity.metadata.MetadataGetter;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.entity.resource.ResourceDefinitionChild;
 import org.fairdatapoint.entity.user.UserAccount;
@@ -53,9 +57,7 @@ import java.time.OffsetDateTime;
 import java.util.*;
 
 import static java.lang.String.format;
-import static org.fairdatapoint.entity.metadata.MetadataGetter.getChildren;
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getParent;
-import static org.fairdatapoint.util.ThrowingFunction.suppress;
 import static org.fairdatapoint.util.ValueFactoryHelper.*;
 
 @Slf4j
@@ -94,40 +96,127 @@ public abstract class AbstractMetadataService implements MetadataService {
     @Override
     public Model retrieve(IRI uri, RepositoryMode mode) throws MetadataServiceException, ResourceNotFoundException {
         try {
-            // 1. Get metadata
-            final List<Statement> statements = metadataRepository.find(uri, mode);
-            if (statements.isEmpty()) {
-                if (mode.equals(RepositoryMode.MAIN)
-                        && !metadataRepository.find(uri, RepositoryMode.DRAFTS).isEmpty()) {
-                    throw new ForbiddenException(MSG_ERROR_DRAFT_FORBIDDEN);
-                }
-                throw new ResourceNotFoundException(
-                        format("No metadata found for the uri '%s'", uri)
-                );
-            }
+            return toModel(uri, metadataRepository.find(uri, mode), mode);
+        }
+        catch (MetadataRepositoryException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+    }
 
-            // 2. Convert to model
-            final Model metadata = new LinkedHashModel();
-            metadata.addAll(statements);
-            return metadata;
+    /**
+     * Creates metadata from a graph that has already been retrieved from the repository.
+     */
+    @Override
+    public Model retrieve(IRI uri, MetadataGraph graph, RepositoryMode mode)
+            throws MetadataServiceException, ResourceNotFoundException {
+        try {
+            return toModel(uri, graph.statements(), mode);
         }
         catch (MetadataRepositoryException exception) {
             throw new MetadataServiceException(exception.getMessage());
         }
     }
 
+    private Model toModel(IRI uri, List<Statement> statements, RepositoryMode mode)
+            throws MetadataRepositoryException, MetadataServiceException {
+        // 1. Check metadata
+        if (statements.isEmpty()) {
+            if (mode.equals(RepositoryMode.MAIN)
+                    && !metadataRepository.find(uri, RepositoryMode.DRAFTS).isEmpty()) {
+                throw new ForbiddenException(MSG_ERROR_DRAFT_FORBIDDEN);
+            }
+            throw new ResourceNotFoundException(
+                    format("No metadata found for the uri '%s'", uri)
+            );
+        }
+
+        // 2. Convert to model
+        final Model metadata = new LinkedHashModel();
+        metadata.addAll(statements);
+        return enrich(uri, metadata, mode);
+    }
+
     @Override
     public List<Model> retrieve(List<IRI> uris) {
         return retrieve(uris, RepositoryMode.MAIN);
     }
 
     @Override
-    public List<Model> retrieve(List<IRI> uris, RepositoryMode mode) {
-        return uris
-                .stream()
-                .map(suppress(uri -> retrieve(uri, mode)))
-                .filter(Objects::nonNull)
-                .toList();
+    public List<Model> retrieve(List<IRI> uris, RepositoryMode mode) throws MetadataServiceException {
+        return new ArrayList<>(retrieveAll(uris, mode).values());
+    }
+
+    @Override
+    public Map<IRI, Model> retrieveAll(Collection<IRI> uris, RepositoryMode mode) throws MetadataServiceException {
+        try {
+            final Map<IRI, Model> result = new LinkedHashMap<>();
+            for (Map.Entry<IRI, List<Statement>> entry : metadataRepository.findAll(uris, mode).entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    final Model metadata = new LinkedHashModel();
+                    metadata.addAll(entry.getValue());
+                    result.put(entry.getKey(), enrich(entry.getKey(), metadata, mode));
+                }
+            }
+            return result;
+        }
+        catch (MetadataRepositoryException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Creates metadata from graphs that have already been retrieved from the repository, missing ones are
+     * skipped.
+     */
+    @Override
+    public Map<IRI, Model> retrieveAll(Map<IRI, MetadataGraph> graphs, RepositoryMode mode)
+            throws MetadataServiceException {
+        final Map<IRI, Model> result = new LinkedHashMap<>();
+        for (Map.Entry<IRI, MetadataGraph> entry : graphs.entrySet()) {
+            if (!entry.getValue().statements().isEmpty()) {
+                final Model metadata = new LinkedHashModel();
+                metadata.addAll(entry.getValue().statements());
+                result.put(entry.getKey(), enrich(entry.getKey(), metadata, mode));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<MetadataAncestor> retrieveAncestors(IRI uri, RepositoryMode mode) throws MetadataServiceException {
+        try {
+            return metadataRepository.findAncestors(uri, mode);
+        }
+        catch (MetadataRepositoryException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+    }
+
+    /**
+     * Adds derived information to retrieved metadata, the default implementation returns them as they are.
+     *
+     * @param uri      URI of the metadata
+     * @param metadata retrieved metadata
+     * @param mode     repository mode the metadata were retrieved from
+     * @return enriched metadata
+     * @throws MetadataServiceException in case of failure
+     */
+    protected Model enrich(IRI uri, Model metadata, RepositoryMode mode) throws MetadataServiceException {
+        return metadata;
+    }
+
+    /**
+     * Returns version of the information added by {@link #enrich(IRI, Model, RepositoryMode)}, the default
+     * implementation returns an empty version as nothing is added.
+     *
+     * @param uri  URI of the metadata
+     * @param mode repository mode the metadata are retrieved from
+     * @return version of the derived information
+     * @throws MetadataServiceException in case of failure
+     */
+    @Override
+    public MetadataVersion retrieveDerivedVersion(IRI uri, RepositoryMode mode) throws MetadataServiceException {
+        return new MetadataVersion(0, null);
     }
 
     @Override
@@ -137,8 +226,10 @@ public abstract class AbstractMetadataService implements MetadataService {
         try {
             metadataValidator.validate(metadata, uri, resourceDefinition);
             metadataEnhancer.enhance(metadata, uri, resourceDefinition);
-            metadataRepository.save(new ArrayList<>(metadata), uri, RepositoryMode.DRAFTS);
-            updateParent(metadata, uri, resourceDefinition);
+            final MetadataUnitOfWork unitOfWork = metadataRepository.beginUnitOfWork();
+            unitOfWork.save(new ArrayList<>(metadata), uri, RepositoryMode.DRAFTS);
+            updateParent(metadata, uri, resourceDefinition, unitOfWork);
+            unitOfWork.commit();
             addPermissions(uri);
             return metadata;
         }
@@ -160,18 +251,9 @@ public abstract class AbstractMetadataService implements MetadataService {
             if (validate) {
                 metadataValidator.validate(metadata, uri, resourceDefinition);
             }
-            final Model oldMainMetadata = retrieve(uri, RepositoryMode.MAIN);
-            if (oldMainMetadata.isEmpty()) {
-                final Model oldDraftMetadata = retrieve(uri, RepositoryMode.DRAFTS);
-                metadataEnhancer.enhance(metadata, uri, resourceDefinition, oldDraftMetadata);
-                metadataRepository.remove(uri, RepositoryMode.DRAFTS);
-                metadataRepository.save(new ArrayList<>(metadata), uri, RepositoryMode.DRAFTS);
-            }
-            else {
-                metadataEnhancer.enhance(metadata, uri, resourceDefinition, oldMainMetadata);
-                metadataRepository.remove(uri, RepositoryMode.MAIN);
-                metadataRepository.save(new ArrayList<>(metadata), uri, RepositoryMode.MAIN);
-            }
+            final MetadataUnitOfWork unitOfWork = metadataRepository.beginUnitOfWork();
+            replace(metadata, uri, resourceDefinition, unitOfWork);
+            unitOfWork.commit();
             return metadata;
         }
         catch (MetadataRepositoryException | MetadataServiceException exception) {
@@ -183,46 +265,79 @@ public abstract class AbstractMetadataService implements MetadataService {
     @PreAuthorize("hasRole('ADMIN')")
     public void delete(IRI uri, ResourceDefinition rd) throws MetadataServiceException {
         try {
-            final Model metadata = retrieve(uri);
-
-            // Delete all children
-            for (ResourceDefinitionChild child : rd.getChildren()) {
-                final UUID childRdUuid = child.getTarget().getUuid();
-                final ResourceDefinition rdChild = resourceDefinitionCache.getByUuid(childRdUuid);
-                if (rdChild != null) {
-                    final List<IRI> children = getChildren(metadata, i(child.getRelationUri()));
-                    for (IRI childUri : children) {
-                        delete(childUri, rdChild);
-                    }
-                }
-            }
+            final MetadataUnitOfWork unitOfWork = metadataRepository.beginUnitOfWork();
+            final List<IRI> deletedUris = delete(uri, rd, unitOfWork);
+            unitOfWork.commit();
+            memberService.deleteAcls(deletedUris.stream().map(IRI::stringValue).toList(), Metadata.class);
+        }
+        catch (MetadataRepositoryException | MetadataServiceException exception) {
+            throw new MetadataServiceException(exception.getMessage());
+        }
+    }
+
+    private List<IRI> delete(
+            IRI uri, ResourceDefinition rd, MetadataUnitOfWork unitOfWork
+    ) throws MetadataServiceException, MetadataRepositoryException {
+        final Model metadata = retrieve(uri);
 
-            // Remove reference at parent
-            final Set<ResourceDefinition> rdParents =
-                    resourceDefinitionCache.getParentsByUuid(rd.getUuid());
+        // Collect the whole subtree
+        final List<IRI> uris = new ArrayList<>();
+        uris.add(uri);
+        final Set<IRI> relations = new HashSet<>();
+        collectChildRelations(rd, new HashSet<>(), relations);
+        uris.addAll(metadataRepository.findDescendants(uri, relations, RepositoryMode.COMBINED));
+
+        // Remove reference at parent
+        final IRI parentUri = getParent(metadata);
+        final Set<ResourceDefinition> rdParents =
+                resourceDefinitionCache.getParentsByUuid(rd.getUuid());
+        if (parentUri != null && !rdParents.isEmpty()) {
+            final Model parentMetadata = retrieve(parentUri);
             // select parent based on URI prefix
             for (ResourceDefinition rdParent : rdParents) {
-                final IRI parentUri = getParent(metadata);
-                final Model parentMetadata = retrieve(parentUri);
                 for (ResourceDefinitionChild rdChild : rdParent.getChildren()) {
                     if (rdChild.getTarget().getUuid().equals(rd.getUuid())) {
                         parentMetadata.remove(null, i(rdChild.getRelationUri()), uri);
-                        update(parentMetadata, parentUri, rdParent, false);
+                        replace(parentMetadata, parentUri, rdParent, unitOfWork);
                     }
                 }
             }
+        }
 
-            // Delete itself
-            metadataRepository.remove(uri, RepositoryMode.MAIN);
-            metadataRepository.remove(uri, RepositoryMode.DRAFTS);
+        // Delete the subtree including itself
+        unitOfWork.removeAll(uris, RepositoryMode.COMBINED);
+        return uris;
+    }
+
+    private void collectChildRelations(ResourceDefinition rd, Set<UUID> visited, Set<IRI> relations) {
+        if (rd == null || !visited.add(rd.getUuid())) {
+            return;
         }
-        catch (MetadataRepositoryException | MetadataServiceException exception) {
-            throw new MetadataServiceException(exception.getMessage());
+        for (ResourceDefinitionChild child : rd.getChildren()) {
+            relations.add(i(child.getRelationUri()));
+            collectChildRelations(resourceDefinitionCache.getByUuid(child.getTarget().getUuid()), visited, relations);
+        }
+    }
+
+    private void replace(
+            Model metadata, IRI uri, ResourceDefinition resourceDefinition, MetadataUnitOfWork unitOfWork
+    ) throws MetadataServiceException, MetadataRepositoryException {
+        final Model oldMainMetadata = retrieve(uri, RepositoryMode.MAIN);
+        if (oldMainMetadata.isEmpty()) {
+            final Model oldDraftMetadata = retrieve(uri, RepositoryMode.DRAFTS);
+            metadataEnhancer.enhance(metadata, uri, resourceDefinition, oldDraftMetadata);
+            unitOfWork.remove(uri, RepositoryMode.DRAFTS);
+            unitOfWork.save(new ArrayList<>(metadata), uri, RepositoryMode.DRAFTS);
+        }
+        else {
+            metadataEnhancer.enhance(metadata, uri, resourceDefinition, oldMainMetadata);
+            unitOfWork.remove(uri, RepositoryMode.MAIN);
+            unitOfWork.save(new ArrayList<>(metadata), uri, RepositoryMode.MAIN);
         }
     }
 
     protected void updateParent(
-            Model metadata, IRI uri, ResourceDefinition resourceDefinition
+            Model metadata, IRI uri, ResourceDefinition resourceDefinition, MetadataUnitOfWork unitOfWork
     ) throws MetadataServiceException {
         final IRI parent = MetadataGetter.getParent(metadata);
         if (parent != null) {
@@ -237,26 +352,17 @@ public abstract class AbstractMetadataService implements MetadataService {
                         }
                     }
                     final List<Statement> parentMetadata = metadataRepository.find(parent, RepositoryMode.MAIN);
-                    if (parentMetadata.isEmpty()) {
-                        metadataRepository.removeStatement(
-                                parent, FDP.METADATAMODIFIED, null, parent, RepositoryMode.DRAFTS
-                        );
-                        statements.add(s(parent, FDP.METADATAMODIFIED, l(OffsetDateTime.now())));
-                        metadataRepository.save(statements, parent, RepositoryMode.DRAFTS);
-                    }
-                    else {
-                        metadataRepository.removeStatement(
-                                parent, FDP.METADATAMODIFIED, null, parent, RepositoryMode.MAIN
-                        );
-                        statements.add(s(parent, FDP.METADATAMODIFIED, l(OffsetDateTime.now())));
-                        metadataRepository.save(statements, parent, RepositoryMode.MAIN);
-                    }
+                    final RepositoryMode parentMode =
+                            parentMetadata.isEmpty() ? RepositoryMode.DRAFTS : RepositoryMode.MAIN;
+                    unitOfWork.removeStatement(parent, FDP.METADATAMODIFIED, null, parent, parentMode);
+                    statements.add(s(parent, FDP.METADATAMODIFIED, l(OffsetDateTime.now())));
+                    unitOfWork.save(statements, parent, parentMode);
                 }
                 catch (MetadataRepositoryException exception) {
                     throw new MetadataServiceException("Problem with updating parent timestamp");
                 }
                 final Model parentMetadata = retrieve(parent);
-                updateParent(parentMetadata, parent, rdParent);
+                updateParent(parentMetadata, parent, rdParent, unitOfWork);
             }
         }
     }
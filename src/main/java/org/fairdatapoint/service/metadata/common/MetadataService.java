@@ -23,13 +23,18 @@
 package org.fairdatapoint.service.metadata.common;
 
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataGraph;
 import org.fairdatapoint.entity.exception.ResourceNotFoundException;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
+import org.fairdatapoint.entity.metadata.MetadataVersion;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface MetadataService {
 
@@ -41,6 +46,17 @@ public interface MetadataService {
 
     List<Model> retrieve(List<IRI> uri, RepositoryMode mode) throws MetadataServiceException, ResourceNotFoundException;
 
+    Map<IRI, Model> retrieveAll(Collection<IRI> uris, RepositoryMode mode) throws MetadataServiceException;
+
+    Model retrieve(IRI uri, MetadataGraph graph, RepositoryMode mode)
+            throws MetadataServiceException, ResourceNotFoundException;
+
+    Map<IRI, Model> retrieveAll(Map<IRI, MetadataGraph> graphs, RepositoryMode mode) throws MetadataServiceException;
+
+    List<MetadataAncestor> retrieveAncestors(IRI uri, RepositoryMode mode) throws MetadataServiceException;
+
+    MetadataVersion retrieveDerivedVersion(IRI uri, RepositoryMode mode) throws MetadataServiceException;
+
     Model store(
             Model metadata, IRI uri, ResourceDefinition resourceDefinition
     ) throws MetadataServiceException;
@@ -30,9 +30,8 @@ package org.fairdatapoint.service.metadata.metric;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.entity.metadata.Metric;
-import org.fairdatapoint.entity.settings.Settings;
-import org.fairdatapoint.entity.settings.SettingsMetric;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.apache.commons.codec.digest.DigestUtils;
 import org.eclipse.rdf4j.model.IRI;
 import org.springframework.stereotype.Service;
@@ -50,13 +49,13 @@ public class MetricsMetadataService {
     private final SettingsService settingsService;
 
     public List<Metric> generateMetrics(IRI metadataURI) {
-        final Settings settings = settingsService.getOrDefaults();
+        final SettingsSnapshot settings = settingsService.getOrDefaults();
         return settings.getMetrics().stream()
                 .map(entry -> toMetric(entry, metadataURI))
                 .toList();
     }
 
-    private Metric toMetric(SettingsMetric metric, IRI metadataURI) {
+    private Metric toMetric(SettingsSnapshot.MetricEntry metric, IRI metadataURI) {
         return new Metric(
                 i(format("%s/metrics/%s", metadataURI, DigestUtils.md5Hex(metric.getMetricUri()))),
                 i(metric.getResourceUri()),
@@ -32,7 +32,6 @@ import org.fairdatapoint.entity.exception.ValidationException;
 import org.fairdatapoint.entity.metadata.MetadataState;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.entity.resource.ResourceDefinitionChild;
-import org.fairdatapoint.service.metadata.common.MetadataService;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
 import org.fairdatapoint.service.user.CurrentUserService;
 import org.eclipse.rdf4j.model.IRI;
@@ -41,10 +40,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static org.fairdatapoint.util.RdfUtil.getObjectsBy;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
@@ -53,10 +49,6 @@ import static org.fairdatapoint.util.ValueFactoryHelper.i;
 @Service
 public class MetadataStateService {
 
-    @Autowired
-    @Qualifier("genericMetadataService")
-    private MetadataService metadataService;
-
     @Autowired
     @Qualifier("genericMetadataRepository")
     private MetadataRepository metadataRepository;
@@ -66,7 +58,7 @@ public class MetadataStateService {
 
     public boolean isDraft(IRI uri) throws MetadataServiceException {
         try {
-            return !metadataRepository.find(uri, RepositoryMode.DRAFTS).isEmpty();
+            return !metadataRepository.findExistingContexts(List.of(uri), RepositoryMode.DRAFTS).isEmpty();
         }
         catch (MetadataRepositoryException exc) {
             throw new MetadataServiceException(exc.getMessage());
@@ -75,7 +67,7 @@ public class MetadataStateService {
 
     public boolean isPublished(IRI uri) throws MetadataServiceException {
         try {
-            return !metadataRepository.find(uri, RepositoryMode.MAIN).isEmpty();
+            return !metadataRepository.findExistingContexts(List.of(uri), RepositoryMode.MAIN).isEmpty();
         }
         catch (MetadataRepositoryException exc) {
             throw new MetadataServiceException(exc.getMessage());
@@ -96,30 +88,30 @@ public class MetadataStateService {
         if (currentUserService.getCurrentUser().isEmpty()) {
             return null;
         }
-        final Model model = metadataService.retrieve(entityUri, RepositoryMode.COMBINED);
 
         // 2. Get metadata info for current
         final MetaStateDTO result = new MetaStateDTO();
         result.setCurrent(getState(entityUri));
 
         // 3. Get metadata info for children
-        // TODO: make querying more efficient (query published and drafts, in 2 queries)
-        final List<String> childrenUris = new ArrayList<>();
+        final Set<IRI> childrenUris = new LinkedHashSet<>();
         for (ResourceDefinitionChild rdChild : definition.getChildren()) {
             final IRI relationUri = i(rdChild.getRelationUri());
-            for (org.eclipse.rdf4j.model.Value childUri : getObjectsBy(model, entityUri, relationUri)) {
-                childrenUris.add(childUri.stringValue());
+            for (org.eclipse.rdf4j.model.Value childUri : getObjectsBy(entity, entityUri, relationUri)) {
+                childrenUris.add(i(childUri.stringValue()));
             }
         }
         final Map<String, MetadataState> children = new HashMap<>();
-        childrenUris.forEach(childUri -> {
-            try {
-                children.put(childUri, getState(i(childUri)));
-            }
-            catch (MetadataServiceException exc) {
-                log.warn("Failed to metadata check state: {} ({})", childUri, exc.getMessage());
-            }
-        });
+        try {
+            final Set<IRI> drafts = metadataRepository.findExistingContexts(childrenUris, RepositoryMode.DRAFTS);
+            drafts.forEach(childUri -> children.put(childUri.stringValue(), MetadataState.DRAFT));
+            childrenUris.removeAll(drafts);
+            metadataRepository.findExistingContexts(childrenUris, RepositoryMode.MAIN)
+                    .forEach(childUri -> children.put(childUri.stringValue(), MetadataState.PUBLISHED));
+        }
+        catch (MetadataRepositoryException exc) {
+            log.warn("Failed to check metadata state of children: {} ({})", entityUri, exc.getMessage());
+        }
         result.setChildren(children);
         return result;
     }
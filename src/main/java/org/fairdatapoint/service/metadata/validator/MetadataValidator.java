@@ -30,7 +30,7 @@ import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
 import org.fairdatapoint.service.rdf.ShaclValidator;
 import org.fairdatapoint.service.resource.ResourceDefinitionService;
-import org.fairdatapoint.service.schema.MetadataSchemaService;
+import org.fairdatapoint.service.schema.MetadataSchemaArtifactRegistry;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
@@ -45,6 +45,8 @@ import static org.fairdatapoint.util.ValueFactoryHelper.i;
 @Service
 public class MetadataValidator {
 
+    private static final String LATEST_SCHEMAS_SHAPES = "latest";
+
     @Autowired
     @Qualifier("genericMetadataRepository")
     private MetadataRepository metadataRepository;
@@ -53,7 +55,7 @@ public class MetadataValidator {
     private ShaclValidator shaclValidator;
 
     @Autowired
-    private MetadataSchemaService metadataSchemaService;
+    private MetadataSchemaArtifactRegistry metadataSchemaArtifactRegistry;
 
     @Autowired
     private ResourceDefinitionService resourceDefinitionService;
@@ -66,8 +68,8 @@ public class MetadataValidator {
     }
 
     private void validateByShacl(Model metadata, IRI uri) {
-        final Model shacl = metadataSchemaService.getShaclFromSchemas();
-        shaclValidator.validate(shacl, metadata, uri.stringValue());
+        shaclValidator.validate(LATEST_SCHEMAS_SHAPES,
+                () -> metadataSchemaArtifactRegistry.getArtifacts().getLatestShapes(), metadata, uri.stringValue());
     }
 
     private void validateParent(Model metadata, ResourceDefinition definition) throws MetadataServiceException {
@@ -26,8 +26,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.config.properties.InstanceProperties;
 import org.fairdatapoint.config.properties.PingProperties;
-import org.fairdatapoint.entity.settings.Settings;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -57,8 +57,8 @@ public class PingService {
             fixedRateString = "${ping.interval:P7D}"
     )
     public void ping() {
-        final Settings settings = settingsService.getOrDefaults();
-        if (!settings.getPingEnabled() || !pingProperties.isEnabled()) {
+        final SettingsSnapshot settings = settingsService.getOrDefaults();
+        if (!settings.isPingEnabled() || !pingProperties.isEnabled()) {
             return;
         }
         final List<String> endpoints = Stream.concat(
@@ -23,10 +23,10 @@
 package org.fairdatapoint.service.profile;
 
 import lombok.RequiredArgsConstructor;
-import org.fairdatapoint.database.db.repository.MetadataSchemaVersionRepository;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
-import org.fairdatapoint.entity.schema.MetadataSchemaVersion;
 import org.fairdatapoint.service.resource.ResourceDefinitionService;
+import org.fairdatapoint.service.schema.MetadataSchemaArtifactRegistry;
+import org.fairdatapoint.service.schema.MetadataSchemaArtifacts;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
@@ -52,7 +52,7 @@ public class ProfileService {
 
     private final String persistentUrl;
 
-    private final MetadataSchemaVersionRepository metadataSchemaRepository;
+    private final MetadataSchemaArtifactRegistry metadataSchemaArtifactRegistry;
 
     private final ResourceDefinitionService resourceDefinitionService;
 
@@ -67,29 +67,29 @@ public class ProfileService {
                 i(format("%sisProfileOf", PROFILE_PREFIX)),
                 i(format("%s/profile/core", persistentUrl))
         );
+        final MetadataSchemaArtifacts artifacts = metadataSchemaArtifactRegistry.getArtifacts();
         resourceDefinition
                 .getMetadataSchemaUsages()
                 .forEach(usage -> {
-                    metadataSchemaRepository
-                            .getLatestBySchemaUuid(usage.getUsedMetadataSchema().getUuid()).ifPresent(schema -> {
-                                addSchemaToProfile(uri, profile, schema);
-                            });
+                    artifacts.getSchema(usage.getUsedMetadataSchema().getUuid()).ifPresent(schema -> {
+                        addSchemaToProfile(uri, profile, schema);
+                    });
                 });
         return profile;
     }
 
-    private void addSchemaToProfile(IRI uri, Model profile, MetadataSchemaVersion schema) {
+    private void addSchemaToProfile(IRI uri, Model profile, MetadataSchemaArtifacts.SchemaArtifact schema) {
         final ModelBuilder modelBuilder = new ModelBuilder();
         final Resource resource = bn();
         modelBuilder.subject(resource);
         modelBuilder.add(RDF.TYPE, i(format("%s#ResourceDescriptor", PROFILE_PREFIX)));
-        modelBuilder.add(RDFS.LABEL, l(schema.getName()));
+        modelBuilder.add(RDFS.LABEL, l(schema.name()));
         modelBuilder.add(DCTERMS.FORMAT, i("https://w3id.org/mediatype/text/turtle"));
         modelBuilder.add(DCTERMS.CONFORMS_TO, i("https://www.w3.org/TR/shacl/"));
         modelBuilder.add(i(format("%shasRole", PROFILE_PREFIX)), i(format("%srole/Validation",
                 PROFILE_PREFIX)));
         modelBuilder.add(i(format("%shasArtifact", PROFILE_PREFIX)), i(format("%s/metadata-schemas/%s",
-                persistentUrl, schema.getUuid())));
+                persistentUrl, schema.versionUuid())));
         profile.add(uri, i(format("%shasResource", PROFILE_PREFIX)), resource);
         profile.addAll(new ArrayList<>(modelBuilder.build()));
     }
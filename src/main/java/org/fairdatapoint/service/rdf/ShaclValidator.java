@@ -22,8 +22,14 @@
  */
 package org.fairdatapoint.service.rdf;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.entity.exception.RdfValidationException;
 import org.fairdatapoint.entity.exception.ValidationException;
+import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.vocabulary.RDF4J;
 import org.eclipse.rdf4j.repository.RepositoryException;
@@ -32,45 +38,176 @@ import org.eclipse.rdf4j.repository.sail.SailRepositoryConnection;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.eclipse.rdf4j.sail.shacl.ShaclSail;
 import org.eclipse.rdf4j.sail.shacl.ShaclSailValidationException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
 
+/**
+ * Validates RDF data against SHACL shapes.
+ *
+ * <p>Shapes are identified by a key chosen by the caller. For every key, a pool of SHACL sails with the
+ * shapes already loaded (and thus parsed) is kept, so a validation only adds the data to a warmed sail
+ * and removes them again. Each sail is used by one validation at a time. Pools are dropped by
+ * {@link #invalidate()}, which has to be called whenever the shapes may change.</p>
+ */
+@Slf4j
 @Service
 public class ShaclValidator {
 
-    public void validate(Model shacl, Model data, String baseUri) {
-        // 1. Prepare repository
-        final ShaclSail shaclSail = new ShaclSail(new MemoryStore());
-        shaclSail.setRdfsSubClassReasoning(true);
-        final SailRepository sailRepository = new SailRepository(shaclSail);
-        sailRepository.init();
+    private static final String VALIDATION_METER_NAME = "fdp.shacl.validation";
+
+    private static final String COMPILATION_METER_NAME = "fdp.shacl.compilation";
+
+    private static final String TAG_SHAPES = "shapes";
+
+    private static final String TAG_OUTCOME = "outcome";
+
+    private static final int MAX_IDLE_SAILS = 4;
+
+    private final Map<String, ShapesPool> pools = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final MeterRegistry meterRegistry;
+
+    public ShaclValidator(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+    }
+
+    public void validate(String shapesKey, Supplier<Model> shacl, Model data, String baseUri) {
+        final long start = System.nanoTime();
+        final ShapesPool pool = pools.computeIfAbsent(shapesKey, key -> new ShapesPool(key, generation.get()));
+        final SailRepository sailRepository = pool.borrow(shacl);
+        boolean reusable = false;
+        String outcome = "error";
+        try {
+            validate(sailRepository, data, i(baseUri));
+            reusable = true;
+            outcome = "valid";
+        }
+        catch (RdfValidationException exception) {
+            reusable = true;
+            outcome = "invalid";
+            throw exception;
+        }
+        finally {
+            pool.giveBack(sailRepository, reusable);
+            Timer.builder(VALIDATION_METER_NAME)
+                    .tag(TAG_SHAPES, shapesKey)
+                    .tag(TAG_OUTCOME, outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        pools.values().forEach(ShapesPool::close);
+        pools.clear();
+    }
+
+    @PreDestroy
+    public void shutDown() {
+        invalidate();
+    }
 
+    private void validate(SailRepository sailRepository, Model data, IRI context) {
         try (SailRepositoryConnection connection = sailRepository.getConnection()) {
-            // 2. Save SHACL
-            connection.begin();
-            connection.add(shacl, RDF4J.SHACL_SHAPE_GRAPH);
+            try {
+                connection.begin();
+                connection.add(new ArrayList<>(data), context);
+                connection.commit();
+            }
+            catch (RepositoryException exception) {
+                if (connection.isActive()) {
+                    connection.rollback();
+                }
+                final Throwable cause = exception.getCause();
+                if (cause instanceof ShaclSailValidationException validationException) {
+                    throw new RdfValidationException(validationException.validationReportAsModel());
+                }
+                throw new ValidationException("Validation failed (unsupported exception)");
+            }
+            // the data are valid and were stored, the sail has to be empty for the next validation
+            connection.begin(ShaclSail.TransactionSettings.ValidationApproach.Disabled);
+            connection.clear(context);
             connection.commit();
+        }
+    }
 
-            // 3. Validate data
-            connection.begin();
-            connection.add(new ArrayList<>(data), i(baseUri));
-            connection.commit();
+    private final class ShapesPool {
 
+        private final String shapesKey;
+
+        private final long poolGeneration;
+
+        private final ConcurrentLinkedDeque<SailRepository> idle = new ConcurrentLinkedDeque<>();
+
+        private volatile boolean closed;
+
+        private ShapesPool(String shapesKey, long poolGeneration) {
+            this.shapesKey = shapesKey;
+            this.poolGeneration = poolGeneration;
         }
-        catch (RepositoryException exception) {
-            final Throwable cause = exception.getCause();
-            if (cause instanceof ShaclSailValidationException) {
-                final Model validationReportModel =
-                        ((ShaclSailValidationException) cause).validationReportAsModel();
-                throw new RdfValidationException(validationReportModel);
+
+        private SailRepository borrow(Supplier<Model> shacl) {
+            final SailRepository sailRepository = idle.pollFirst();
+            if (sailRepository != null) {
+                return sailRepository;
             }
-            throw new ValidationException("Validation failed (unsupported exception)");
+            return compile(shacl.get());
         }
-        finally {
-            shaclSail.shutDown();
+
+        private void giveBack(SailRepository sailRepository, boolean reusable) {
+            if (reusable && !closed && poolGeneration == generation.get() && idle.size() < MAX_IDLE_SAILS) {
+                idle.offerFirst(sailRepository);
+                // the pool could have been closed meanwhile
+                if (!closed || !idle.remove(sailRepository)) {
+                    return;
+                }
+            }
+            sailRepository.shutDown();
+        }
+
+        private SailRepository compile(Model shacl) {
+            final long start = System.nanoTime();
+            final ShaclSail shaclSail = new ShaclSail(new MemoryStore());
+            shaclSail.setRdfsSubClassReasoning(true);
+            final SailRepository sailRepository = new SailRepository(shaclSail);
+            sailRepository.init();
+            try (SailRepositoryConnection connection = sailRepository.getConnection()) {
+                connection.begin();
+                connection.add(shacl, RDF4J.SHACL_SHAPE_GRAPH);
+                connection.commit();
+            }
+            catch (RepositoryException exception) {
+                sailRepository.shutDown();
+                throw new ValidationException("Validation failed (invalid SHACL shapes)");
+            }
+            Timer.builder(COMPILATION_METER_NAME)
+                    .tag(TAG_SHAPES, shapesKey)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.debug("Compiled SHACL shapes '{}' ({} statements)", shapesKey, shacl.size());
+            return sailRepository;
+        }
+
+        private void close() {
+            closed = true;
+            SailRepository sailRepository = idle.pollFirst();
+            while (sailRepository != null) {
+                sailRepository.shutDown();
+                sailRepository = idle.pollFirst();
+            }
         }
     }
 
@@ -25,11 +25,18 @@ package org.fairdatapoint.service.reset;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.api.dto.reset.ResetDTO;
 import org.fairdatapoint.database.db.repository.*;
+import org.fairdatapoint.database.rdf.repository.catalog.DatasetThemeIndex;
+import org.fairdatapoint.database.rdf.repository.common.MetadataRepository;
+import org.fairdatapoint.database.rdf.repository.common.MetadataStatementCache;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache;
 import org.fairdatapoint.service.metadata.exception.MetadataServiceException;
 import org.fairdatapoint.service.metadata.generic.GenericMetadataService;
 import org.fairdatapoint.service.resource.ResourceDefinitionCache;
 import org.fairdatapoint.service.resource.ResourceDefinitionTargetClassesCache;
+import org.fairdatapoint.service.schema.MetadataSchemaArtifactRegistry;
 import org.fairdatapoint.service.settings.SettingsService;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Statement;
@@ -71,6 +78,19 @@ public class ResetService {
     @Autowired
     private Repository draftsRepository;
 
+    @Autowired
+    private MetadataStatementCache metadataStatementCache;
+
+    @Autowired
+    private DatasetThemeIndex datasetThemeIndex;
+
+    @Autowired
+    private MetadataResponseCache metadataResponseCache;
+
+    @Autowired
+    @Qualifier("genericMetadataRepository")
+    private MetadataRepository metadataRepository;
+
     @Autowired
     private ApiKeyRepository apiKeyRepository;
 
@@ -92,6 +112,9 @@ public class ResetService {
     @Autowired
     private ResourceDefinitionCache resourceDefinitionCache;
 
+    @Autowired
+    private MetadataSchemaArtifactRegistry metadataSchemaArtifactRegistry;
+
     @Autowired
     private ResourceDefinitionTargetClassesCache resourceDefinitionTargetClassesCache;
 
@@ -101,6 +124,9 @@ public class ResetService {
     @Autowired
     private SettingsService settingsService;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @PreAuthorize("hasRole('ADMIN')")
     public void resetToFactoryDefaults(ResetDTO reqDto) throws Exception {
         log.info("Resetting to factory defaults");
@@ -110,6 +136,7 @@ public class ResetService {
         if (reqDto.isUsers() || reqDto.isMetadata()) {
             clearMemberships();
             restoreDefaultMemberships();
+            cacheInvalidationBus.publish(CacheInvalidationType.ACL);
         }
         if (reqDto.isUsers()) {
             clearApiKeys();
@@ -125,9 +152,11 @@ public class ResetService {
             clearMetadataSchemas();
             restoreDefaultMetadataSchemas();
             restoreDefaultResourceDefinitions();
+            cacheInvalidationBus.publish(CacheInvalidationType.METADATA_SCHEMAS);
         }
         resourceDefinitionCache.computeCache();
         resourceDefinitionTargetClassesCache.computeCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.RESOURCE_DEFINITIONS);
     }
 
     private void clearApiKeys() {
@@ -150,6 +179,7 @@ public class ResetService {
     private void clearMetadataSchemas() {
         log.debug("Clearing metadata schemas");
         metadataSchemaRepository.deleteAll();
+        metadataSchemaArtifactRegistry.rebuild();
     }
 
     private void clearResourceDefinitions() {
@@ -190,6 +220,13 @@ public class ResetService {
         catch (RepositoryException exception) {
             log.error(exception.getMessage(), exception);
         }
+        finally {
+            metadataStatementCache.invalidateAll();
+            datasetThemeIndex.invalidate();
+            metadataResponseCache.invalidate();
+        }
+        metadataRepository.reindexFullTextAsync();
+        cacheInvalidationBus.publish(CacheInvalidationType.METADATA);
     }
 
     private void restoreDefaultMetadataSchemas() throws Exception {
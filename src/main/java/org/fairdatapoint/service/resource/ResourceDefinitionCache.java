@@ -29,7 +29,7 @@ import org.fairdatapoint.database.db.repository.ResourceDefinitionChildRepositor
 import org.fairdatapoint.database.db.repository.ResourceDefinitionRepository;
 import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -42,7 +42,7 @@ import static org.fairdatapoint.config.CacheConfig.RESOURCE_DEFINITION_PARENT_CA
 @RequiredArgsConstructor
 public class ResourceDefinitionCache {
 
-    private final ConcurrentMapCacheManager cacheManager;
+    private final CacheManager cacheManager;
 
     private final ResourceDefinitionRepository resourceDefinitionRepository;
 
@@ -35,7 +35,10 @@ import org.fairdatapoint.entity.resource.ResourceDefinition;
 import org.fairdatapoint.entity.resource.ResourceDefinitionChild;
 import org.fairdatapoint.entity.resource.ResourceDefinitionLink;
 import org.fairdatapoint.entity.schema.MetadataSchema;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.service.membership.MembershipService;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache;
 import org.fairdatapoint.service.openapi.OpenApiService;
 import org.fairdatapoint.service.schema.MetadataSchemaService;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -72,6 +75,8 @@ public class ResourceDefinitionService {
 
     private final ResourceDefinitionTargetClassesCache targetClassesCache;
 
+    private final MetadataResponseCache metadataResponseCache;
+
     private final MetadataSchemaService metadataSchemaService;
 
     private final MembershipService membershipService;
@@ -80,6 +85,8 @@ public class ResourceDefinitionService {
 
     private final EntityManager entityManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     public ResourceDefinitionDTO toDTO(ResourceDefinition definition) {
         return mapper.toDTO(definition, getTargetClassUris(definition));
     }
@@ -142,6 +149,8 @@ public class ResourceDefinitionService {
 
         resourceDefinitionCache.computeCache();
         targetClassesCache.computeCache();
+        metadataResponseCache.invalidate();
+        cacheInvalidationBus.publish(CacheInvalidationType.RESOURCE_DEFINITIONS);
 
         membershipService.addToMembership(definition);
         openApiService.updateGenericPaths(definition);
@@ -168,6 +177,8 @@ public class ResourceDefinitionService {
 
         resourceDefinitionCache.computeCache();
         targetClassesCache.computeCache();
+        metadataResponseCache.invalidate();
+        cacheInvalidationBus.publish(CacheInvalidationType.RESOURCE_DEFINITIONS);
         openApiService.updateGenericPaths(updatedDefinition);
         return Optional.of(updatedDefinition).map(this::toDTO);
     }
@@ -196,6 +207,8 @@ public class ResourceDefinitionService {
         // 5. Recompute cache
         resourceDefinitionCache.computeCache();
         targetClassesCache.computeCache();
+        metadataResponseCache.invalidate();
+        cacheInvalidationBus.publish(CacheInvalidationType.RESOURCE_DEFINITIONS);
 
         // 6. Delete from OpenAPI docs
         openApiService.removeGenericPaths(rd);
@@ -26,7 +26,7 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.fairdatapoint.database.db.repository.*;
 import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -37,7 +37,7 @@ import static org.fairdatapoint.config.CacheConfig.RESOURCE_DEFINITION_TARGET_CL
 @RequiredArgsConstructor
 public class ResourceDefinitionTargetClassesCache {
 
-    private final ConcurrentMapCacheManager cacheManager;
+    private final CacheManager cacheManager;
 
     private final ResourceDefinitionRepository resourceDefinitionRepository;
 
@@ -0,0 +1,123 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.schema;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fairdatapoint.database.db.repository.MetadataSchemaVersionRepository;
+import org.fairdatapoint.entity.schema.MetadataSchemaExtension;
+import org.fairdatapoint.entity.schema.MetadataSchemaState;
+import org.fairdatapoint.entity.schema.MetadataSchemaVersion;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache;
+import org.fairdatapoint.service.rdf.ShaclValidator;
+import org.fairdatapoint.util.RdfIOUtil;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds parsed and merged artifacts of the latest metadata schema versions.
+ *
+ * <p>Artifacts are built on first use and replaced as a whole by {@link #rebuild()}, readers always see
+ * one consistent snapshot. When called within a transaction, the rebuild is postponed until the
+ * transaction is completed, so the snapshot is built from committed schemas only.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MetadataSchemaArtifactRegistry {
+
+    private final MetadataSchemaVersionRepository versionRepository;
+
+    private final ShaclValidator shaclValidator;
+
+    private final MetadataResponseCache metadataResponseCache;
+
+    private final AtomicReference<MetadataSchemaArtifacts> artifacts = new AtomicReference<>();
+
+    private long version;
+
+    public MetadataSchemaArtifacts getArtifacts() {
+        final MetadataSchemaArtifacts current = artifacts.get();
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (artifacts.get() == null) {
+                artifacts.set(build());
+            }
+            return artifacts.get();
+        }
+    }
+
+    public void rebuild() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    rebuildNow();
+                }
+            });
+        }
+        else {
+            rebuildNow();
+        }
+    }
+
+    private void rebuildNow() {
+        synchronized (this) {
+            artifacts.set(build());
+        }
+        shaclValidator.invalidate();
+        metadataResponseCache.invalidate();
+    }
+
+    private MetadataSchemaArtifacts build() {
+        final List<MetadataSchemaArtifacts.SchemaArtifact> schemas = versionRepository
+                .findAllByState(MetadataSchemaState.LATEST)
+                .stream()
+                .map(MetadataSchemaArtifactRegistry::toArtifact)
+                .toList();
+        version++;
+        log.debug("Built metadata schema artifacts (version: {}, schemas: {})", version, schemas.size());
+        return new MetadataSchemaArtifacts(version, schemas);
+    }
+
+    private static MetadataSchemaArtifacts.SchemaArtifact toArtifact(MetadataSchemaVersion schema) {
+        return new MetadataSchemaArtifacts.SchemaArtifact(
+                schema.extractSchemaUuid(),
+                schema.getUuid(),
+                schema.getName(),
+                schema.getExtensions()
+                        .stream()
+                        .sorted(Comparator.comparing(MetadataSchemaExtension::getOrderPriority))
+                        .map(extension -> extension.getExtendedMetadataSchema().getUuid())
+                        .toList(),
+                RdfIOUtil.read(schema.getDefinition(), "")
+        );
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.schema;
+
+import org.fairdatapoint.entity.exception.ResourceNotFoundException;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.lang.String.format;
+
+/**
+ * Immutable snapshot of parsed latest metadata schema versions and shapes merged from them.
+ *
+ * <p>Merged shapes are computed on first request for a combination of schemas and kept for the lifetime
+ * of the snapshot. Returned models are shared and must not be modified.</p>
+ */
+public final class MetadataSchemaArtifacts {
+
+    private final long version;
+
+    private final Map<UUID, SchemaArtifact> schemas;
+
+    private final Model latestShapes;
+
+    private final Map<Set<UUID>, Model> mergedShapes = new ConcurrentHashMap<>();
+
+    MetadataSchemaArtifacts(long version, List<SchemaArtifact> schemas) {
+        this.version = version;
+        final Map<UUID, SchemaArtifact> schemaMap = new LinkedHashMap<>();
+        schemas.forEach(schema -> schemaMap.put(schema.schemaUuid(), schema));
+        this.schemas = Collections.unmodifiableMap(schemaMap);
+        this.latestShapes = merge(schemas);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<UUID, SchemaArtifact> getSchemas() {
+        return schemas;
+    }
+
+    public Optional<SchemaArtifact> getSchema(UUID schemaUuid) {
+        return Optional.ofNullable(schemas.get(schemaUuid));
+    }
+
+    public Model getLatestShapes() {
+        return latestShapes;
+    }
+
+    public Model getShapes(Collection<UUID> schemaUuids) {
+        final Set<UUID> key = Set.copyOf(schemaUuids);
+        final Model cached = mergedShapes.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // resolved outside computeIfAbsent, so a missing schema is reported to the caller
+        final Model shapes = merge(resolveExtends(key));
+        final Model previous = mergedShapes.putIfAbsent(key, shapes);
+        return previous == null ? shapes : previous;
+    }
+
+    private List<SchemaArtifact> resolveExtends(Set<UUID> schemaUuids) {
+        final Set<UUID> addedSchemaUuids = new HashSet<>();
+        final List<SchemaArtifact> result = new ArrayList<>();
+        for (UUID schemaUuid : schemaUuids) {
+            final SchemaArtifact schema = getSchema(schemaUuid).orElseThrow(() ->
+                    new ResourceNotFoundException(format("Metadata schema '%s' not found", schemaUuid)));
+            addedSchemaUuids.add(schemaUuid);
+            result.add(schema);
+        }
+        int index = 0;
+        while (index < result.size()) {
+            for (UUID extendUuid : result.get(index).extendsSchemaUuids()) {
+                if (schemas.containsKey(extendUuid) && addedSchemaUuids.add(extendUuid)) {
+                    result.add(schemas.get(extendUuid));
+                }
+            }
+            index++;
+        }
+        return result;
+    }
+
+    private static Model merge(Collection<SchemaArtifact> schemas) {
+        final Model model = new LinkedHashModel();
+        schemas.forEach(schema -> model.addAll(schema.shapes()));
+        return model;
+    }
+
+    public record SchemaArtifact(UUID schemaUuid, UUID versionUuid, String name, List<UUID> extendsSchemaUuids,
+                                 Model shapes) {
+    }
+}
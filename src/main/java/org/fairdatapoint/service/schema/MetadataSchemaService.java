@@ -35,6 +35,8 @@ import org.fairdatapoint.entity.exception.ResourceNotFoundException;
 import org.fairdatapoint.entity.exception.ValidationException;
 import org.fairdatapoint.entity.resource.MetadataSchemaUsage;
 import org.fairdatapoint.entity.schema.*;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.service.resource.ResourceDefinitionTargetClassesCache;
 import org.fairdatapoint.util.RdfIOUtil;
 import org.eclipse.rdf4j.model.Model;
@@ -75,10 +77,14 @@ public class MetadataSchemaService {
 
     private final ResourceDefinitionTargetClassesCache targetClassesCache;
 
+    private final MetadataSchemaArtifactRegistry artifactRegistry;
+
     private final String persistentUrl;
 
     private final EntityManager entityManager;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     // ===============================================================================================
     // Schema drafts
 
@@ -201,6 +207,8 @@ public class MetadataSchemaService {
         versionRepository.save(newLatest);
         // Update cache
         targetClassesCache.computeCache();
+        artifactRegistry.rebuild();
+        cacheInvalidationBus.publish(CacheInvalidationType.METADATA_SCHEMAS);
         final List<MetadataSchemaVersion> versions = versionRepository.getBySchemaUuid(uuid);
         final List<MetadataSchemaVersion> childs = extensionRepository
                 .findByExtendedMetadataSchema(newLatest.getSchema())
@@ -284,6 +292,8 @@ public class MetadataSchemaService {
         else {
             versionRepository.delete(schema);
         }
+        artifactRegistry.rebuild();
+        cacheInvalidationBus.publish(CacheInvalidationType.METADATA_SCHEMAS);
         return true;
     }
 
@@ -306,6 +316,8 @@ public class MetadataSchemaService {
         entityManager.flush();
         // Update cache
         targetClassesCache.computeCache();
+        artifactRegistry.rebuild();
+        cacheInvalidationBus.publish(CacheInvalidationType.METADATA_SCHEMAS);
         return true;
     }
 
@@ -390,7 +402,7 @@ public class MetadataSchemaService {
     }
 
     public Model getShaclFromSchemas() {
-        return mergeSchemaDefinitions(versionRepository.findAllByState(MetadataSchemaState.LATEST));
+        return new LinkedHashModel(artifactRegistry.getArtifacts().getLatestShapes());
     }
 
     public Model getShaclFromSchemas(MetadataSchemaPreviewRequestDTO reqDto) {
@@ -398,16 +410,7 @@ public class MetadataSchemaService {
     }
 
     public Model getShaclFromSchemas(List<UUID> metadataSchemaUuids) {
-        final Set<UUID> schemaUuids = new HashSet<>(metadataSchemaUuids);
-        final List<MetadataSchemaVersion> schemas = schemaUuids
-                .stream()
-                .map(schemaUuid -> {
-                    return versionRepository
-                                    .getLatestBySchemaUuid(schemaUuid)
-                                    .orElseThrow(() -> raiseNotFound(schemaUuid));
-                })
-                .toList();
-        return mergeSchemaDefinitions(resolveExtends(schemas));
+        return new LinkedHashModel(artifactRegistry.getArtifacts().getShapes(metadataSchemaUuids));
     }
 
     public Model getShaclFromSchemaUsages(List<MetadataSchemaUsage> usages) {
@@ -603,6 +606,8 @@ public class MetadataSchemaService {
         });
         schemas.forEach(this::importVersions);
         entityManager.flush();
+        artifactRegistry.rebuild();
+        cacheInvalidationBus.publish(CacheInvalidationType.METADATA_SCHEMAS);
         return reqDtos
                 .stream()
                 .map(schema -> versionRepository.findByUuid(schema.getVersionUuid()).orElse(null))
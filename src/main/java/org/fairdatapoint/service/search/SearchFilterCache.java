@@ -30,7 +30,7 @@ import org.fairdatapoint.entity.search.SearchFilterCacheContainer;
 import org.fairdatapoint.service.label.LabelService;
 import org.fairdatapoint.service.settings.SettingsCache;
 import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import static java.lang.String.format;
@@ -41,7 +41,7 @@ import static org.fairdatapoint.config.CacheConfig.SEARCH_FILTERS_CACHE;
 @RequiredArgsConstructor
 public class SearchFilterCache {
 
-    private final ConcurrentMapCacheManager cacheManager;
+    private final CacheManager cacheManager;
 
     private final SettingsCache settingsCache;
 
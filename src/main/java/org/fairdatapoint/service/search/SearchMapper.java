@@ -25,8 +25,7 @@ package org.fairdatapoint.service.search;
 import org.fairdatapoint.api.dto.search.*;
 import org.fairdatapoint.entity.search.SearchFilterValue;
 import org.fairdatapoint.entity.search.SearchResult;
-import org.fairdatapoint.entity.settings.SettingsSearchFilter;
-import org.fairdatapoint.entity.settings.SettingsSearchFilterItem;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -61,11 +60,11 @@ public class SearchMapper {
         );
     }
 
-    public SearchFilterDTO toFilterDTO(SettingsSearchFilter filter) {
+    public SearchFilterDTO toFilterDTO(SettingsSnapshot.SearchFilter filter) {
         return SearchFilterDTO
                 .builder()
                 .type(filter.getType())
-                .queryFromRecords(filter.getQueryRecords())
+                .queryFromRecords(filter.isQueryRecords())
                 .predicate(filter.getPredicate())
                 .label(filter.getLabel())
                 .values(filter
@@ -77,7 +76,7 @@ public class SearchMapper {
                 .build();
     }
 
-    public SearchFilterItemDTO toFilterItemDTO(SettingsSearchFilterItem item) {
+    public SearchFilterItemDTO toFilterItemDTO(SettingsSnapshot.SearchFilterItem item) {
         return SearchFilterItemDTO
                 .builder()
                 .value(item.getValue())
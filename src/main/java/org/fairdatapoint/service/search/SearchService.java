@@ -24,21 +24,27 @@ package org.fairdatapoint.service.search;
 
 import com.google.common.io.Resources;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.api.dto.search.*;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.MetadataFullTextIndex;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
 import org.fairdatapoint.entity.search.SearchFilterCacheContainer;
 import org.fairdatapoint.entity.search.SearchFilterType;
 import org.fairdatapoint.entity.search.SearchFilterValue;
 import org.fairdatapoint.entity.search.SearchResult;
-import org.fairdatapoint.entity.settings.SettingsSearchFilter;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.service.metadata.state.MetadataStateService;
 import org.fairdatapoint.service.settings.SettingsService;
+import org.fairdatapoint.service.settings.SettingsSnapshot;
 import org.apache.commons.lang.text.StrSubstitutor;
 import org.eclipse.rdf4j.query.MalformedQueryException;
 import org.eclipse.rdf4j.query.parser.sparql.SPARQLParser;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -53,6 +59,7 @@ import static java.util.stream.Collectors.toList;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
 import static org.fairdatapoint.util.ValueFactoryHelper.l;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchService {
@@ -63,6 +70,8 @@ public class SearchService {
 
     private final GenericMetadataRepository metadataRepository;
 
+    private final MetadataFullTextIndex metadataFullTextIndex;
+
     private final MetadataStateService metadataStateService;
 
     private final SearchMapper searchMapper;
@@ -71,6 +80,8 @@ public class SearchService {
 
     private final SearchFilterCache searchFilterCache;
 
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     @Qualifier("persistentUrl")
     private final String persistentUrl;
 
@@ -80,6 +91,15 @@ public class SearchService {
         return search(searchSavedQueryDTO.getVariables());
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindex() throws MetadataRepositoryException {
+        if (metadataFullTextIndex.isRestored()) {
+            log.info("Using full-text index persisted on disk");
+            return;
+        }
+        metadataRepository.reindexFullText();
+    }
+
     public List<SearchResultDTO> search(SearchQueryDTO reqDto) throws MetadataRepositoryException {
         final List<SearchResult> results = metadataRepository.findByLiteral(l(reqDto.getQuery()), RepositoryMode.MAIN);
         return processSearchResults(results);
@@ -113,10 +133,11 @@ public class SearchService {
 
     public List<SearchFilterDTO> resetSearchFilters() {
         searchFilterCache.clearCache();
+        cacheInvalidationBus.publish(CacheInvalidationType.SEARCH_FILTERS);
         return getSearchFilters();
     }
 
-    private SearchFilterDTO enrichItems(SettingsSearchFilter filter) {
+    private SearchFilterDTO enrichItems(SettingsSnapshot.SearchFilter filter) {
         final SearchFilterDTO result = searchMapper.toFilterDTO(filter);
         final Set<String> values =
                 result
@@ -124,7 +145,7 @@ public class SearchService {
                         .stream()
                         .map(SearchFilterItemDTO::getValue)
                         .collect(Collectors.toSet());
-        if (filter.getQueryRecords()) {
+        if (filter.isQueryRecords()) {
             final List<SearchFilterItemDTO> xvalues = new ArrayList<>();
             xvalues.addAll(result.getValues());
             xvalues.addAll(
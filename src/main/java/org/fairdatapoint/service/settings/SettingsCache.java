@@ -28,26 +28,21 @@ import org.fairdatapoint.api.controller.settings.SettingsDefaults;
 import org.fairdatapoint.database.db.repository.SettingsRepository;
 import org.fairdatapoint.entity.settings.Settings;
 import org.fairdatapoint.util.KnownUUIDs;
-import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
-
-import static org.fairdatapoint.config.CacheConfig.SETTINGS_CACHE;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class SettingsCache {
 
-    private static final String SETTINGS_KEY = "settings";
-
-    private final ConcurrentMapCacheManager cacheManager;
-
     private final SettingsRepository settingsRepository;
 
     private final SettingsDefaults settingsDefaults;
 
+    private final AtomicReference<SettingsSnapshot> snapshot = new AtomicReference<>();
+
     @PostConstruct
     public void updateCachedSettings() {
         updateCachedSettings(
@@ -58,23 +53,13 @@ public class SettingsCache {
     }
 
     public void updateCachedSettings(Settings settings) {
-        // Get cache
-        final Cache cache = cache();
-
-        // Clear cache
-        cache.clear();
-
-        // Add to cache
-        cache.put(SETTINGS_KEY, settings);
+        // Materialize before publishing, readers never see a partially loaded snapshot
+        snapshot.set(SettingsSnapshot.of(settings));
     }
 
-    public Settings getOrDefaults() {
+    public SettingsSnapshot getOrDefaults() {
         return Optional
-                .ofNullable(cache().get(SETTINGS_KEY, Settings.class))
-                .orElse(settingsDefaults.getDefaults());
-    }
-
-    private Cache cache() {
-        return cacheManager.getCache(SETTINGS_CACHE);
+                .ofNullable(snapshot.get())
+                .orElseGet(() -> SettingsSnapshot.of(settingsDefaults.getDefaults()));
     }
 }
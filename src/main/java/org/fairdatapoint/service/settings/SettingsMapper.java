@@ -50,7 +50,7 @@ public class SettingsMapper {
 
     private final SearchMapper searchMapper;
 
-    public SettingsDTO toDTO(Settings settings) {
+    public SettingsDTO toDTO(SettingsSnapshot settings) {
         return SettingsDTO.builder()
                 .clientUrl(instanceProperties.getClientUrl())
                 .persistentUrl(instanceProperties.getPersistentUrl())
@@ -67,18 +67,18 @@ public class SettingsMapper {
                 .build();
     }
 
-    private SettingsFormsDTO toFormsDTO(Settings settings) {
+    private SettingsFormsDTO toFormsDTO(SettingsSnapshot settings) {
         return SettingsFormsDTO.builder()
                 .autocomplete(
                         SettingsFormsAutocompleteDTO.builder()
-                                .searchNamespace(settings.getAutocompleteSearchNamespace())
+                                .searchNamespace(settings.isAutocompleteSearchNamespace())
                                 .sources(settings.getAutocompleteSources().stream().map(this::toSourceDTO).toList())
                                 .build()
                 )
                 .build();
     }
 
-    private SettingsAutocompleteSourceDTO toSourceDTO(SettingsAutocompleteSource source) {
+    private SettingsAutocompleteSourceDTO toSourceDTO(SettingsSnapshot.AutocompleteSource source) {
         return SettingsAutocompleteSourceDTO.builder()
                 .rdfType(source.getRdfType())
                 .sparqlEndpoint(source.getSparqlEndpoint())
@@ -86,23 +86,23 @@ public class SettingsMapper {
                 .build();
     }
 
-    private SettingsSearchDTO toSearchDTO(Settings settings) {
+    private SettingsSearchDTO toSearchDTO(SettingsSnapshot settings) {
         return SettingsSearchDTO.builder()
                 .filters(settings.getSearchFilters().stream().map(this::toSearchFilterDTO).toList())
                 .build();
     }
 
-    private SearchFilterDTO toSearchFilterDTO(SettingsSearchFilter settingsSearchFilter) {
+    private SearchFilterDTO toSearchFilterDTO(SettingsSnapshot.SearchFilter settingsSearchFilter) {
         return SearchFilterDTO.builder()
                 .type(settingsSearchFilter.getType())
                 .label(settingsSearchFilter.getLabel())
                 .predicate(settingsSearchFilter.getPredicate())
-                .queryFromRecords(settingsSearchFilter.getQueryRecords())
+                .queryFromRecords(settingsSearchFilter.isQueryRecords())
                 .values(settingsSearchFilter.getItems().stream().map(this::toSearchFilterItemDTO).toList())
                 .build();
     }
 
-    private SearchFilterItemDTO toSearchFilterItemDTO(SettingsSearchFilterItem settingsSearchFilterItem) {
+    private SearchFilterItemDTO toSearchFilterItemDTO(SettingsSnapshot.SearchFilterItem settingsSearchFilterItem) {
         return SearchFilterItemDTO.builder()
                 .label(settingsSearchFilterItem.getLabel())
                 .value(settingsSearchFilterItem.getValue())
@@ -121,9 +121,9 @@ public class SettingsMapper {
                 .build();
     }
 
-    private SettingsPingDTO toPingDTO(Settings settings) {
+    private SettingsPingDTO toPingDTO(SettingsSnapshot settings) {
         return SettingsPingDTO.builder()
-                .enabled(settings.getPingEnabled())
+                .enabled(settings.isPingEnabled())
                 .endpoints(settings.getPingEndpoints())
                 .endpointsFromConfig(pingProperties.getEndpoints())
                 .interval(pingProperties.getInterval().toString())
@@ -137,6 +137,13 @@ public class SettingsMapper {
                 .build();
     }
 
+    public SettingsMetricDTO toMetricDTO(SettingsSnapshot.MetricEntry metric) {
+        return SettingsMetricDTO.builder()
+                .metricUri(metric.getMetricUri())
+                .resourceUri(metric.getResourceUri())
+                .build();
+    }
+
     private String redact(String secret) {
         return secret != null ? "<SECRET>" : null;
     }
@@ -36,6 +36,8 @@ import org.fairdatapoint.entity.settings.Settings;
 import org.fairdatapoint.entity.settings.SettingsAutocompleteSource;
 import org.fairdatapoint.entity.settings.SettingsMetric;
 import org.fairdatapoint.entity.settings.SettingsSearchFilter;
+import org.fairdatapoint.service.cache.CacheInvalidationBus;
+import org.fairdatapoint.service.cache.CacheInvalidationType;
 import org.fairdatapoint.util.KnownUUIDs;
 import org.springframework.stereotype.Service;
 
@@ -65,7 +67,9 @@ public class SettingsService {
 
     private final SettingsDefaults settingsDefaults;
 
-    public Settings getOrDefaults() {
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public SettingsSnapshot getOrDefaults() {
         return settingsCache.getOrDefaults();
     }
 
@@ -75,7 +79,13 @@ public class SettingsService {
 
     @Transactional
     public SettingsDTO updateSettings(SettingsUpdateDTO dto) {
-        final Settings oldSettings = getOrDefaults();
+        final Settings oldSettings = settingsRepository
+                .findByUuid(KnownUUIDs.SETTINGS_UUID)
+                .orElseGet(settingsDefaults::getDefaults);
+        if (entityManager.contains(oldSettings)) {
+            // Keep working on a detached copy, as with the previously cached entity
+            entityManager.detach(oldSettings);
+        }
 
         // update Settings
         final Settings newSettings = mapper.fromUpdateDTO(dto, oldSettings);
@@ -94,7 +104,8 @@ public class SettingsService {
         newSettings.setSearchFilters(searchFilters);
 
         settingsCache.updateCachedSettings(newSettings);
-        return mapper.toDTO(newSettings);
+        cacheInvalidationBus.publish(CacheInvalidationType.SETTINGS);
+        return mapper.toDTO(getOrDefaults());
     }
 
     private List<SettingsMetric> updateMetrics(SettingsUpdateDTO dto, Settings settings) {
@@ -154,7 +165,8 @@ public class SettingsService {
         entityManager.refresh(newSettings);
 
         settingsCache.updateCachedSettings(newSettings);
-        return mapper.toDTO(newSettings);
+        cacheInvalidationBus.publish(CacheInvalidationType.SETTINGS);
+        return mapper.toDTO(getOrDefaults());
     }
 
 }
@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.settings;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fairdatapoint.entity.search.SearchFilterType;
+import org.fairdatapoint.entity.settings.Settings;
+import org.fairdatapoint.entity.settings.SettingsAutocompleteSource;
+import org.fairdatapoint.entity.settings.SettingsMetric;
+import org.fairdatapoint.entity.settings.SettingsSearchFilter;
+import org.fairdatapoint.entity.settings.SettingsSearchFilterItem;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Fully loaded, immutable copy of {@link Settings} shared by all readers.
+ *
+ * <p>Collections of the entity are materialized once when the snapshot is taken, so reading the
+ * settings never touches the database.</p>
+ */
+@Getter
+@AllArgsConstructor
+public final class SettingsSnapshot {
+
+    private final String appTitle;
+
+    private final String appSubtitle;
+
+    private final boolean pingEnabled;
+
+    private final List<String> pingEndpoints;
+
+    private final boolean autocompleteSearchNamespace;
+
+    private final List<MetricEntry> metrics;
+
+    private final List<AutocompleteSource> autocompleteSources;
+
+    private final List<SearchFilter> searchFilters;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, AutocompleteSource> autocompleteSourcesByRdfType;
+
+    public static SettingsSnapshot of(Settings settings) {
+        final List<AutocompleteSource> autocompleteSources =
+                copy(settings.getAutocompleteSources(), AutocompleteSource::of);
+        final Map<String, AutocompleteSource> autocompleteSourcesByRdfType = new LinkedHashMap<>();
+        autocompleteSources.forEach(source -> autocompleteSourcesByRdfType.putIfAbsent(source.getRdfType(), source));
+        return new SettingsSnapshot(
+                settings.getAppTitle(),
+                settings.getAppSubtitle(),
+                Boolean.TRUE.equals(settings.getPingEnabled()),
+                copy(settings.getPingEndpoints(), Function.identity()),
+                Boolean.TRUE.equals(settings.getAutocompleteSearchNamespace()),
+                copy(settings.getMetrics(), MetricEntry::of),
+                autocompleteSources,
+                copy(settings.getSearchFilters(), SearchFilter::of),
+                Map.copyOf(autocompleteSourcesByRdfType)
+        );
+    }
+
+    public Optional<AutocompleteSource> getAutocompleteSource(String rdfType) {
+        return Optional.ofNullable(autocompleteSourcesByRdfType.get(rdfType));
+    }
+
+    private static <S, T> List<T> copy(Collection<S> source, Function<S, T> mapper) {
+        if (source == null) {
+            return List.of();
+        }
+        return source.stream().map(mapper).toList();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class MetricEntry {
+
+        private final String metricUri;
+
+        private final String resourceUri;
+
+        static MetricEntry of(SettingsMetric metric) {
+            return new MetricEntry(metric.getMetricUri(), metric.getResourceUri());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class AutocompleteSource {
+
+        private final String rdfType;
+
+        private final String sparqlEndpoint;
+
+        private final String sparqlQuery;
+
+        static AutocompleteSource of(SettingsAutocompleteSource source) {
+            return new AutocompleteSource(source.getRdfType(), source.getSparqlEndpoint(), source.getSparqlQuery());
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class SearchFilter {
+
+        private final SearchFilterType type;
+
+        private final String label;
+
+        private final String predicate;
+
+        private final boolean queryRecords;
+
+        private final List<SearchFilterItem> items;
+
+        static SearchFilter of(SettingsSearchFilter filter) {
+            return new SearchFilter(
+                    filter.getType(),
+                    filter.getLabel(),
+                    filter.getPredicate(),
+                    Boolean.TRUE.equals(filter.getQueryRecords()),
+                    copy(filter.getItems(), SearchFilterItem::of)
+            );
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class SearchFilterItem {
+
+        private final String label;
+
+        private final String value;
+
+        static SearchFilterItem of(SettingsSearchFilterItem item) {
+            return new SearchFilterItem(item.getLabel(), item.getValue());
+        }
+    }
+}
@@ -22,15 +22,19 @@
  */
 package org.fairdatapoint.util;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.fairdatapoint.entity.exception.ValidationException;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.List;
 import java.util.UUID;
 
 import static java.lang.String.format;
@@ -53,6 +57,10 @@ public class HttpUtil {
 
     private static final String HEADER_TOKEN_PREFIX = "Bearer ";
 
+    private static final char ETAG_PART_SEPARATOR = '\u0000';
+
+    private static final String ENCODING_GZIP = "gzip";
+
     private static final String[] IP_HEADER_CANDIDATES = {
         "X-Forwarded-For",
         "X-Real-IP",
@@ -137,10 +145,43 @@ public class HttpUtil {
             case "application/ld+json" -> RDFFormat.JSONLD;
             case "application/rdf+xml" -> RDFFormat.RDFXML;
             case "text/n3" -> RDFFormat.N3;
+            case "application/n-triples" -> RDFFormat.NTRIPLES;
+            case "application/n-quads" -> RDFFormat.NQUADS;
+            case "application/x-binary-rdf" -> RDFFormat.BINARY;
             default -> RDFFormat.TURTLE;
         };
     }
 
+    public static RDFFormat getRdfContentType(MediaType mediaType) {
+        if (mediaType == null) {
+            return RDFFormat.TURTLE;
+        }
+        return getRdfContentType(format("%s/%s", mediaType.getType(), mediaType.getSubtype()));
+    }
+
+    public static String createStrongEtag(List<?> parts) {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Object part : parts) {
+            hasher.putUnencodedChars(String.valueOf(part)).putChar(ETAG_PART_SEPARATOR);
+        }
+        return format("\"%s\"", hasher.hash());
+    }
+
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            final String[] parts = encoding.trim().split(";");
+            if (ENCODING_GZIP.equalsIgnoreCase(parts[0].trim())
+                    && !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public static String getToken(HttpServletRequest req) {
         return ofNullable(req.getHeader(HttpHeaders.AUTHORIZATION))
                 .filter(header -> header.startsWith(HEADER_TOKEN_PREFIX))
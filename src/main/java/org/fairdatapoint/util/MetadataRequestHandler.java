@@ -0,0 +1,137 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.util;
+
+import org.fairdatapoint.entity.exception.PayloadTooLargeException;
+import org.fairdatapoint.entity.exception.ValidationException;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+import java.util.*;
+
+import static java.lang.String.format;
+import static org.fairdatapoint.entity.metadata.MetadataSetter.setRdfTypes;
+import static org.fairdatapoint.util.ValueFactoryHelper.s;
+
+/**
+ * Collects metadata sent in a request while it is being parsed.
+ *
+ * <p>Statements are added to a single model as they arrive. On creation, the subject typed with one of the
+ * target classes is renamed to the new metadata IRI and relations to children are dropped; on update,
+ * descriptions of the referenced children are dropped instead.</p>
+ */
+public final class MetadataRequestHandler extends AbstractRDFHandler {
+
+    private static final String MSG_NO_RDF_TYPE = "Validation failed (no rdf:type was provided)";
+
+    private final Model model = new LinkedHashModel();
+
+    private final IRI uri;
+
+    private final List<IRI> targetClasses;
+
+    private final Set<IRI> childRelations;
+
+    private final boolean create;
+
+    private final long maxStatements;
+
+    private final Map<IRI, Resource> typedSubjects = new HashMap<>();
+
+    private final Map<IRI, Resource> childEntities = new HashMap<>();
+
+    private MetadataRequestHandler(IRI uri, List<IRI> targetClasses, Set<IRI> childRelations, boolean create,
+                                   long maxStatements) {
+        this.uri = uri;
+        this.targetClasses = targetClasses;
+        this.childRelations = childRelations;
+        this.create = create;
+        this.maxStatements = maxStatements;
+    }
+
+    public static MetadataRequestHandler forCreate(IRI uri, List<IRI> targetClasses, Set<IRI> childRelations,
+                                                   long maxStatements) {
+        return new MetadataRequestHandler(uri, targetClasses, childRelations, true, maxStatements);
+    }
+
+    public static MetadataRequestHandler forUpdate(IRI uri, Set<IRI> childRelations, long maxStatements) {
+        return new MetadataRequestHandler(uri, List.of(), childRelations, false, maxStatements);
+    }
+
+    @Override
+    public void handleNamespace(String prefix, String namespace) throws RDFHandlerException {
+        model.setNamespace(prefix, namespace);
+    }
+
+    @Override
+    public void handleStatement(Statement statement) throws RDFHandlerException {
+        if (model.size() >= maxStatements) {
+            throw new PayloadTooLargeException(format("Request contains more than %d statements", maxStatements));
+        }
+        final IRI predicate = statement.getPredicate();
+        if (childRelations.contains(predicate)) {
+            if (create) {
+                return;
+            }
+            if (statement.getObject() instanceof Resource child) {
+                childEntities.putIfAbsent(predicate, child);
+            }
+        }
+        if (create && RDF.TYPE.equals(predicate) && statement.getObject() instanceof IRI type
+                && targetClasses.contains(type)) {
+            typedSubjects.putIfAbsent(type, statement.getSubject());
+        }
+        model.add(statement);
+    }
+
+    public Model getModel() {
+        if (create) {
+            renameSubject();
+        }
+        else {
+            childEntities.values().forEach(child -> model.remove(child, null, null));
+        }
+        return model;
+    }
+
+    private void renameSubject() {
+        final Resource oldUri = targetClasses
+                .stream()
+                .map(typedSubjects::get)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> new ValidationException(MSG_NO_RDF_TYPE));
+        if (!oldUri.equals(uri)) {
+            final List<Statement> statements = new ArrayList<>(model.filter(oldUri, null, null));
+            model.remove(oldUri, null, null);
+            statements.forEach(statement -> model.add(s(uri, statement.getPredicate(), statement.getObject())));
+        }
+        setRdfTypes(model, uri, targetClasses);
+    }
+}
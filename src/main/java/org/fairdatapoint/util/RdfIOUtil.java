@@ -22,8 +22,11 @@
  */
 package org.fairdatapoint.util;
 
+import com.google.common.base.Throwables;
+import org.fairdatapoint.entity.exception.PayloadTooLargeException;
 import org.fairdatapoint.entity.exception.ValidationException;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Namespace;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.impl.LinkedHashModel;
@@ -35,15 +38,23 @@ import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
 import org.eclipse.rdf4j.rio.*;
 import org.eclipse.rdf4j.rio.helpers.BasicWriterSettings;
+import org.eclipse.rdf4j.rio.helpers.RDFHandlerWrapper;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static java.lang.String.format;
 import static org.fairdatapoint.entity.metadata.MetadataSetter.setRdfTypes;
 import static org.fairdatapoint.util.RdfUtil.getSubjectBy;
 import static org.fairdatapoint.util.ResourceReader.getResource;
@@ -60,6 +71,19 @@ public class RdfIOUtil {
 
     private static final String MSG_EXC_HANDLER = "Unable to read RDF (handler exception)";
 
+    private static final List<Namespace> NAMESPACES = List.of(
+            DCTERMS.NS,
+            DCAT.NS,
+            FOAF.NS,
+            XMLSchema.NS,
+            LDP.NS
+    );
+
+    private static final Set<String> NAMESPACE_PREFIXES =
+            NAMESPACES.stream().map(Namespace::getPrefix).collect(Collectors.toUnmodifiableSet());
+
+    private static final int WRITE_BUFFER_SIZE = 16 * 1024;
+
     public static Model changeBaseUri(Model oldModel, String newBaseUri, List<String> rdfTypes) {
         // - get baseUri
         final Resource oldBaseUri = rdfTypes
@@ -111,7 +135,7 @@ public class RdfIOUtil {
     }
 
     public static Model read(String content, String baseUri, RDFFormat format) {
-        try (InputStream inputStream = new ByteArrayInputStream(content.getBytes())) {
+        try (InputStream inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))) {
             return Rio.parse(inputStream, baseUri, format);
         }
         catch (IOException exception) {
@@ -125,19 +149,59 @@ public class RdfIOUtil {
         }
     }
 
+    public static Model read(byte[] content, String baseUri, RDFFormat format) {
+        try (InputStream inputStream = new ByteArrayInputStream(content)) {
+            return Rio.parse(inputStream, baseUri, format);
+        }
+        catch (IOException exception) {
+            throw new ValidationException(MSG_EXC_IO);
+        }
+        catch (RDFParseException exception) {
+            throw new ValidationException(MSG_EXC_PARSE);
+        }
+        catch (RDFHandlerException exception) {
+            throw new ValidationException(MSG_EXC_HANDLER);
+        }
+    }
+
+    public static void read(InputStream inputStream, String baseUri, RDFFormat format, long maxBytes,
+                            RDFHandler handler) {
+        final SizeLimitedInputStream limitedStream = new SizeLimitedInputStream(inputStream, maxBytes);
+        final RDFParser parser = Rio.createParser(format);
+        parser.setRDFHandler(handler);
+        try {
+            parser.parse(limitedStream, baseUri);
+        }
+        catch (IOException exception) {
+            throw translateReadException(exception, MSG_EXC_IO);
+        }
+        catch (RDFParseException exception) {
+            throw translateReadException(exception, MSG_EXC_PARSE);
+        }
+        catch (RDFHandlerException exception) {
+            throw translateReadException(exception, MSG_EXC_HANDLER);
+        }
+    }
+
+    private static RuntimeException translateReadException(Exception exception, String message) {
+        // parsers may wrap exceptions thrown by the stream or the handler
+        for (Throwable cause : Throwables.getCausalChain(exception)) {
+            if (cause instanceof PayloadTooLargeException payloadTooLargeException) {
+                return payloadTooLargeException;
+            }
+        }
+        return new ValidationException(message);
+    }
+
     public static String write(Model model) {
         return write(model, RDFFormat.TURTLE);
     }
 
     public static String write(Model model, RDFFormat format) {
-        model.setNamespace(DCTERMS.NS);
-        model.setNamespace(DCAT.NS);
-        model.setNamespace(FOAF.NS);
-        model.setNamespace(XMLSchema.NS);
-        model.setNamespace(LDP.NS);
-
         try (StringWriter out = new StringWriter()) {
-            Rio.write(model, out, format, getWriterConfig());
+            final RDFWriter writer = Rio.createWriter(format, out);
+            writer.setWriterConfig(getWriterConfig());
+            writeModel(model, withNamespaces(writer));
             return out.toString();
         }
         catch (IOException exception) {
@@ -145,10 +209,97 @@ public class RdfIOUtil {
         }
     }
 
+    public static void write(Model model, OutputStream out, RDFFormat format) throws IOException {
+        write(handler -> writeModel(model, handler), out, format, getWriterConfig());
+    }
+
+    public static void write(RdfStream stream, OutputStream out, RDFFormat format) throws IOException {
+        // blank node inlining would force the writer to buffer the whole stream
+        write(stream, out, format, new WriterConfig());
+    }
+
+    private static void write(RdfStream stream, OutputStream out, RDFFormat format, WriterConfig config)
+            throws IOException {
+        final OutputStream bufferedOut = new BufferedOutputStream(out, WRITE_BUFFER_SIZE);
+        final RDFWriter writer = Rio.createWriter(format, bufferedOut);
+        writer.setWriterConfig(config);
+        stream.writeTo(withNamespaces(writer));
+        bufferedOut.flush();
+    }
+
+    private static RDFHandler withNamespaces(RDFWriter writer) {
+        return new RDFHandlerWrapper(writer) {
+            @Override
+            public void startRDF() throws RDFHandlerException {
+                writer.startRDF();
+                for (Namespace namespace : NAMESPACES) {
+                    writer.handleNamespace(namespace.getPrefix(), namespace.getName());
+                }
+            }
+        };
+    }
+
+    private static void writeModel(Model model, RDFHandler handler) throws RDFHandlerException {
+        handler.startRDF();
+        for (Namespace namespace : model.getNamespaces()) {
+            if (!NAMESPACE_PREFIXES.contains(namespace.getPrefix())) {
+                handler.handleNamespace(namespace.getPrefix(), namespace.getName());
+            }
+        }
+        for (Statement statement : model) {
+            handler.handleStatement(statement);
+        }
+        handler.endRDF();
+    }
+
     public static WriterConfig getWriterConfig() {
         final WriterConfig config = new WriterConfig();
         config.set(BasicWriterSettings.INLINE_BLANK_NODES, true);
         return config;
     }
 
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+
+        private long readBytes;
+
+        private SizeLimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int result = super.read();
+            if (result != -1) {
+                count(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            final int result = super.read(buffer, offset, length);
+            if (result > 0) {
+                count(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            final long result = super.skip(length);
+            count(result);
+            return result;
+        }
+
+        private void count(long bytes) throws IOException {
+            readBytes += bytes;
+            if (readBytes > maxBytes) {
+                throw new IOException(new PayloadTooLargeException(
+                        format("Request body is larger than %d bytes", maxBytes)));
+            }
+        }
+    }
 }
@@ -23,8 +23,14 @@
 package org.fairdatapoint.acceptance.metadata.catalog;
 
 import org.fairdatapoint.WebIntegrationTest;
+import org.fairdatapoint.api.dto.metadata.MetaStateChangeDTO;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
+import org.fairdatapoint.entity.metadata.MetadataState;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -35,13 +41,24 @@ import java.net.URI;
 
 import static java.lang.String.format;
 import static org.fairdatapoint.acceptance.common.NotFoundTest.createUserNotFoundTestGetRDF;
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsNull.notNullValue;
+import static org.hamcrest.core.IsNull.nullValue;
 
 @DisplayName("GET /catalog/:catalogId")
 public class Detail_GET extends WebIntegrationTest {
 
+    @Autowired
+    @Qualifier("persistentUrl")
+    private String persistentUrl;
+
+    @Autowired
+    private GenericMetadataRepository repository;
+
     private URI url(String id) {
         return URI.create(format("/catalog/%s", id));
     }
@@ -64,6 +81,29 @@ public class Detail_GET extends WebIntegrationTest {
         assertThat(result.getStatusCode(), is(equalTo(HttpStatus.OK)));
     }
 
+    @Test
+    @DisplayName("HTTP 200: Repeated request gets the same response")
+    public void res200_repeated() {
+        // GIVEN:
+        RequestEntity<Void> request = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .build();
+        ParameterizedTypeReference<String> responseType = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<String> previous = client.exchange(request, responseType);
+
+        // WHEN:
+        ResponseEntity<String> result = client.exchange(request, responseType);
+
+        // THEN:
+        assertThat(result.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(result.getBody(), is(equalTo(previous.getBody())));
+        assertThat(result.getHeaders().getContentType(), is(equalTo(previous.getHeaders().getContentType())));
+        assertThat(result.getHeaders().get(HttpHeaders.LINK),
+                is(equalTo(previous.getHeaders().get(HttpHeaders.LINK))));
+    }
+
     @Test
     @DisplayName("HTTP 200: Draft (User is logged in)")
     public void res200_draft() {
@@ -102,6 +142,92 @@ public class Detail_GET extends WebIntegrationTest {
         assertThat(result.getBody(), is(equalTo("You are not allow to view this record in state DRAFT")));
     }
 
+    @Test
+    @DisplayName("HTTP 304: Not modified since the previous response")
+    public void res304() {
+        // GIVEN:
+        RequestEntity<Void> request = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .build();
+        ParameterizedTypeReference<String> responseType = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<String> previous = client.exchange(request, responseType);
+        RequestEntity<Void> conditionalRequest = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .ifNoneMatch(previous.getHeaders().getETag())
+                .build();
+
+        // WHEN:
+        ResponseEntity<String> result = client.exchange(conditionalRequest, responseType);
+
+        // THEN:
+        assertThat(previous.getHeaders().getETag(), is(notNullValue()));
+        assertThat(result.getStatusCode(), is(equalTo(HttpStatus.NOT_MODIFIED)));
+        assertThat(result.getBody(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("HTTP 200: Dataset of the catalog was published since the previous response")
+    public void res200_datasetPublished() throws MetadataRepositoryException {
+        // GIVEN: Dataset with a theme not used by other datasets of the catalog is a draft
+        repository.moveToDrafts(i(persistentUrl + "/dataset/dataset-1"));
+        RequestEntity<Void> request = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .build();
+        ParameterizedTypeReference<String> responseType = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<String> previous = client.exchange(request, responseType);
+
+        // AND: Dataset is published
+        RequestEntity<MetaStateChangeDTO> publishRequest = RequestEntity
+                .put(URI.create("/dataset/dataset-1/meta/state"))
+                .header(HttpHeaders.AUTHORIZATION, ALBERT_TOKEN)
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .body(new MetaStateChangeDTO(MetadataState.PUBLISHED));
+        client.exchange(publishRequest, new ParameterizedTypeReference<MetaStateChangeDTO>() {
+        });
+        RequestEntity<Void> conditionalRequest = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .ifNoneMatch(previous.getHeaders().getETag())
+                .build();
+
+        // WHEN:
+        ResponseEntity<String> result = client.exchange(conditionalRequest, responseType);
+
+        // THEN:
+        assertThat(result.getStatusCode(), is(equalTo(HttpStatus.OK)));
+        assertThat(result.getHeaders().getETag(), is(not(equalTo(previous.getHeaders().getETag()))));
+        assertThat(result.getBody(), is(not(equalTo(previous.getBody()))));
+    }
+
+    @Test
+    @DisplayName("HTTP 200: Entity tag of another representation")
+    public void res200_otherRepresentation() {
+        // GIVEN:
+        RequestEntity<Void> request = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "text/turtle")
+                .build();
+        ParameterizedTypeReference<String> responseType = new ParameterizedTypeReference<>() {
+        };
+        ResponseEntity<String> previous = client.exchange(request, responseType);
+        RequestEntity<Void> conditionalRequest = RequestEntity
+                .get(url("catalog-1"))
+                .header(HttpHeaders.ACCEPT, "application/ld+json")
+                .ifNoneMatch(previous.getHeaders().getETag())
+                .build();
+
+        // WHEN:
+        ResponseEntity<String> result = client.exchange(conditionalRequest, responseType);
+
+        // THEN:
+        assertThat(result.getStatusCode(), is(equalTo(HttpStatus.OK)));
+    }
+
     @Test
     @DisplayName("HTTP 404")
     public void res404() {
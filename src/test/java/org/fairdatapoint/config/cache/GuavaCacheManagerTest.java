@@ -0,0 +1,151 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.config.cache;
+
+import org.fairdatapoint.config.properties.CacheSpecProperties;
+import org.fairdatapoint.config.properties.CachesProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+
+public class GuavaCacheManagerTest {
+
+    private static final String LABEL_CACHE = "LABEL_CACHE";
+
+    private static final String SEARCH_FILTERS_CACHE = "SEARCH_FILTERS_CACHE";
+
+    private static final long REFRESH_WAIT_MILLIS = 5;
+
+    private GuavaCacheManager createManager(CacheSpecProperties labelSpec) {
+        return createManager(labelSpec, Runnable::run);
+    }
+
+    private GuavaCacheManager createManager(CacheSpecProperties labelSpec, Executor refreshExecutor) {
+        final GuavaCacheManager cacheManager = new GuavaCacheManager(
+                List.of(LABEL_CACHE, SEARCH_FILTERS_CACHE),
+                new CachesProperties(Map.of("label", labelSpec)),
+                refreshExecutor
+        );
+        cacheManager.afterPropertiesSet();
+        return cacheManager;
+    }
+
+    @Test
+    @DisplayName("Configuration key is derived from cache name")
+    public void specKey() {
+        assertThat(GuavaCacheManager.getSpecKey(LABEL_CACHE), is(equalTo("label")));
+        assertThat(GuavaCacheManager.getSpecKey(SEARCH_FILTERS_CACHE), is(equalTo("search-filters")));
+    }
+
+    @Test
+    @DisplayName("Cache is bounded by maximum size")
+    public void maximumSize() {
+        // GIVEN:
+        Cache cache = createManager(new CacheSpecProperties(2L, null, null, null)).getCache(LABEL_CACHE);
+
+        // WHEN:
+        for (int index = 0; index < 10; index++) {
+            cache.put(index, index);
+        }
+
+        // THEN:
+        GuavaCache guavaCache = (GuavaCache) cache;
+        assertThat(guavaCache.getNativeCache().size() <= 2, is(true));
+        assertThat(guavaCache.getNativeCache().stats().evictionCount() >= 8, is(true));
+    }
+
+    @Test
+    @DisplayName("Cache without configuration keeps null values")
+    public void unconfiguredNullValue() {
+        // GIVEN:
+        Cache cache = createManager(new CacheSpecProperties()).getCache(SEARCH_FILTERS_CACHE);
+
+        // WHEN:
+        cache.put("predicate", null);
+
+        // THEN:
+        assertThat(cache.get("predicate") != null, is(true));
+        assertThat(cache.get("predicate", String.class), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Stale entry is served and refreshed with the value loader")
+    public void refreshAfterWrite() throws InterruptedException {
+        // GIVEN:
+        Cache cache = createManager(new CacheSpecProperties(null, null, null, Duration.ofMillis(1)))
+                .getCache(LABEL_CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        cache.put("iri", 0);
+        Thread.sleep(REFRESH_WAIT_MILLIS);
+
+        // WHEN:
+        Integer result = cache.get("iri", loads::incrementAndGet);
+
+        // THEN:
+        assertThat(result, is(equalTo(0)));
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(cache.get("iri", Integer.class), is(equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Rejected refresh keeps the stale entry and is retried later")
+    public void refreshRejected() throws InterruptedException {
+        // GIVEN:
+        AtomicBoolean reject = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("saturated");
+            }
+            task.run();
+        };
+        Cache cache = createManager(new CacheSpecProperties(null, null, null, Duration.ofMillis(1)), executor)
+                .getCache(LABEL_CACHE);
+        AtomicInteger loads = new AtomicInteger();
+        cache.put("iri", 0);
+        Thread.sleep(REFRESH_WAIT_MILLIS);
+
+        // WHEN:
+        Integer rejected = cache.get("iri", loads::incrementAndGet);
+        reject.set(false);
+        Integer retried = cache.get("iri", loads::incrementAndGet);
+
+        // THEN:
+        assertThat(rejected, is(equalTo(0)));
+        assertThat(retried, is(equalTo(0)));
+        assertThat(loads.get(), is(equalTo(1)));
+        assertThat(cache.get("iri", Integer.class), is(equalTo(1)));
+    }
+}
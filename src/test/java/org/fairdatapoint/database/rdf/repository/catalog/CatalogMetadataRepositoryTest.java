@@ -23,6 +23,9 @@
 package org.fairdatapoint.database.rdf.repository.catalog;
 
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.common.CombinedReadExecutor;
+import org.fairdatapoint.database.rdf.repository.common.MetadataFullTextIndex;
+import org.fairdatapoint.database.rdf.repository.common.SparqlQueryRegistry;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.query.TupleQuery;
@@ -36,13 +39,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
-import java.util.Collections;
 import java.util.List;
 
-import static org.fairdatapoint.config.CacheConfig.CATALOG_THEMES_CACHE;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
 import static org.mockito.Mockito.*;
 
@@ -51,9 +50,6 @@ public class CatalogMetadataRepositoryTest {
 
     private final IRI catalogUri = i("http://localhost/textmining");
 
-    @Mock
-    private Cache cache;
-
     @Mock
     private Repository repository;
 
@@ -67,31 +63,42 @@ public class CatalogMetadataRepositoryTest {
     private TupleQueryResult tupleQueryResult;
 
     @Mock
-    private ConcurrentMapCacheManager cacheManager;
+    private DatasetThemeIndex datasetThemeIndex;
+
+    @Mock
+    private SparqlQueryRegistry queryRegistry;
+
+    @Mock
+    private CombinedReadExecutor readExecutor;
+
+    @Mock
+    private MetadataFullTextIndex fullTextIndex;
 
     @Spy
     @InjectMocks
     private CatalogMetadataRepositoryImpl catalogMetadataRepository;
 
     @Test
-    @DisplayName("Themes for catalog are in cache (no query to triple store)")
-    public void themesInCache() throws MetadataRepositoryException {
+    @DisplayName("Themes for catalog are in the index (no query to triple store)")
+    public void themesInIndex() throws MetadataRepositoryException {
         // GIVEN:
-        when(cacheManager.getCache(CATALOG_THEMES_CACHE)).thenReturn(cache);
-        when(cache.get(catalogUri.toString(), List.class)).thenReturn(Collections.emptyList());
+        when(datasetThemeIndex.isBuilt()).thenReturn(true);
+        when(datasetThemeIndex.getThemes(catalogUri, RepositoryMode.MAIN)).thenReturn(List.of());
 
         // WHEN:
         catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN);
 
         // THEN:
-        verify(catalogMetadataRepository, never()).runSparqlQuery(any(), any(), any(), eq(RepositoryMode.MAIN));
+        verify(catalogMetadataRepository, never()).runSparqlQuery(any(), any(), any(), any(), any());
+        verify(datasetThemeIndex, never()).build(any(), any(), anyLong());
     }
 
     @Test
-    @DisplayName("Themes for catalog are not in cache (we have to query to triple store)")
-    public void themesNotInCache() throws MetadataRepositoryException {
+    @DisplayName("Themes index is not built (we have to query to triple store)")
+    public void themesIndexNotBuilt() throws MetadataRepositoryException {
         // GIVEN:
-        when(cacheManager.getCache(CATALOG_THEMES_CACHE)).thenReturn(cache);
+        when(datasetThemeIndex.isBuilt()).thenReturn(false);
+        when(datasetThemeIndex.getVersion()).thenReturn(1L);
         when(repository.getConnection()).thenReturn(repositoryConnection);
         when(repositoryConnection.prepareTupleQuery(any())).thenReturn(tupleQuery);
         when(tupleQuery.evaluate()).thenReturn(tupleQueryResult);
@@ -100,7 +107,11 @@ public class CatalogMetadataRepositoryTest {
         catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN);
 
         // THEN:
-        verify(catalogMetadataRepository, times(1)).runSparqlQuery(any(), any(), any(), eq(RepositoryMode.MAIN));
+        verify(catalogMetadataRepository, times(1))
+                .runSparqlQuery(any(), any(), any(), eq(RepositoryMode.MAIN), any());
+        verify(catalogMetadataRepository, times(1))
+                .runSparqlQuery(any(), any(), any(), eq(RepositoryMode.DRAFTS), any());
+        verify(datasetThemeIndex, times(1)).build(List.of(), List.of(), 1L);
     }
 
 }
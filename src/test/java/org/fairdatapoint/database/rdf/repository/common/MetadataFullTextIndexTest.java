@@ -0,0 +1,177 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.database.rdf.repository.common;
+
+import org.fairdatapoint.config.properties.RepositoryProperties;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.util.Values;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.fairdatapoint.util.ValueFactoryHelper.l;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class MetadataFullTextIndexTest {
+
+    private final IRI catalog = i("http://localhost/catalog/full-text");
+
+    private final IRI dataset = i("http://localhost/dataset/full-text");
+
+    private MetadataFullTextIndex index;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        RepositoryProperties properties = new RepositoryProperties();
+        properties.getFullText().setEnabled(true);
+        index = new MetadataFullTextIndex(properties);
+        index.init();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    private Map<IRI, List<Statement>> graph(IRI context, String title) {
+        return Map.of(context, List.of(
+                Values.getValueFactory().createStatement(context, DCTERMS.TITLE, l(title), context)
+        ));
+    }
+
+    @Test
+    @DisplayName("Current index is searched until the rebuild is committed")
+    public void rebuildReplacesIndexOnCommit() throws IOException {
+        // GIVEN:
+        index.update(graph(catalog, "Alpha"));
+
+        try (MetadataFullTextIndex.Rebuild rebuild = index.startRebuild()) {
+            // WHEN:
+            rebuild.add(graph(dataset, "Bravo"));
+
+            // THEN:
+            assertThat(index.search("alpha").size(), is(equalTo(1)));
+            assertThat(index.search("bravo").size(), is(equalTo(0)));
+
+            // WHEN:
+            rebuild.commit();
+        }
+
+        // THEN:
+        assertThat(index.search("alpha").size(), is(equalTo(0)));
+        assertThat(index.search("bravo").size(), is(equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Update committed during rebuild is not overwritten by the rebuild")
+    public void rebuildKeepsConcurrentUpdate() throws IOException {
+        // GIVEN:
+        try (MetadataFullTextIndex.Rebuild rebuild = index.startRebuild()) {
+            rebuild.add(graph(dataset, "Charlie"));
+
+            // WHEN:
+            index.update(graph(dataset, "Delta"));
+            rebuild.commit();
+        }
+
+        // THEN:
+        assertThat(index.search("charlie").size(), is(equalTo(0)));
+        assertThat(index.search("delta").size(), is(equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Rebuild closed without commit is discarded")
+    public void rebuildDiscardedWithoutCommit() throws IOException {
+        // GIVEN:
+        index.update(graph(catalog, "Echo"));
+
+        // WHEN:
+        try (MetadataFullTextIndex.Rebuild rebuild = index.startRebuild()) {
+            rebuild.add(graph(dataset, "Foxtrot"));
+        }
+
+        // THEN:
+        assertThat(index.search("echo").size(), is(equalTo(1)));
+        assertThat(index.search("foxtrot").size(), is(equalTo(0)));
+    }
+
+    @Test
+    @DisplayName("Only the last word of the query is matched as a prefix")
+    public void prefixOnLastWord() throws IOException {
+        // GIVEN:
+        index.update(graph(catalog, "Golf Hotel"));
+
+        // WHEN:
+        int lastPrefix = index.search("golf hot").size();
+        int firstPrefix = index.search("gol hotel").size();
+
+        // THEN:
+        assertThat(lastPrefix, is(equalTo(1)));
+        assertThat(firstPrefix, is(equalTo(0)));
+    }
+
+    @Test
+    @DisplayName("Rebuilds requested while one is waiting to start are merged")
+    public void rebuildAsyncCoalesced() throws InterruptedException {
+        // GIVEN:
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicInteger runs = new AtomicInteger();
+        Runnable rebuild = () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            }
+            catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        };
+        index.rebuildAsync(rebuild);
+        started.await(1, TimeUnit.SECONDS);
+
+        // WHEN:
+        index.rebuildAsync(rebuild);
+        index.rebuildAsync(rebuild);
+        release.countDown();
+
+        // THEN:
+        assertThat(finished.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(runs.get(), is(equalTo(2)));
+    }
+}
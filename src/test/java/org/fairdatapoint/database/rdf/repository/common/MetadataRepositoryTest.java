@@ -27,21 +27,40 @@
  */
 package org.fairdatapoint.database.rdf.repository.common;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.fairdatapoint.WebIntegrationTest;
+import org.fairdatapoint.config.properties.RepositoryProperties;
 import org.fairdatapoint.database.rdf.migration.development.metadata.RdfMetadataMigration;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
 import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
+import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepositoryImpl;
 import org.fairdatapoint.utils.TestRdfMetadataFixtures;
+import org.eclipse.rdf4j.common.iteration.CloseableIteratorIteration;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.util.Values;
 import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryException;
+import org.eclipse.rdf4j.repository.RepositoryResult;
+import org.eclipse.rdf4j.repository.base.RepositoryConnectionWrapper;
+import org.eclipse.rdf4j.repository.base.RepositoryWrapper;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getLanguage;
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getUri;
@@ -49,6 +68,8 @@ import static org.fairdatapoint.util.ValueFactoryHelper.i;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.StringContains.containsString;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class MetadataRepositoryTest extends WebIntegrationTest {
 
@@ -61,6 +82,18 @@ public class MetadataRepositoryTest extends WebIntegrationTest {
     @Autowired
     private RdfMetadataMigration rdfMetadataMigration;
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    private SparqlQueryRegistry queryRegistry;
+
+    @Autowired
+    private CombinedReadExecutor readExecutor;
+
     @BeforeEach
     public void before() {
         rdfMetadataMigration.clean();
@@ -150,4 +183,114 @@ public class MetadataRepositoryTest extends WebIntegrationTest {
         assertThat(metadataRepository.find(context, RepositoryMode.MAIN).size(), is(equalTo(metadata.size() - 1)));
     }
 
+    @Test
+    @DisplayName("findAll returns graphs of a store that does not return contexts with statements")
+    public void findAllWorksWithoutContextsInStatements() throws Exception {
+        // GIVEN: SPARQL endpoint without quad support (statements come back without their graph)
+        Model metadata = testMetadataFixtures.catalog1();
+        IRI context = getUri(metadata);
+        Repository store = new SailRepository(new MemoryStore());
+        try (RepositoryConnection conn = store.getConnection()) {
+            conn.add(metadata, context);
+        }
+        Repository mainRepository = new RepositoryWrapper(store) {
+            @Override
+            public RepositoryConnection getConnection() {
+                return new ContextDroppingConnection(this, super.getConnection());
+            }
+        };
+        Repository draftsRepository = new SailRepository(new MemoryStore());
+        GenericMetadataRepository repository = new GenericMetadataRepositoryImpl(
+                mainRepository,
+                draftsRepository,
+                new MetadataStatementCache(repositoryProperties, meterRegistry),
+                queryRegistry,
+                readExecutor,
+                new MetadataFullTextIndex(repositoryProperties)
+        );
+
+        // WHEN:
+        Map<IRI, List<Statement>> result = repository.findAll(List.of(context), RepositoryMode.MAIN);
+
+        // THEN:
+        assertThat(result.get(context).size(), is(equalTo(metadata.size())));
+        assertThat(result.get(context).get(0).getContext(), is(equalTo(context)));
+
+        store.shutDown();
+        draftsRepository.shutDown();
+    }
+
+    @Test
+    @DisplayName("Failed drafts commit keeps and propagates committed main changes")
+    public void commitPropagatesOnlyCommittedRepositories() throws Exception {
+        // GIVEN: Drafts repository failing on commit
+        Model metadata = testMetadataFixtures.catalog1();
+        IRI context = getUri(metadata);
+        Repository mainRepository = new SailRepository(new MemoryStore());
+        Repository store = new SailRepository(new MemoryStore());
+        Repository draftsRepository = new RepositoryWrapper(store) {
+            @Override
+            public RepositoryConnection getConnection() {
+                return new FailingCommitConnection(this, super.getConnection());
+            }
+        };
+        GenericMetadataRepository repository = new GenericMetadataRepositoryImpl(
+                mainRepository,
+                draftsRepository,
+                new MetadataStatementCache(repositoryProperties, meterRegistry),
+                queryRegistry,
+                readExecutor,
+                new MetadataFullTextIndex(repositoryProperties)
+        );
+
+        // AND: Empty graphs are cached
+        assertThat(repository.find(context, RepositoryMode.MAIN).size(), is(equalTo(0)));
+        assertThat(repository.find(context, RepositoryMode.DRAFTS).size(), is(equalTo(0)));
+        MetadataUnitOfWork unitOfWork = repository.beginUnitOfWork()
+                .save(new ArrayList<>(metadata), context, RepositoryMode.MAIN)
+                .save(new ArrayList<>(metadata), context, RepositoryMode.DRAFTS);
+
+        // WHEN:
+        MetadataRepositoryException exception = assertThrows(MetadataRepositoryException.class, unitOfWork::commit);
+
+        // THEN:
+        assertThat(exception.getMessage(), containsString("main changes were committed"));
+        assertThat(repository.find(context, RepositoryMode.MAIN).size(), is(equalTo(metadata.size())));
+        assertThat(repository.find(context, RepositoryMode.DRAFTS).size(), is(equalTo(0)));
+
+        mainRepository.shutDown();
+        store.shutDown();
+    }
+
+    private static final class FailingCommitConnection extends RepositoryConnectionWrapper {
+
+        private FailingCommitConnection(Repository repository, RepositoryConnection delegate) {
+            super(repository, delegate);
+        }
+
+        @Override
+        public void commit() {
+            throw new RepositoryException("Commit failed");
+        }
+    }
+
+    private static final class ContextDroppingConnection extends RepositoryConnectionWrapper {
+
+        private ContextDroppingConnection(Repository repository, RepositoryConnection delegate) {
+            super(repository, delegate);
+        }
+
+        @Override
+        public RepositoryResult<Statement> getStatements(Resource subj, IRI pred, Value obj,
+                                                         boolean includeInferred, Resource... contexts) {
+            List<Statement> statements = new ArrayList<>();
+            try (RepositoryResult<Statement> result = super.getStatements(subj, pred, obj, includeInferred,
+                    contexts)) {
+                result.forEach(statement -> statements.add(Values.getValueFactory().createStatement(
+                        statement.getSubject(), statement.getPredicate(), statement.getObject())));
+            }
+            return new RepositoryResult<>(new CloseableIteratorIteration<>(statements.iterator()));
+        }
+    }
+
 }
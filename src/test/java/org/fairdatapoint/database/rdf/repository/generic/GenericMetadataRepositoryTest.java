@@ -25,32 +25,43 @@ package org.fairdatapoint.database.rdf.repository.generic;
 import org.fairdatapoint.WebIntegrationTest;
 import org.fairdatapoint.database.rdf.repository.RepositoryMode;
 import org.fairdatapoint.database.rdf.repository.catalog.CatalogMetadataRepository;
+import org.fairdatapoint.database.rdf.repository.common.MetadataGraph;
+import org.fairdatapoint.database.rdf.repository.common.MetadataStatementCache;
+import org.fairdatapoint.database.rdf.repository.common.MetadataUnitOfWork;
+import org.fairdatapoint.database.rdf.repository.common.SparqlQueryRegistry;
 import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryException;
+import org.fairdatapoint.entity.metadata.MetadataAncestor;
+import org.fairdatapoint.entity.metadata.MetadataChildrenPage;
+import org.fairdatapoint.entity.metadata.MetadataTreeNode;
 import org.fairdatapoint.utils.TestRdfMetadataFixtures;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.DCAT;
 import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.Cache;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import static org.fairdatapoint.config.CacheConfig.CATALOG_THEMES_CACHE;
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getLanguage;
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getUri;
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.fairdatapoint.util.ValueFactoryHelper.s;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 
 public class GenericMetadataRepositoryTest extends WebIntegrationTest {
 
-    @Autowired
-    private ConcurrentMapCacheManager cacheManager;
-
     @Autowired
     private TestRdfMetadataFixtures testMetadataFixtures;
 
@@ -60,71 +71,401 @@ public class GenericMetadataRepositoryTest extends WebIntegrationTest {
     @Autowired
     private CatalogMetadataRepository catalogMetadataRepository;
 
+    @Autowired
+    private MetadataStatementCache metadataStatementCache;
+
+    @Autowired
+    private SparqlQueryRegistry sparqlQueryRegistry;
+
     @Test
-    @DisplayName("'save' should evict cache")
-    public void saveEvictsCache() throws MetadataRepositoryException {
+    @DisplayName("'save' should add dataset themes to its catalog")
+    public void saveUpdatesDatasetThemes() throws MetadataRepositoryException {
         // GIVEN:
-        Model catalog = testMetadataFixtures.catalog1();
-        IRI catalogUri = getUri(catalog);
-        Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI theme = i("http://example.com/theme/new");
 
-        // AND: Compute cache
+        // AND: Build index
         catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN);
 
-        // AND: Check if cache is full
-        assertThat(getCache().get(catalogUri.stringValue()), is(notNullValue()));
+        // WHEN:
+        metadataRepository.save(List.of(s(datasetUri, DCAT.THEME, theme, datasetUri)), datasetUri,
+                RepositoryMode.MAIN);
+
+        // THEN:
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(true));
+    }
+
+    @Test
+    @DisplayName("'removeStatement' should drop dataset themes from its catalog")
+    public void removeStatementUpdatesDatasetThemes() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI theme = i("http://example.com/theme/new");
+        metadataRepository.save(List.of(s(datasetUri, DCAT.THEME, theme, datasetUri)), datasetUri,
+                RepositoryMode.MAIN);
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(true));
 
         // WHEN:
-        metadataRepository.save(new ArrayList<>(dataset), getUri(dataset), RepositoryMode.MAIN);
+        metadataRepository.removeStatement(datasetUri, DCAT.THEME, theme, datasetUri, RepositoryMode.MAIN);
 
         // THEN:
-        assertThat(getCache().get(catalogUri.stringValue()), is(nullValue()));
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(false));
     }
 
     @Test
-    @DisplayName("'removeStatement' should evict cache")
-    public void removeStatementEvictsCache() throws MetadataRepositoryException {
+    @DisplayName("'remove' should drop dataset themes from its catalog")
+    public void removeUpdatesDatasetThemes() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI theme = i("http://example.com/theme/new");
+        metadataRepository.save(List.of(s(datasetUri, DCAT.THEME, theme, datasetUri)), datasetUri,
+                RepositoryMode.MAIN);
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(true));
+
+        // WHEN:
+        metadataRepository.remove(datasetUri, RepositoryMode.MAIN);
+
+        // THEN:
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(false));
+    }
+
+    @Test
+    @DisplayName("Themes of draft datasets are visible only in COMBINED mode")
+    public void draftDatasetThemesOnlyInCombined() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = i(catalogUri.stringValue() + "-draft-dataset");
+        IRI theme = i("http://example.com/theme/draft");
+
+        // WHEN:
+        metadataRepository.save(List.of(
+                s(datasetUri, DCTERMS.IS_PART_OF, catalogUri, datasetUri),
+                s(datasetUri, DCAT.THEME, theme, datasetUri)
+        ), datasetUri, RepositoryMode.DRAFTS);
+
+        // THEN:
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN)
+                .contains(theme), is(false));
+        assertThat(catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.COMBINED)
+                .contains(theme), is(true));
+    }
+
+    @Test
+    @DisplayName("'find' should be served from statement cache")
+    public void findHitsStatementCache() throws MetadataRepositoryException {
         // GIVEN:
-        Model catalog = testMetadataFixtures.catalog1();
-        IRI catalogUri = getUri(catalog);
         Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.MAIN);
+        List<Statement> loaded = metadataRepository.find(datasetUri, RepositoryMode.MAIN);
+        long hits = metadataStatementCache.getHitCount();
 
-        // AND: Compute cache
-        catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN);
+        // WHEN:
+        List<Statement> result = catalogMetadataRepository.find(datasetUri, RepositoryMode.MAIN);
 
-        // AND: Check if cache is full
-        assertThat(getCache().get(catalogUri.stringValue()), is(notNullValue()));
+        // THEN:
+        assertThat(metadataStatementCache.getHitCount(), is(equalTo(hits + 1)));
+        assertThat(result, is(equalTo(loaded)));
+    }
+
+    @Test
+    @DisplayName("'removeStatement' should invalidate statement cache")
+    public void removeStatementInvalidatesStatementCache() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.MAIN);
+        int size = metadataRepository.find(datasetUri, RepositoryMode.MAIN).size();
 
         // WHEN:
-        metadataRepository.removeStatement(getUri(dataset), DCTERMS.LANGUAGE, getLanguage(dataset), getUri(dataset), RepositoryMode.MAIN);
+        catalogMetadataRepository.removeStatement(datasetUri, DCTERMS.LANGUAGE, getLanguage(dataset), datasetUri, RepositoryMode.MAIN);
 
         // THEN:
-        assertThat(getCache().get(catalogUri.stringValue()), is(nullValue()));
+        assertThat(metadataRepository.find(datasetUri, RepositoryMode.MAIN).size(), is(equalTo(size - 1)));
     }
 
     @Test
-    @DisplayName("'remove' should evict cache")
-    public void removeEvictsCache() throws MetadataRepositoryException {
+    @DisplayName("'find' with handler should stream all statements of the graph")
+    public void findStreamsStatements() throws MetadataRepositoryException {
         // GIVEN:
-        Model catalog = testMetadataFixtures.catalog1();
-        IRI catalogUri = getUri(catalog);
         Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.MAIN);
+        StatementCollector collector = new StatementCollector();
 
-        // AND: Compute cache
-        catalogMetadataRepository.getDatasetThemesForCatalog(catalogUri, RepositoryMode.MAIN);
+        // WHEN:
+        metadataRepository.find(datasetUri, RepositoryMode.COMBINED, collector);
+
+        // THEN:
+        assertThat(collector.getStatements().size(), is(equalTo(metadataRepository.find(datasetUri, RepositoryMode.COMBINED).size())));
+    }
+
+    @Test
+    @DisplayName("'unit of work' should apply staged writes only on commit")
+    public void unitOfWorkAppliesOnCommit() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.remove(datasetUri, RepositoryMode.DRAFTS);
+        MetadataUnitOfWork unitOfWork = metadataRepository.beginUnitOfWork();
+
+        // WHEN:
+        unitOfWork.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.DRAFTS);
+
+        // THEN:
+        assertThat(metadataRepository.find(datasetUri, RepositoryMode.DRAFTS).size(), is(equalTo(0)));
+
+        // WHEN:
+        unitOfWork.commit();
+
+        // THEN:
+        assertThat(metadataRepository.find(datasetUri, RepositoryMode.DRAFTS).size(), is(equalTo(dataset.size())));
+    }
+
+    @Test
+    @DisplayName("'findGraphs' should return graphs with the versions returned by 'findVersion'")
+    public void findGraphsReturnsVersions() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI missingUri = i("http://localhost/missing");
+
+        // WHEN:
+        Map<IRI, MetadataGraph> result =
+                metadataRepository.findGraphs(List.of(datasetUri, missingUri), RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(result.get(datasetUri).statements().size(),
+                is(equalTo(metadataRepository.find(datasetUri, RepositoryMode.COMBINED).size())));
+        assertThat(result.get(datasetUri).version().getVersion(),
+                is(equalTo(metadataRepository.findVersion(datasetUri, RepositoryMode.COMBINED).getVersion())));
+        assertThat(result.get(missingUri).statements().isEmpty(), is(true));
+        assertThat(metadataRepository.findGraph(datasetUri, RepositoryMode.MAIN).version().getVersion(),
+                is(equalTo(metadataRepository.findVersion(datasetUri, RepositoryMode.MAIN).getVersion())));
+    }
+
+    @Test
+    @DisplayName("'moveToMain' should not read the moved graph again after commit")
+    public void moveToMainDoesNotReloadGraph() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.remove(datasetUri, RepositoryMode.MAIN);
+        metadataRepository.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.DRAFTS);
+        metadataRepository.find(datasetUri, RepositoryMode.DRAFTS);
+        long missCount = metadataStatementCache.getMissCount();
+
+        // WHEN:
+        metadataRepository.moveToMain(datasetUri);
+
+        // THEN:
+        assertThat(metadataStatementCache.getMissCount(), is(equalTo(missCount)));
+        assertThat(metadataRepository.find(datasetUri, RepositoryMode.MAIN).size(), is(equalTo(dataset.size())));
+        assertThat(metadataRepository.find(datasetUri, RepositoryMode.DRAFTS).size(), is(equalTo(0)));
+    }
 
-        // AND: Check if cache is full
-        assertThat(getCache().get(catalogUri.stringValue()), is(notNullValue()));
+    @Test
+    @DisplayName("Bundled SPARQL query executions should be recorded in registry")
+    public void runSparqlQueryRecordsStatistics() throws MetadataRepositoryException {
+        // GIVEN:
+        String queryName = "findEntityByLiteral.sparql";
+        SparqlQueryRegistry.QueryStatistics before = sparqlQueryRegistry.getStatistics().get(queryName);
+        long count = before == null ? 0 : before.count();
+
+        // WHEN:
+        metadataRepository.findByLiteral(SimpleValueFactory.getInstance().createLiteral("Catalog"), RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(sparqlQueryRegistry.getStatistics().get(queryName).count(), is(equalTo(count + 2)));
+    }
+
+    @Test
+    @DisplayName("'checkExistence' in COMBINED mode should find statements stored only in drafts")
+    public void checkExistenceCombinedFindsDrafts() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset = testMetadataFixtures.c1_dataset1();
+        IRI datasetUri = getUri(dataset);
+        metadataRepository.remove(datasetUri, RepositoryMode.MAIN);
+        metadataRepository.save(new ArrayList<>(dataset), datasetUri, RepositoryMode.DRAFTS);
+
+        // WHEN:
+        boolean result = metadataRepository.checkExistence(datasetUri, DCTERMS.LANGUAGE, getLanguage(dataset), RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(result, is(true));
+    }
+
+    @Test
+    @DisplayName("'findAll' should return graphs grouped by context in the requested order")
+    public void findAllGroupsByContext() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset1 = testMetadataFixtures.c1_dataset1();
+        Model dataset2 = testMetadataFixtures.c1_dataset2();
+        IRI dataset1Uri = getUri(dataset1);
+        IRI dataset2Uri = getUri(dataset2);
+        IRI missingUri = i("http://localhost/missing");
+        metadataRepository.save(new ArrayList<>(dataset1), dataset1Uri, RepositoryMode.MAIN);
+        metadataRepository.save(new ArrayList<>(dataset2), dataset2Uri, RepositoryMode.MAIN);
 
         // WHEN:
-        metadataRepository.remove(getUri(dataset), RepositoryMode.MAIN);
+        Map<IRI, List<Statement>> result = metadataRepository.findAll(List.of(dataset2Uri, missingUri, dataset1Uri), RepositoryMode.MAIN);
 
         // THEN:
-        assertThat(getCache().get(catalogUri.stringValue()), is(nullValue()));
+        assertThat(new ArrayList<>(result.keySet()), is(equalTo(List.of(dataset2Uri, missingUri, dataset1Uri))));
+        assertThat(result.get(dataset1Uri).size(), is(equalTo(metadataRepository.find(dataset1Uri, RepositoryMode.MAIN).size())));
+        assertThat(result.get(dataset2Uri).size(), is(equalTo(metadataRepository.find(dataset2Uri, RepositoryMode.MAIN).size())));
+        assertThat(result.get(missingUri).size(), is(equalTo(0)));
     }
 
-    private Cache getCache() {
-        return cacheManager.getCache(CATALOG_THEMES_CACHE);
+    @Test
+    @DisplayName("'findChildren' should page children and return their total count")
+    public void findChildrenPagesChildren() throws MetadataRepositoryException {
+        // GIVEN:
+        Model dataset1 = testMetadataFixtures.c1_dataset1();
+        Model dataset2 = testMetadataFixtures.c1_dataset2();
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        String childPrefix = getUri(dataset1).stringValue().substring(0, getUri(dataset1).stringValue().lastIndexOf('/') + 1);
+        metadataRepository.save(new ArrayList<>(dataset1), getUri(dataset1), RepositoryMode.MAIN);
+        metadataRepository.save(new ArrayList<>(dataset2), getUri(dataset2), RepositoryMode.MAIN);
+
+        // WHEN:
+        MetadataChildrenPage firstPage = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 0, 1, RepositoryMode.MAIN);
+        MetadataChildrenPage secondPage = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 1, 1, RepositoryMode.MAIN);
+        MetadataChildrenPage outOfRangePage = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 1000, 1, RepositoryMode.MAIN);
+
+        // THEN:
+        assertThat(firstPage.getChildren().size(), is(equalTo(1)));
+        assertThat(secondPage.getChildren().size(), is(equalTo(1)));
+        assertThat(firstPage.getChildren().get(0).equals(secondPage.getChildren().get(0)), is(false));
+        assertThat(secondPage.getTotal(), is(equalTo(firstPage.getTotal())));
+        assertThat(outOfRangePage.getChildren().size(), is(equalTo(0)));
+        assertThat(outOfRangePage.getTotal(), is(equalTo(firstPage.getTotal())));
+    }
+
+    @Test
+    @DisplayName("'findChildren' should select children by the child relation of the parent")
+    public void findChildrenUsesRelation() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        Model dataset3 = testMetadataFixtures.c2_dataset3();
+        IRI dataset3Uri = getUri(dataset3);
+        String childPrefix = dataset3Uri.stringValue().substring(0, dataset3Uri.stringValue().lastIndexOf('/') + 1);
+        dataset3.remove(dataset3Uri, DCTERMS.IS_PART_OF, null);
+        dataset3.add(dataset3Uri, DCTERMS.IS_PART_OF, catalogUri);
+        long total = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 0, 1, RepositoryMode.MAIN).getTotal();
+
+        // WHEN:
+        metadataRepository.save(new ArrayList<>(dataset3), dataset3Uri, RepositoryMode.MAIN);
+        long unlinkedTotal = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 0, 1, RepositoryMode.MAIN).getTotal();
+        metadataRepository.save(List.of(s(catalogUri, DCAT.HAS_DATASET, dataset3Uri)), catalogUri, RepositoryMode.MAIN);
+        long linkedTotal = metadataRepository.findChildren(catalogUri, DCAT.HAS_DATASET, childPrefix, 0, 1, RepositoryMode.MAIN).getTotal();
+
+        // THEN:
+        assertThat(unlinkedTotal, is(equalTo(total)));
+        assertThat(linkedTotal, is(equalTo(total + 1)));
+    }
+
+    @Test
+    @DisplayName("'findAncestors' should resolve the whole chain of parents")
+    public void findAncestorsResolvesChain() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI distributionUri = getUri(testMetadataFixtures.c1_d1_distribution1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI repositoryUri = getUri(testMetadataFixtures.fdpMetadata());
+
+        // WHEN:
+        List<MetadataAncestor> result = metadataRepository.findAncestors(distributionUri, RepositoryMode.MAIN);
+
+        // THEN:
+        assertThat(result.stream().map(MetadataAncestor::getUri).toList(),
+                is(equalTo(List.of(distributionUri, datasetUri, catalogUri, repositoryUri))));
+        assertThat(result.get(0).getParent(), is(equalTo(datasetUri)));
+        assertThat(result.get(3).getParent(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("'findAncestors' should follow the chain across drafts and main in COMBINED mode")
+    public void findAncestorsCombinedCrossesRepositories() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI distributionUri = getUri(testMetadataFixtures.c1_d1_distribution1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        metadataRepository.moveToDrafts(datasetUri);
+
+        // WHEN:
+        List<MetadataAncestor> mainResult = metadataRepository.findAncestors(distributionUri, RepositoryMode.MAIN);
+        List<MetadataAncestor> combinedResult = metadataRepository.findAncestors(distributionUri, RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(mainResult.size(), is(equalTo(1)));
+        assertThat(combinedResult.size(), is(equalTo(4)));
+        assertThat(combinedResult.get(1).getUri(), is(equalTo(datasetUri)));
+    }
+
+    @Test
+    @DisplayName("'findDescendants' should collect the subtree across drafts and main")
+    public void findDescendantsCollectsSubtree() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI distributionUri = getUri(testMetadataFixtures.c1_d1_distribution1());
+        Set<IRI> relations = Set.of(DCAT.HAS_DATASET, DCAT.HAS_DISTRIBUTION);
+        metadataRepository.moveToDrafts(datasetUri);
+
+        // WHEN:
+        List<IRI> result = metadataRepository.findDescendants(catalogUri, relations, RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(result.contains(datasetUri), is(true));
+        assertThat(result.contains(distributionUri), is(true));
+        assertThat(result.contains(catalogUri), is(false));
+    }
+
+    @Test
+    @DisplayName("'findTree' should return parent and state of all records")
+    public void findTreeReturnsStructure() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI catalogUri = getUri(testMetadataFixtures.catalog1());
+        IRI datasetUri = getUri(testMetadataFixtures.c1_dataset1());
+        metadataRepository.moveToDrafts(datasetUri);
+
+        // WHEN:
+        List<MetadataTreeNode> result = metadataRepository.findTree(RepositoryMode.COMBINED);
+
+        // THEN:
+        MetadataTreeNode dataset = result.stream().filter(node -> node.getUri().equals(datasetUri)).findFirst().get();
+        MetadataTreeNode catalog = result.stream().filter(node -> node.getUri().equals(catalogUri)).findFirst().get();
+        assertThat(dataset.getParent(), is(equalTo(catalogUri)));
+        assertThat(dataset.isDraft(), is(true));
+        assertThat(catalog.isDraft(), is(false));
+        assertThat(catalog.getTitle(), is(notNullValue()));
+    }
+
+    @Test
+    @DisplayName("'findExistingContexts' should return only contexts stored in the repository")
+    public void findExistingContextsProbesContexts() throws MetadataRepositoryException {
+        // GIVEN:
+        IRI dataset1Uri = getUri(testMetadataFixtures.c1_dataset1());
+        IRI dataset2Uri = getUri(testMetadataFixtures.c1_dataset2());
+        IRI missingUri = i(dataset1Uri.stringValue() + "-missing");
+        metadataRepository.moveToDrafts(dataset1Uri);
+
+        // WHEN:
+        Set<IRI> drafts = metadataRepository.findExistingContexts(
+                List.of(dataset1Uri, dataset2Uri, missingUri), RepositoryMode.DRAFTS);
+        Set<IRI> combined = metadataRepository.findExistingContexts(
+                List.of(dataset1Uri, dataset2Uri, missingUri), RepositoryMode.COMBINED);
+
+        // THEN:
+        assertThat(drafts, is(equalTo(Set.of(dataset1Uri))));
+        assertThat(combined, is(equalTo(Set.of(dataset1Uri, dataset2Uri))));
     }
 
 }
@@ -0,0 +1,220 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.cache;
+
+import org.fairdatapoint.BaseIntegrationTest;
+import org.fairdatapoint.Profiles;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.fairdatapoint.config.properties.CacheInvalidationProperties;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
+import org.fairdatapoint.service.settings.SettingsCache;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.fairdatapoint.util.ValueFactoryHelper.l;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+@ActiveProfiles(Profiles.TESTING)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+        properties = {"spring.main.allow-bean-definition-overriding=true"})
+public class CacheInvalidationBusTest extends BaseIntegrationTest {
+
+    private static final String APP_TITLE = "Changed on another node";
+
+    private static final long NOTIFICATION_TIMEOUT_MILLIS = 5000;
+
+    private static final long NOTIFICATION_POLL_MILLIS = 50;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheInvalidationProperties properties;
+
+    @Autowired
+    private SettingsCache settingsCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GenericMetadataRepository metadataRepository;
+
+    @Autowired
+    private Repository mainRepository;
+
+    @Autowired
+    protected Flyway flyway;
+
+    @BeforeEach
+    public void setup() {
+        flyway.clean();
+        flyway.migrate();
+        settingsCache.updateCachedSettings();
+    }
+
+    private void changeSettingsInDatabase() {
+        jdbcTemplate.update("UPDATE settings SET app_title = ?", APP_TITLE);
+    }
+
+    private String payload(UUID origin, long generation, CacheInvalidationType type) {
+        return new CacheInvalidationEvent(origin, generation, type).toPayload();
+    }
+
+    private String payload(UUID origin, long generation, CacheInvalidationType type, List<String> keys) {
+        return new CacheInvalidationEvent(origin, generation, type, keys).toPayload();
+    }
+
+    @Test
+    @DisplayName("Payload round-trips and malformed payloads are rejected")
+    public void payload() {
+        // GIVEN:
+        CacheInvalidationEvent event = new CacheInvalidationEvent(UUID.randomUUID(), 7, CacheInvalidationType.ACL);
+        CacheInvalidationEvent metadataEvent = new CacheInvalidationEvent(UUID.randomUUID(), 8,
+                CacheInvalidationType.METADATA, List.of("http://localhost/a", "http://localhost/b"));
+
+        // WHEN:
+        Optional<CacheInvalidationEvent> result = CacheInvalidationEvent.fromPayload(event.toPayload());
+        Optional<CacheInvalidationEvent> metadataResult = CacheInvalidationEvent.fromPayload(metadataEvent.toPayload());
+
+        // THEN:
+        assertThat(result, is(equalTo(Optional.of(event))));
+        assertThat(metadataResult, is(equalTo(Optional.of(metadataEvent))));
+        assertThat(CacheInvalidationEvent.fromPayload("not-a-uuid 1 ACL").isPresent(), is(false));
+        assertThat(CacheInvalidationEvent.fromPayload("1 ACL").isPresent(), is(false));
+        assertThat(CacheInvalidationEvent.fromPayload(null).isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Notification from another node refreshes settings")
+    public void notificationRefreshesSettings() throws InterruptedException {
+        // GIVEN: Settings changed by another node
+        changeSettingsInDatabase();
+
+        // WHEN:
+        jdbcTemplate.queryForList(
+                "SELECT pg_notify(?, ?)",
+                properties.getChannel(),
+                payload(UUID.randomUUID(), 1, CacheInvalidationType.SETTINGS)
+        );
+
+        // THEN:
+        awaitAppTitle();
+        assertThat(settingsCache.getOrDefaults().getAppTitle(), is(equalTo(APP_TITLE)));
+    }
+
+    private void awaitAppTitle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + NOTIFICATION_TIMEOUT_MILLIS;
+        while (!APP_TITLE.equals(settingsCache.getOrDefaults().getAppTitle())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(NOTIFICATION_POLL_MILLIS);
+        }
+    }
+
+    @Test
+    @DisplayName("Gap in generations refreshes all caches")
+    public void generationGapRefreshesAll() throws InterruptedException {
+        // GIVEN: First event of another node was received
+        UUID origin = UUID.randomUUID();
+        cacheInvalidationBus.receive(payload(origin, 1, CacheInvalidationType.ACL));
+        changeSettingsInDatabase();
+
+        // WHEN: Second event was missed
+        cacheInvalidationBus.receive(payload(origin, 3, CacheInvalidationType.ACL));
+
+        // THEN: All caches are refreshed in background
+        awaitAppTitle();
+        assertThat(settingsCache.getOrDefaults().getAppTitle(), is(equalTo(APP_TITLE)));
+    }
+
+    @Test
+    @DisplayName("Older generation delivered late refreshes only its own caches")
+    public void reorderedGenerationRefreshesType() throws InterruptedException {
+        // GIVEN: Third event of another node was received before the second one
+        UUID origin = UUID.randomUUID();
+        cacheInvalidationBus.receive(payload(origin, 1, CacheInvalidationType.ACL));
+        cacheInvalidationBus.receive(payload(origin, 3, CacheInvalidationType.ACL));
+        changeSettingsInDatabase();
+        awaitAppTitle();
+        jdbcTemplate.update("UPDATE settings SET app_title = ?", "Changed again");
+
+        // WHEN: Second event arrives
+        cacheInvalidationBus.receive(payload(origin, 2, CacheInvalidationType.ACL));
+        cacheInvalidationBus.receive(payload(origin, 4, CacheInvalidationType.ACL));
+
+        // THEN: Neither the late nor the next event is a gap
+        assertThat(settingsCache.getOrDefaults().getAppTitle(), is(equalTo(APP_TITLE)));
+    }
+
+    @Test
+    @DisplayName("Consecutive generation refreshes only its own caches")
+    public void consecutiveGenerationRefreshesType() {
+        // GIVEN: First event of another node was received
+        UUID origin = UUID.randomUUID();
+        cacheInvalidationBus.receive(payload(origin, 1, CacheInvalidationType.ACL));
+        String appTitle = settingsCache.getOrDefaults().getAppTitle();
+        changeSettingsInDatabase();
+
+        // WHEN:
+        cacheInvalidationBus.receive(payload(origin, 2, CacheInvalidationType.ACL));
+
+        // THEN:
+        assertThat(settingsCache.getOrDefaults().getAppTitle(), is(equalTo(appTitle)));
+    }
+
+    @Test
+    @DisplayName("Metadata notification refreshes cached graphs")
+    public void metadataNotificationRefreshesGraphs() throws Exception {
+        // GIVEN: Graph is cached and then changed by another node
+        IRI context = i("http://localhost/changed-on-another-node");
+        int cachedSize = metadataRepository.find(context, RepositoryMode.MAIN).size();
+        try (RepositoryConnection conn = mainRepository.getConnection()) {
+            conn.add(context, DCTERMS.TITLE, l(APP_TITLE), context);
+        }
+
+        // WHEN:
+        cacheInvalidationBus.receive(payload(UUID.randomUUID(), 1, CacheInvalidationType.METADATA,
+                List.of(context.stringValue())));
+
+        // THEN:
+        assertThat(metadataRepository.find(context, RepositoryMode.MAIN).size(), is(equalTo(cachedSize + 1)));
+    }
+}
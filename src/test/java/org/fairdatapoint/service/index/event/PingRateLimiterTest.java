@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.event;
+
+import com.google.common.base.Ticker;
+import org.fairdatapoint.config.properties.PingRateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PingRateLimiterTest {
+
+    private static final String ADDRESS = "192.0.2.1";
+
+    private static final String OTHER_ADDRESS = "192.0.2.2";
+
+    private static final int HITS = 3;
+
+    private static final Duration DURATION = Duration.ofMinutes(3);
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    private final PingRateLimiter limiter = new PingRateLimiter(
+            new PingRateLimitProperties(false, 10, Duration.ofDays(1)),
+            null,
+            ticker
+    );
+
+    private boolean ping(String address) {
+        return limiter.tryAcquire(address, HITS, DURATION);
+    }
+
+    @Test
+    @DisplayName("Burst of configured hits is accepted, next ping is rejected")
+    public void burst() {
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(false));
+        assertThat(ping(OTHER_ADDRESS), is(true));
+    }
+
+    @Test
+    @DisplayName("Tokens are refilled over the configured duration")
+    public void refill() {
+        // GIVEN: Exhausted bucket
+        for (int index = 0; index < HITS; index++) {
+            ping(ADDRESS);
+        }
+
+        // WHEN: One interval passes
+        nanos.addAndGet(DURATION.toNanos() / HITS);
+
+        // THEN: One more ping is accepted
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(false));
+
+        // AND: Whole duration refills the bucket
+        nanos.addAndGet(DURATION.toNanos());
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(true));
+        assertThat(ping(ADDRESS), is(false));
+    }
+
+    @Test
+    @DisplayName("No pings are accepted without hits")
+    public void noHits() {
+        assertThat(limiter.tryAcquire(ADDRESS, 0, DURATION), is(false));
+    }
+
+    @Test
+    @DisplayName("Shared limit is checked in the database only for pings within the local limit")
+    public void shared() {
+        // GIVEN: Database rejecting the first ping and accepting the rest
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of(1L));
+        PingRateLimiter sharedLimiter = new PingRateLimiter(
+                new PingRateLimitProperties(true, 10, Duration.ofDays(1)),
+                jdbcTemplate,
+                ticker
+        );
+
+        // WHEN:
+        boolean rejected = sharedLimiter.tryAcquire(ADDRESS, HITS, DURATION);
+
+        // THEN: Rejected ping does not use up a local token
+        assertThat(rejected, is(false));
+        for (int index = 0; index < HITS; index++) {
+            assertThat(sharedLimiter.tryAcquire(ADDRESS, HITS, DURATION), is(true));
+        }
+
+        // AND: Ping over the local limit is rejected without the database
+        assertThat(sharedLimiter.tryAcquire(ADDRESS, HITS, DURATION), is(false));
+        verify(jdbcTemplate, times(HITS + 1)).queryForList(anyString(), eq(Long.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Shared bucket advances by at least one millisecond")
+    public void sharedIntervalIsAtLeastOneMillisecond() {
+        // GIVEN:
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class)))
+                .thenReturn(List.of(1L));
+        PingRateLimiter sharedLimiter = new PingRateLimiter(
+                new PingRateLimitProperties(true, 10, Duration.ofDays(1)),
+                jdbcTemplate,
+                ticker
+        );
+
+        // WHEN: Interval is shorter than a millisecond
+        sharedLimiter.tryAcquire(ADDRESS, 1000, Duration.ofMillis(10));
+
+        // THEN:
+        verify(jdbcTemplate).queryForList(anyString(), eq(Long.class), eq(ADDRESS), eq(1L), eq(1L), eq(9L));
+    }
+}
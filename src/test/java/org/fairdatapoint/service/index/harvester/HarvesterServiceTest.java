@@ -29,6 +29,7 @@ import org.fairdatapoint.database.rdf.repository.exception.MetadataRepositoryExc
 import org.fairdatapoint.database.rdf.repository.generic.GenericMetadataRepository;
 import org.fairdatapoint.vocabulary.FDP;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,8 +43,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import static org.fairdatapoint.entity.metadata.MetadataGetter.getUri;
 import static org.fairdatapoint.util.RdfIOUtil.write;
 import static org.fairdatapoint.util.ValueFactoryHelper.i;
@@ -85,7 +91,7 @@ public class HarvesterServiceTest {
     }
 
     @Test
-    public void harvestSucceed() throws MetadataRepositoryException {
+    public void harvestSucceed() throws MetadataRepositoryException, IOException {
         // GIVEN: Mock webserver
         mockEndpoint(repositoryUrl, repository);
         mockEndpoint(catalogUrl, catalog);
@@ -98,7 +104,7 @@ public class HarvesterServiceTest {
     }
 
     @Test
-    public void harvestFailedForLinkedChildren() throws MetadataRepositoryException {
+    public void harvestFailedForLinkedChildren() throws MetadataRepositoryException, IOException {
         // GIVEN: Mock webserver
         mockEndpoint(repositoryUrl, repository);
         mockEndpoint404(catalogUrl);
@@ -110,23 +116,44 @@ public class HarvesterServiceTest {
         verify(genericMetadataRepository, times(1)).save(anyList(), eq(i(repositoryUrl)), eq(RepositoryMode.MAIN));
     }
 
-    private void mockEndpoint(String url, Model body) {
-        // Create response
+    @Test
+    public void harvestFallsBackToTurtle() throws MetadataRepositoryException, IOException {
+        // GIVEN: Mock webserver without binary RDF support
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.set("Content-Type", "text/turtle");
-        ResponseEntity<String> responseBody = new ResponseEntity<>(write(body), headers, HttpStatus.OK);
+        ResponseEntity<byte[]> turtleBody = new ResponseEntity<>(
+                write(repository).getBytes(StandardCharsets.UTF_8), headers, HttpStatus.OK);
+        when(restTemplate.exchange(eq(repositoryUrl), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_ACCEPTABLE, "", null, null, null))
+                .thenReturn(turtleBody);
+        mockEndpoint(catalogUrl, catalog);
+
+        // WHEN:
+        harvesterService.harvest(repositoryUrl);
+
+        // THEN:
+        verify(genericMetadataRepository, times(2)).save(anyList(), eq(i(repositoryUrl)), eq(RepositoryMode.MAIN));
+    }
+
+    private void mockEndpoint(String url, Model body) throws IOException {
+        // Create response
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.set("Content-Type", "application/x-binary-rdf");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(body, out, RDFFormat.BINARY);
+        ResponseEntity<byte[]> responseBody = new ResponseEntity<>(out.toByteArray(), headers, HttpStatus.OK);
 
         // Mock
-        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseBody);
     }
 
     private void mockEndpoint404(String url) {
         // Create response
-        ResponseEntity<String> responseBody = new ResponseEntity<>("", HttpStatus.NOT_FOUND);
+        ResponseEntity<byte[]> responseBody = new ResponseEntity<>(new byte[0], HttpStatus.NOT_FOUND);
 
         // Mock
-        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
                 .thenReturn(responseBody);
     }
 
@@ -0,0 +1,83 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.index.settings;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+public class PingDenyListTest {
+
+    private static final String LOCALHOST = "^(http|https)://localhost(:[0-9]+){0,1}.*$";
+
+    @Test
+    @DisplayName("Client URL is denied when it fully matches any pattern")
+    public void matchesAnyPattern() {
+        // GIVEN:
+        PingDenyList denyList = PingDenyList.compile(List.of(LOCALHOST, "https://example\\.com/.*"));
+
+        // THEN:
+        assertThat(denyList.matches("http://localhost:8080/fdp"), is(true));
+        assertThat(denyList.matches("https://example.com/fdp"), is(true));
+        assertThat(denyList.matches("https://fdp.example.com"), is(false));
+        assertThat(denyList.matches("https://example.com.evil.org"), is(false));
+    }
+
+    @Test
+    @DisplayName("Patterns with back-references keep their own group numbering")
+    public void backReference() {
+        // GIVEN:
+        PingDenyList denyList = PingDenyList.compile(List.of("(a)b", "https://(\\w+)\\.\\1\\.org"));
+
+        // THEN:
+        assertThat(denyList.matches("https://evil.evil.org"), is(true));
+        assertThat(denyList.matches("https://good.evil.org"), is(false));
+    }
+
+    @Test
+    @DisplayName("Patterns that cannot be combined are matched one by one")
+    public void notCombinable() {
+        // GIVEN:
+        PingDenyList denyList = PingDenyList.compile(List.of(
+                "https://(?<host>\\w+)\\.org", "http://(?<host>\\w+)\\.com", "ftp://\\Q.net"
+        ));
+
+        // THEN:
+        assertThat(denyList.matches("https://evil.org"), is(true));
+        assertThat(denyList.matches("http://evil.com"), is(true));
+        assertThat(denyList.matches("ftp://.net"), is(true));
+        assertThat(denyList.matches("https://evil.com"), is(false));
+    }
+
+    @Test
+    @DisplayName("Invalid patterns and empty list deny nothing")
+    public void invalidAndEmpty() {
+        assertThat(PingDenyList.compile(List.of("([")).matches("http://localhost"), is(false));
+        assertThat(PingDenyList.compile(List.of()).matches("http://localhost"), is(false));
+        assertThat(PingDenyList.compile(List.of(LOCALHOST)).matches(null), is(false));
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.metadata.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.fairdatapoint.config.properties.MetadataResponseCacheProperties;
+import org.fairdatapoint.database.rdf.repository.RepositoryMode;
+import org.fairdatapoint.service.metadata.cache.MetadataResponseCache.RenderedResponse;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.fairdatapoint.util.RdfIOUtil.read;
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+
+public class MetadataResponseCacheTest {
+
+    private static final IRI RECORD = i("http://example.com/record");
+
+    private static final MediaType TURTLE = MediaType.parseMediaType("text/turtle");
+
+    private static final String CONTENT = """
+            @prefix ex: <http://example.com/> .
+            @prefix dct: <http://purl.org/dc/terms/> .
+
+            ex:record a ex:Record ;
+                dct:title "Record" .
+            """;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private MetadataResponseCache createCache(boolean gzip) {
+        final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        return new MetadataResponseCache(
+                new MetadataResponseCacheProperties(true, DataSize.ofMegabytes(1), gzip),
+                beanFactory.getBeanProvider(MeterRegistry.class)
+        );
+    }
+
+    @Test
+    @DisplayName("Rendered response is served only for the same version")
+    public void getForSameVersion() throws IOException {
+        // GIVEN:
+        MetadataResponseCache cache = createCache(false);
+        Model model = read(CONTENT, RECORD.stringValue());
+
+        // WHEN:
+        RenderedResponse rendered = cache.render(RECORD, TURTLE, RDFFormat.TURTLE, RepositoryMode.MAIN,
+                "\"v1\"", model, List.of("<http://example.com/record>; rel=\"cite-as\""));
+
+        // THEN:
+        String body = new String(rendered.body(), StandardCharsets.UTF_8);
+        assertThat(Models.isomorphic(read(body, RECORD.stringValue()), model), is(true));
+        assertThat(cache.get(RECORD, TURTLE, RepositoryMode.MAIN, "\"v1\"").isPresent(), is(true));
+        assertThat(cache.get(RECORD, TURTLE, RepositoryMode.MAIN, "\"v2\"").isPresent(), is(false));
+        assertThat(cache.get(RECORD, TURTLE, RepositoryMode.COMBINED, "\"v1\"").isPresent(), is(false));
+        assertThat(meterRegistry.get("metadata.responses.size").gauge().value() > 0, is(true));
+    }
+
+    @Test
+    @DisplayName("Committed metadata write drops rendered responses")
+    public void committedInvalidates() throws IOException {
+        // GIVEN:
+        MetadataResponseCache cache = createCache(false);
+        Model model = read(CONTENT, RECORD.stringValue());
+        cache.render(RECORD, TURTLE, RDFFormat.TURTLE, RepositoryMode.MAIN, "\"v1\"", model, List.of());
+
+        // WHEN:
+        cache.committed(i("http://example.com/other"), List.of(), List.of());
+
+        // THEN:
+        assertThat(cache.get(RECORD, TURTLE, RepositoryMode.MAIN, "\"v1\"").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Gzipped body is rendered if enabled")
+    public void renderGzip() throws IOException {
+        // GIVEN:
+        MetadataResponseCache cache = createCache(true);
+        Model model = read(CONTENT, RECORD.stringValue());
+
+        // WHEN:
+        RenderedResponse rendered = cache.render(RECORD, TURTLE, RDFFormat.TURTLE, RepositoryMode.MAIN,
+                "\"v1\"", model, List.of());
+
+        // THEN:
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(rendered.gzipBody()))) {
+            assertThat(gzipStream.readAllBytes(), is(equalTo(rendered.body())));
+        }
+    }
+}
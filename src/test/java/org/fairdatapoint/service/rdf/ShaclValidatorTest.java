@@ -0,0 +1,124 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.rdf;
+
+import org.fairdatapoint.WebIntegrationTest;
+import org.fairdatapoint.entity.exception.RdfValidationException;
+import org.eclipse.rdf4j.model.Model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fairdatapoint.util.RdfIOUtil.read;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ShaclValidatorTest extends WebIntegrationTest {
+
+    private static final String BASE_URI = "http://example.com/record";
+
+    private static final String SHAPES = """
+            @prefix sh: <http://www.w3.org/ns/shacl#> .
+            @prefix dct: <http://purl.org/dc/terms/> .
+            @prefix ex: <http://example.com/> .
+
+            ex:RecordShape a sh:NodeShape ;
+                sh:targetClass ex:Record ;
+                sh:property [
+                    sh:path dct:title ;
+                    sh:minCount 1 ;
+                ] .
+            """;
+
+    private static final String VALID_DATA = """
+            <http://example.com/record> a <http://example.com/Record> ;
+                <http://purl.org/dc/terms/title> "Record" .
+            """;
+
+    private static final String INVALID_DATA = """
+            <http://example.com/record> a <http://example.com/Record> .
+            """;
+
+    @Autowired
+    private ShaclValidator shaclValidator;
+
+    @Test
+    @DisplayName("Shapes are compiled once and reused for following validations")
+    public void shapesAreReused() {
+        // GIVEN:
+        AtomicInteger compilations = new AtomicInteger();
+        Model data = read(VALID_DATA, BASE_URI);
+
+        // WHEN:
+        for (int i = 0; i < 3; i++) {
+            shaclValidator.validate("test-reuse", () -> {
+                compilations.incrementAndGet();
+                return read(SHAPES, BASE_URI);
+            }, data, BASE_URI);
+        }
+
+        // THEN:
+        assertThat(compilations.get(), is(equalTo(1)));
+    }
+
+    @Test
+    @DisplayName("Invalid data are rejected and do not affect following validations")
+    public void invalidDataRejected() {
+        // GIVEN:
+        Model invalidData = read(INVALID_DATA, BASE_URI);
+        Model validData = read(VALID_DATA, BASE_URI);
+
+        // WHEN:
+        assertThrows(RdfValidationException.class, () ->
+                shaclValidator.validate("test-invalid", () -> read(SHAPES, BASE_URI), invalidData, BASE_URI));
+
+        // THEN:
+        shaclValidator.validate("test-invalid", () -> read(SHAPES, BASE_URI), validData, BASE_URI);
+    }
+
+    @Test
+    @DisplayName("Invalidation recompiles the shapes")
+    public void invalidateRecompiles() {
+        // GIVEN:
+        AtomicInteger compilations = new AtomicInteger();
+        Model data = read(VALID_DATA, BASE_URI);
+        shaclValidator.validate("test-invalidate", () -> {
+            compilations.incrementAndGet();
+            return read(SHAPES, BASE_URI);
+        }, data, BASE_URI);
+
+        // WHEN:
+        shaclValidator.invalidate();
+        shaclValidator.validate("test-invalidate", () -> {
+            compilations.incrementAndGet();
+            return read(SHAPES, BASE_URI);
+        }, data, BASE_URI);
+
+        // THEN:
+        assertThat(compilations.get(), is(equalTo(2)));
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.schema;
+
+import org.fairdatapoint.WebIntegrationTest;
+import org.fairdatapoint.entity.exception.ResourceNotFoundException;
+import org.eclipse.rdf4j.model.Model;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetadataSchemaArtifactRegistryTest extends WebIntegrationTest {
+
+    @Autowired
+    private MetadataSchemaArtifactRegistry metadataSchemaArtifactRegistry;
+
+    @Test
+    @DisplayName("Artifacts are reused until rebuilt")
+    public void artifactsAreReused() {
+        // GIVEN:
+        MetadataSchemaArtifacts artifacts = metadataSchemaArtifactRegistry.getArtifacts();
+
+        // WHEN:
+        MetadataSchemaArtifacts sameArtifacts = metadataSchemaArtifactRegistry.getArtifacts();
+        metadataSchemaArtifactRegistry.rebuild();
+        MetadataSchemaArtifacts rebuiltArtifacts = metadataSchemaArtifactRegistry.getArtifacts();
+
+        // THEN:
+        assertThat(sameArtifacts, is(sameInstance(artifacts)));
+        assertThat(rebuiltArtifacts, is(not(sameInstance(artifacts))));
+        assertThat(rebuiltArtifacts.getVersion() > artifacts.getVersion(), is(true));
+        assertThat(rebuiltArtifacts.getLatestShapes(), is(artifacts.getLatestShapes()));
+    }
+
+    @Test
+    @DisplayName("Merged shapes are computed once per set of schemas")
+    public void mergedShapesAreReused() {
+        // GIVEN:
+        MetadataSchemaArtifacts artifacts = metadataSchemaArtifactRegistry.getArtifacts();
+        List<UUID> schemaUuids = artifacts.getSchemas().keySet().stream().toList();
+
+        // WHEN:
+        Model shapes = artifacts.getShapes(schemaUuids);
+
+        // THEN:
+        assertThat(artifacts.getShapes(schemaUuids.reversed()), is(sameInstance(shapes)));
+        assertThat(shapes, is(artifacts.getLatestShapes()));
+    }
+
+    @Test
+    @DisplayName("Unknown schema is reported as not found")
+    public void unknownSchemaNotFound() {
+        // GIVEN:
+        MetadataSchemaArtifacts artifacts = metadataSchemaArtifactRegistry.getArtifacts();
+
+        // WHEN + THEN:
+        assertThrows(ResourceNotFoundException.class, () -> artifacts.getShapes(List.of(UUID.randomUUID())));
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.service.settings;
+
+import org.fairdatapoint.entity.settings.Settings;
+import org.fairdatapoint.entity.settings.SettingsAutocompleteSource;
+import org.fairdatapoint.entity.settings.SettingsMetric;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SettingsSnapshotTest {
+
+    private static final String RDF_TYPE = "http://www.w3.org/ns/dcat#Dataset";
+
+    private SettingsAutocompleteSource source(String rdfType, String endpoint) {
+        return SettingsAutocompleteSource.builder()
+                .rdfType(rdfType)
+                .sparqlEndpoint(endpoint)
+                .sparqlQuery("SELECT * WHERE { ?s ?p ?o }")
+                .build();
+    }
+
+    private Settings settings() {
+        return Settings.builder()
+                .appTitle("Title")
+                .pingEnabled(true)
+                .pingEndpoints(new ArrayList<>(List.of("https://example.com/ping")))
+                .autocompleteSearchNamespace(false)
+                .metrics(new ArrayList<>(List.of(
+                        SettingsMetric.builder().metricUri("metric").resourceUri("resource").build()
+                )))
+                .autocompleteSources(new ArrayList<>(List.of(
+                        source(RDF_TYPE, "https://example.com/first"),
+                        source(RDF_TYPE, "https://example.com/second")
+                )))
+                .searchFilters(List.of())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Snapshot copies settings and looks up autocomplete source by type")
+    public void copiesSettings() {
+        // GIVEN:
+        Settings settings = settings();
+
+        // WHEN:
+        SettingsSnapshot snapshot = SettingsSnapshot.of(settings);
+
+        // THEN:
+        assertThat(snapshot.getAppTitle(), is(equalTo("Title")));
+        assertThat(snapshot.isPingEnabled(), is(true));
+        assertThat(snapshot.isAutocompleteSearchNamespace(), is(false));
+        assertThat(snapshot.getMetrics().get(0).getMetricUri(), is(equalTo("metric")));
+        assertThat(snapshot.getAutocompleteSources().size(), is(equalTo(2)));
+        assertThat(
+                snapshot.getAutocompleteSource(RDF_TYPE).get().getSparqlEndpoint(),
+                is(equalTo("https://example.com/first"))
+        );
+        assertThat(snapshot.getAutocompleteSource("http://example.com/Unknown").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("Snapshot is not affected by later changes of the entity")
+    public void isImmutable() {
+        // GIVEN:
+        Settings settings = settings();
+        SettingsSnapshot snapshot = SettingsSnapshot.of(settings);
+
+        // WHEN:
+        settings.setAppTitle("Changed");
+        settings.getPingEndpoints().clear();
+        settings.getMetrics().clear();
+
+        // THEN:
+        assertThat(snapshot.getAppTitle(), is(equalTo("Title")));
+        assertThat(snapshot.getPingEndpoints().size(), is(equalTo(1)));
+        assertThat(snapshot.getMetrics().size(), is(equalTo(1)));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getPingEndpoints().clear());
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.utils;
+
+import org.fairdatapoint.entity.exception.PayloadTooLargeException;
+import org.fairdatapoint.util.MetadataRequestHandler;
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.fairdatapoint.util.RdfIOUtil.read;
+import static org.fairdatapoint.util.ValueFactoryHelper.i;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetadataRequestHandlerTest {
+
+    private static final IRI URI = i("http://example.com/catalog/new");
+
+    private static final IRI CATALOG = i("http://www.w3.org/ns/dcat#Catalog");
+
+    private static final IRI HAS_DATASET = i("http://www.w3.org/ns/dcat#dataset");
+
+    private static final IRI DATASET = i("http://example.com/dataset/1");
+
+    private static final long MAX_BYTES = 10_000;
+
+    private static final String CONTENT = """
+            @prefix dcat: <http://www.w3.org/ns/dcat#> .
+            @prefix dct: <http://purl.org/dc/terms/> .
+
+            <http://example.com/catalog/old> a dcat:Catalog ;
+                dct:title "Catalog" ;
+                dcat:dataset <http://example.com/dataset/1> .
+
+            <http://example.com/dataset/1> dct:title "Dataset" .
+            """;
+
+    @Test
+    public void createRenamesSubjectAndDropsChildRelations() {
+        // GIVEN:
+        MetadataRequestHandler handler =
+                MetadataRequestHandler.forCreate(URI, List.of(CATALOG), Set.of(HAS_DATASET), Long.MAX_VALUE);
+
+        // WHEN:
+        read(stream(CONTENT), URI.stringValue(), RDFFormat.TURTLE, MAX_BYTES, handler);
+        Model result = handler.getModel();
+
+        // THEN:
+        assertThat(result.contains(URI, RDF.TYPE, CATALOG), is(true));
+        assertThat(result.contains(URI, DCTERMS.TITLE, null), is(true));
+        assertThat(result.contains(i("http://example.com/catalog/old"), null, null), is(false));
+        assertThat(result.contains(null, HAS_DATASET, null), is(false));
+        assertThat(result.contains(DATASET, DCTERMS.TITLE, null), is(true));
+    }
+
+    @Test
+    public void updateDropsChildDescriptions() {
+        // GIVEN:
+        MetadataRequestHandler handler = MetadataRequestHandler.forUpdate(URI, Set.of(HAS_DATASET), Long.MAX_VALUE);
+
+        // WHEN:
+        read(stream(CONTENT), URI.stringValue(), RDFFormat.TURTLE, MAX_BYTES, handler);
+        Model result = handler.getModel();
+
+        // THEN:
+        assertThat(result.contains(null, HAS_DATASET, DATASET), is(true));
+        assertThat(result.contains(DATASET, null, null), is(false));
+    }
+
+    @Test
+    public void tooManyStatementsRejected() {
+        // GIVEN:
+        MetadataRequestHandler handler = MetadataRequestHandler.forUpdate(URI, Set.of(HAS_DATASET), 2);
+
+        // WHEN + THEN:
+        assertThrows(PayloadTooLargeException.class, () -> {
+            read(stream(CONTENT), URI.stringValue(), RDFFormat.TURTLE, MAX_BYTES, handler);
+        });
+    }
+
+    @Test
+    public void tooLargeBodyRejected() {
+        // GIVEN:
+        MetadataRequestHandler handler = MetadataRequestHandler.forUpdate(URI, Set.of(HAS_DATASET), Long.MAX_VALUE);
+
+        // WHEN + THEN:
+        assertThrows(PayloadTooLargeException.class, () -> {
+            read(stream(CONTENT), URI.stringValue(), RDFFormat.TURTLE, 16, handler);
+        });
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * The MIT License
+ * Copyright © 2016-2024 FAIR Data Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.fairdatapoint.utils;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.fairdatapoint.util.RdfIOUtil.read;
+import static org.fairdatapoint.util.RdfIOUtil.write;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.StringContains.containsString;
+
+public class RdfIOUtilTest {
+
+    private static final String BASE_URI = "http://example.com/record";
+
+    private static final String CONTENT = """
+            @prefix ex: <http://example.com/> .
+            @prefix dct: <http://purl.org/dc/terms/> .
+
+            ex:record a ex:Record ;
+                dct:title "Record" ;
+                dct:publisher [ a ex:Agent ] .
+            """;
+
+    @Test
+    public void writeToStreamKeepsModelUntouched() throws IOException {
+        // GIVEN:
+        Model model = read(CONTENT, BASE_URI);
+        int namespaces = model.getNamespaces().size();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // WHEN:
+        write(model, out, RDFFormat.TURTLE);
+
+        // THEN:
+        String result = out.toString(StandardCharsets.UTF_8);
+        assertThat(model.getNamespaces().size(), is(namespaces));
+        assertThat(result, containsString("@prefix dcat:"));
+        assertThat(Models.isomorphic(read(result, BASE_URI), model), is(true));
+    }
+
+    @Test
+    public void writeToStreamBinary() throws IOException {
+        // GIVEN:
+        Model model = read(CONTENT, BASE_URI);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // WHEN:
+        write(model, out, RDFFormat.BINARY);
+
+        // THEN:
+        Model result = Rio.parse(new ByteArrayInputStream(out.toByteArray()), BASE_URI, RDFFormat.BINARY);
+        assertThat(Models.isomorphic(result, model), is(true));
+    }
+}